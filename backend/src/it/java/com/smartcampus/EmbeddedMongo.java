@@ -0,0 +1,67 @@
+package com.smartcampus;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.smartcampus.config.MongoIndexInitializer;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * The MongoDB the integration tests run against: the server given with
+ * {@code -Dit.mongodb.uri}, or an embedded one started on first use and
+ * stopped when the JVM exits.
+ */
+public final class EmbeddedMongo {
+
+    private static String uri;
+    private static MongoClient client;
+
+    private EmbeddedMongo() {
+    }
+
+    /**
+     * The server's connection string, {@code mongodb://host:port}.
+     */
+    public static synchronized String uri() {
+        if (uri == null) {
+            uri = System.getProperty("it.mongodb.uri");
+        }
+        if (uri == null) {
+            TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance().start(Version.Main.V7_0);
+            Runtime.getRuntime().addShutdownHook(new Thread(mongod::close, "embedded-mongod-stop"));
+            ServerAddress address = mongod.current().getServerAddress();
+            uri = "mongodb://" + address.getHost() + ":" + address.getPort();
+        }
+        return uri;
+    }
+
+    /**
+     * A template on {@code database}, dropped first so each test starts
+     * empty.
+     */
+    public static synchronized MongoTemplate freshDatabase(String database) {
+        if (client == null) {
+            client = MongoClients.create(uri());
+        }
+        MongoTemplate mongoTemplate = new MongoTemplate(client, database);
+        mongoTemplate.getDb().drop();
+        return mongoTemplate;
+    }
+
+    /**
+     * Create the indexes declared on {@code documents}, as
+     * {@link MongoIndexInitializer} does at startup.
+     */
+    public static void createIndexes(MongoTemplate mongoTemplate, Class<?>... documents) {
+        MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        for (Class<?> document : documents) {
+            mappingContext.getRequiredPersistentEntity(document);
+        }
+        new MongoIndexInitializer(mongoTemplate, mappingContext, null, false, false).createIndexes();
+    }
+}
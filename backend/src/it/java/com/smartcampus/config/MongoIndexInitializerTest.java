@@ -0,0 +1,53 @@
+package com.smartcampus.config;
+
+import com.smartcampus.EmbeddedMongo;
+import com.smartcampus.model.User;
+import com.mongodb.client.model.IndexOptions;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests how {@link MongoIndexInitializer} treats an index that already exists
+ * with other options.
+ */
+class MongoIndexInitializerTest {
+
+    private final MongoTemplate mongoTemplate = EmbeddedMongo.freshDatabase("index-init-it");
+
+    @Test
+    void recreatesAnIndexDeclaredWithOtherOptions() {
+        // As created before providerId became sparse
+        mongoTemplate.getCollection("users").createIndex(new Document("providerId", 1),
+                new IndexOptions().name("providerId").unique(true));
+
+        EmbeddedMongo.createIndexes(mongoTemplate, User.class);
+
+        Document providerId = providerIdIndex();
+        assertEquals(Boolean.TRUE, providerId.get("sparse"));
+        assertEquals(Boolean.TRUE, providerId.get("unique"));
+
+        // Users without a provider ID no longer collide
+        mongoTemplate.insert(user("a@example.com"));
+        mongoTemplate.insert(user("b@example.com"));
+        assertEquals(2, mongoTemplate.count(new Query(), User.class));
+    }
+
+    private Document providerIdIndex() {
+        for (Document index : mongoTemplate.getCollection("users").listIndexes()) {
+            if ("providerId".equals(index.getString("name"))) {
+                return index;
+            }
+        }
+        throw new AssertionError("no providerId index");
+    }
+
+    private static User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -0,0 +1,80 @@
+package com.smartcampus.config;
+
+import com.smartcampus.EmbeddedMongo;
+import com.smartcampus.model.Notification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Explains every repository query shape against MongoDB with the declared
+ * indexes in place, and with some of them missing.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "app.jwt.secret=query-plan-test-secret-key-that-is-long-enough-for-hs256",
+        "app.jwt.expiration=86400000",
+        "app.google.client-id=query-plan-test",
+        "app.gemini.chatbot-api-key=query-plan-test",
+        "app.gemini.recommendation-api-key=query-plan-test",
+        // The test creates the indexes itself, before verifying
+        "app.mongo.indexes.create-on-startup=false"
+})
+class QueryPlanVerifierIntegrationTest {
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> EmbeddedMongo.uri() + "/query-plan-it");
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    @Autowired
+    private MongoIndexInitializer indexInitializer;
+
+    @Autowired
+    private QueryPlanVerifier queryPlanVerifier;
+
+    @BeforeEach
+    void createCollectionsAndIndexes() {
+        mongoTemplate.getDb().drop();
+        // On a missing collection the planner reports no plan, so nothing would be checked
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (entity.isAnnotationPresent(Document.class)) {
+                mongoTemplate.createCollection(entity.getType());
+            }
+        }
+        indexInitializer.createIndexes();
+    }
+
+    @Test
+    void everyQueryShapeUsesAnIndex() {
+        assertDoesNotThrow(queryPlanVerifier::verify);
+    }
+
+    @Test
+    void reportsQueriesThatScanTheCollection() {
+        mongoTemplate.indexOps(Notification.class).dropAllIndexes();
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, queryPlanVerifier::verify);
+
+        assertTrue(failure.getMessage().contains("Notification.findByUserIdOrderByCreatedAtDesc"),
+                failure.getMessage());
+    }
+}
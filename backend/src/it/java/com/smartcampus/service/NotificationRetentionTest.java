@@ -0,0 +1,183 @@
+package com.smartcampus.service;
+
+import com.smartcampus.EmbeddedMongo;
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.NotificationDigest;
+import com.smartcampus.model.NotificationType;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Runs {@link NotificationRetention} against MongoDB: digests, per-user caps,
+ * passes abandoned midway, replicas archiving at once and the read TTL index.
+ */
+class NotificationRetentionTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2025, 1, 15, 12, 0);
+
+    private final MongoTemplate mongoTemplate = EmbeddedMongo.freshDatabase("retention-it");
+    private final UnreadNotificationCounts unreadCounts = mock(UnreadNotificationCounts.class);
+
+    @BeforeEach
+    void createIndexes() {
+        EmbeddedMongo.createIndexes(mongoTemplate, Notification.class, NotificationDigest.class);
+    }
+
+    @Test
+    void rollsOldNotificationsUpIntoMonthlyDigests() {
+        insert("alice", JANUARY, NotificationType.BOOKING_APPROVED, false, null);
+        insert("alice", JANUARY.plusDays(1), NotificationType.BOOKING_APPROVED, true, null);
+        insert("alice", JANUARY.plusDays(2), NotificationType.NEW_COMMENT, false, null);
+        insert("alice", JANUARY.plusMonths(1), NotificationType.NEW_COMMENT, true, null);
+        Notification recent = insert("bob", LocalDateTime.now(), NotificationType.EVENT_REMINDER, false, null);
+
+        assertEquals(4, retention(500).compact());
+
+        NotificationDigest january = digest("alice", "2025-01");
+        assertEquals(3, january.getTotal());
+        assertEquals(2, january.getUnread());
+        assertEquals(Map.of("BOOKING_APPROVED", 2L, "NEW_COMMENT", 1L), january.getByType());
+        assertEquals(1, digest("alice", "2025-02").getTotal());
+        assertEquals(List.of(recent.getId()), remainingIds());
+        verify(unreadCounts).clear();
+
+        // Nothing left to archive, nothing counted again
+        assertEquals(0, retention(500).compact());
+        assertEquals(3, digest("alice", "2025-01").getTotal());
+    }
+
+    @Test
+    void capsEachUserToTheirNewestNotifications() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> alice = IntStream.range(0, 5)
+                .mapToObj(i -> insert("alice", now.minusHours(i), NotificationType.NEW_COMMENT, false, null).getId())
+                .toList();
+        insert("bob", now, NotificationType.NEW_COMMENT, false, null);
+        insert("bob", now.minusHours(1), NotificationType.NEW_COMMENT, false, null);
+
+        assertEquals(2, retention(3).compact());
+
+        assertEquals(alice.subList(0, 3), idsOf("alice"));
+        assertEquals(2, idsOf("bob").size());
+        assertEquals(2, mongoTemplate.findAll(NotificationDigest.class).stream()
+                .filter(digest -> digest.getUserId().equals("alice"))
+                .mapToLong(NotificationDigest::getTotal)
+                .sum());
+    }
+
+    @Test
+    void finishesAbandonedPassesWithoutCountingThemTwice() {
+        String countedThenStopped = passStartedAgo(Duration.ofHours(2));
+        String claimedThenStopped = passStartedAgo(Duration.ofHours(2));
+        String stillRunning = passStartedAgo(Duration.ZERO);
+        NotificationDigest existing = new NotificationDigest();
+        existing.setUserId("alice");
+        existing.setMonth("2025-01");
+        existing.setTotal(1);
+        existing.setByType(Map.of("NEW_COMMENT", 1L));
+        existing.setArchivedBy(List.of(countedThenStopped));
+        mongoTemplate.insert(existing);
+        insert("alice", JANUARY, NotificationType.NEW_COMMENT, true, countedThenStopped);
+        insert("alice", JANUARY, NotificationType.NEW_COMMENT, true, claimedThenStopped);
+        Notification running = insert("alice", JANUARY, NotificationType.NEW_COMMENT, true, stillRunning);
+
+        assertEquals(2, retention(500).compact());
+
+        NotificationDigest january = digest("alice", "2025-01");
+        assertEquals(2, january.getTotal());
+        assertEquals(Set.of(countedThenStopped, claimedThenStopped), Set.copyOf(january.getArchivedBy()));
+        assertEquals(List.of(running.getId()), remainingIds());
+    }
+
+    @Test
+    void replicasArchivingAtOnceCountEachNotificationOnce() {
+        for (int i = 0; i < 400; i++) {
+            insert("user-" + i % 8, JANUARY.plusMinutes(i), NotificationType.NEW_COMMENT, false, null);
+        }
+
+        CompletableFuture<Long> first = CompletableFuture.supplyAsync(() -> retention(500).compact());
+        CompletableFuture<Long> second = CompletableFuture.supplyAsync(() -> retention(500).compact());
+
+        assertEquals(400, first.join() + second.join());
+        assertEquals(400, mongoTemplate.findAll(NotificationDigest.class).stream()
+                .mapToLong(NotificationDigest::getTotal)
+                .sum());
+        assertEquals(List.of(), remainingIds());
+    }
+
+    @Test
+    void changesTheExpiryOfAnExistingReadTtlIndex() {
+        retention(500).compact();
+        assertEquals(Optional.of(Duration.ofDays(30)), readTtlIndex().getExpireAfter());
+
+        new NotificationRetention(mongoTemplate, unreadCounts, true, Duration.ofDays(7), Duration.ofDays(90), 500,
+                Duration.ofHours(1)).compact();
+
+        assertEquals(Optional.of(Duration.ofDays(7)), readTtlIndex().getExpireAfter());
+    }
+
+    private NotificationRetention retention(int maxPerUser) {
+        return new NotificationRetention(mongoTemplate, unreadCounts, true, Duration.ofDays(30), Duration.ofDays(90),
+                maxPerUser, Duration.ofHours(1));
+    }
+
+    private Notification insert(String userId, LocalDateTime createdAt, NotificationType type, boolean read,
+            String archivedBy) {
+        Notification notification = new Notification();
+        notification.setUserId(userId);
+        notification.setMessage(type.name());
+        notification.setType(type);
+        notification.setRead(read);
+        notification.setCreatedAt(createdAt);
+        notification.setArchivedBy(archivedBy);
+        return mongoTemplate.insert(notification);
+    }
+
+    private static String passStartedAgo(Duration age) {
+        return new ObjectId(Date.from(Instant.now().minus(age))).toHexString();
+    }
+
+    private NotificationDigest digest(String userId, String month) {
+        return mongoTemplate.findOne(query(where("userId").is(userId).and("month").is(month)),
+                NotificationDigest.class);
+    }
+
+    private List<String> remainingIds() {
+        return mongoTemplate.findAll(Notification.class).stream().map(Notification::getId).toList();
+    }
+
+    /** The user's remaining notifications, newest first */
+    private List<String> idsOf(String userId) {
+        return mongoTemplate.find(query(where("userId").is(userId)), Notification.class).stream()
+                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
+                .map(Notification::getId)
+                .toList();
+    }
+
+    private IndexInfo readTtlIndex() {
+        return mongoTemplate.indexOps(Notification.class).getIndexInfo().stream()
+                .filter(index -> index.getName().equals("read_ttl_idx"))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,79 @@
+package com.smartcampus.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.smartcampus.dto.ApiResponse;
+import com.smartcampus.dto.BookingDto;
+import com.smartcampus.model.BookingStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialisation of {@link ApiResponse} bodies, with an
+ * {@link ObjectMapper} configured like Spring Boot's (Java time module, ISO
+ * dates): a bare message and a list of bookings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({ "1", "100" })
+    public int bookings;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Void> message;
+    private ApiResponse<List<BookingDto>> bookingList;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        List<BookingDto> dtos = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            BookingDto dto = new BookingDto();
+            dto.setId("booking-" + i);
+            dto.setFacilityId("facility-" + i % 20);
+            dto.setFacilityName("Lecture Hall " + i % 20);
+            dto.setUserId("user-1");
+            dto.setUserName("Benchmark User");
+            dto.setUserEmail("user@campus.test");
+            dto.setBookingDate(LocalDate.of(2030, 1, 1).plusDays(i));
+            dto.setStartTime(LocalTime.of(9, 0));
+            dto.setEndTime(LocalTime.of(11, 0));
+            dto.setPurpose("Lecture");
+            dto.setExpectedAttendees(30);
+            dto.setStatus(BookingStatus.APPROVED);
+            dto.setCreatedAt(LocalDateTime.of(2029, 12, 1, 10, 30));
+            dtos.add(dto);
+        }
+        message = ApiResponse.success("Booking cancelled successfully");
+        bookingList = ApiResponse.success("Bookings retrieved successfully", dtos);
+    }
+
+    @Benchmark
+    public byte[] messageOnly() throws Exception {
+        return objectMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public byte[] bookingList() throws Exception {
+        return objectMapper.writeValueAsBytes(bookingList);
+    }
+}
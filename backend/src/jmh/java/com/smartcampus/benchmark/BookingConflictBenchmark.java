@@ -0,0 +1,122 @@
+package com.smartcampus.benchmark;
+
+import com.smartcampus.dto.CreateBookingRequest;
+import com.smartcampus.exception.BookingConflictException;
+import com.smartcampus.model.Booking;
+import com.smartcampus.model.BookingStatus;
+import com.smartcampus.model.Facility;
+import com.smartcampus.model.FacilityStatus;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.BookingRepository;
+import com.smartcampus.repository.FacilityRepository;
+import com.smartcampus.repository.UserRepository;
+import com.smartcampus.service.BookingIntervalIndex;
+import com.smartcampus.service.BookingService;
+import com.smartcampus.service.BookingSlotLocks;
+import com.smartcampus.service.NotificationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking conflict detection ({@code BookingService.checkForConflicts}).
+ *
+ * <p>
+ * {@code rejectConflictingBooking} goes through {@code createBooking} up to
+ * the conflict check, which throws; {@code findOverlapOnFreeSlot} is the
+ * check alone for a request that fits. With {@code indexEnabled=false} the
+ * check is the linear scan over the day's bookings (returned from memory
+ * here, so the database round trip it normally adds is not included).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BookingConflictBenchmark {
+
+    private static final String FACILITY_ID = "facility-1";
+    private static final String USER_ID = "user-1";
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 15);
+    private static final LocalTime DAY_START = LocalTime.of(8, 0);
+    private static final int SLOT_MINUTES = 15;
+
+    @Param({ "8", "48" })
+    public int bookingsPerDay;
+
+    @Param({ "true", "false" })
+    public boolean indexEnabled;
+
+    private BookingService bookingService;
+    private BookingIntervalIndex bookingIntervalIndex;
+    private CreateBookingRequest conflictingRequest;
+
+    @Setup
+    public void setUp() {
+        List<Booking> dayBookings = new ArrayList<>();
+        for (int i = 0; i < bookingsPerDay; i++) {
+            Booking booking = new Booking();
+            booking.setId("booking-" + i);
+            booking.setFacilityId(FACILITY_ID);
+            booking.setBookingDate(DATE);
+            booking.setStartTime(DAY_START.plusMinutes((long) i * SLOT_MINUTES));
+            booking.setEndTime(DAY_START.plusMinutes((long) (i + 1) * SLOT_MINUTES));
+            booking.setStatus(i % 2 == 0 ? BookingStatus.APPROVED : BookingStatus.PENDING);
+            dayBookings.add(booking);
+        }
+
+        Facility facility = new Facility();
+        facility.setId(FACILITY_ID);
+        facility.setName("Lecture Hall A");
+        facility.setStatus(FacilityStatus.ACTIVE);
+        User user = new User();
+        user.setId(USER_ID);
+        user.setName("Benchmark User");
+        user.setEmail("user@campus.test");
+
+        BookingRepository bookingRepository = InMemoryStubs.stub(BookingRepository.class, Map.of(
+                "findByFacilityIdAndBookingDateAndStatusIn", args -> dayBookings));
+        FacilityRepository facilityRepository = InMemoryStubs.stub(FacilityRepository.class, Map.of(
+                "findById", args -> Optional.of(facility)));
+        UserRepository userRepository = InMemoryStubs.stub(UserRepository.class, Map.of(
+                "findById", args -> Optional.of(user)));
+
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, indexEnabled, 5000);
+        bookingService = new BookingService(bookingRepository, facilityRepository, userRepository,
+                InMemoryStubs.noOp(NotificationService.class), bookingIntervalIndex, new BookingSlotLocks(256),
+                null, null, null, event -> {
+                });
+
+        // Overlaps the two bookings in the middle of the day
+        LocalTime middle = DAY_START.plusMinutes((long) (bookingsPerDay / 2) * SLOT_MINUTES);
+        conflictingRequest = new CreateBookingRequest(FACILITY_ID, DATE,
+                middle.minusMinutes(5), middle.plusMinutes(5), "Seminar", 20);
+    }
+
+    @Benchmark
+    public Object rejectConflictingBooking() {
+        try {
+            return bookingService.createBooking(conflictingRequest, USER_ID);
+        } catch (BookingConflictException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object findOverlapOnFreeSlot() {
+        return bookingIntervalIndex.findOverlap(FACILITY_ID, DATE,
+                LocalTime.of(21, 0), LocalTime.of(22, 0), null);
+    }
+}
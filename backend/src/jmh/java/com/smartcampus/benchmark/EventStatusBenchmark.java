@@ -0,0 +1,76 @@
+package com.smartcampus.benchmark;
+
+import com.smartcampus.model.Event;
+import com.smartcampus.model.EventStatus;
+import com.smartcampus.repository.EventRegistrationRepository;
+import com.smartcampus.repository.EventRepository;
+import com.smartcampus.service.NotificationService;
+import com.smartcampus.service.impl.EventServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event listing, dominated by {@code EventServiceImpl.resolveStatus} (called
+ * per event to drop cancelled or finished ones) and the DTO mapping. Events
+ * are spread over past, current and future days; no user is signed in, so no
+ * registration lookups are made.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventStatusBenchmark {
+
+    @Param({ "10", "1000" })
+    public int events;
+
+    private EventServiceImpl eventService;
+
+    @Setup
+    public void setUp() {
+        LocalDate today = LocalDate.now();
+        List<Event> all = new ArrayList<>();
+        for (int i = 0; i < events; i++) {
+            Event event = new Event();
+            event.setId("event-" + i);
+            event.setTitle("Event " + i);
+            event.setLocation("Main Hall");
+            event.setEventDate(today.plusDays(i % 21 - 10));
+            event.setStartTime(LocalTime.of(8 + i % 10, 0));
+            event.setEndTime(LocalTime.of(10 + i % 10, 0));
+            event.setCapacity(100);
+            event.setStatus(i % 20 == 0 ? EventStatus.CANCELLED : EventStatus.UPCOMING);
+            all.add(event);
+        }
+        List<Event> notCancelled = all.stream().filter(e -> e.getStatus() != EventStatus.CANCELLED).toList();
+
+        EventRepository eventRepository = InMemoryStubs.stub(EventRepository.class, Map.of(
+                "findAll", args -> all,
+                "findByStatusIn", args -> notCancelled));
+        eventService = new EventServiceImpl(eventRepository,
+                InMemoryStubs.noOp(EventRegistrationRepository.class),
+                InMemoryStubs.noOp(NotificationService.class));
+    }
+
+    @Benchmark
+    public Object upcomingEvents() {
+        return eventService.getAllEvents(false);
+    }
+
+    @Benchmark
+    public Object allEventsIncludingPast() {
+        return eventService.getAllEvents(true);
+    }
+}
@@ -0,0 +1,67 @@
+package com.smartcampus.benchmark;
+
+import com.smartcampus.repository.FilterQueryRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for the repositories and collaborators the benchmarked
+ * services depend on, so a benchmark measures the service code and not a
+ * database or a mocking framework.
+ */
+final class InMemoryStubs {
+
+    private InMemoryStubs() {
+    }
+
+    /**
+     * A proxy implementing {@code type} that answers the named methods with
+     * the given handlers (called with the invocation arguments). Any other
+     * method throws, so a benchmark never silently measures an unplanned path.
+     */
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> handlers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (self, method, args) -> {
+                    Function<Object[], Object> handler = handlers.get(method.getName());
+                    if (handler != null) {
+                        return handler.apply(args == null ? new Object[0] : args);
+                    }
+                    return switch (method.getName()) {
+                        case "toString" -> type.getSimpleName() + " stub";
+                        case "hashCode" -> System.identityHashCode(self);
+                        case "equals" -> self == args[0];
+                        default -> throw new UnsupportedOperationException(
+                                type.getSimpleName() + "." + method.getName() + " is not stubbed");
+                    };
+                });
+        return type.cast(proxy);
+    }
+
+    /** A collaborator whose every method does nothing and returns null */
+    static <T> T noOp(Class<T> type) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (self, method, args) -> method.getName().equals("hashCode") ? System.identityHashCode(self) : null);
+        return type.cast(proxy);
+    }
+
+    /**
+     * A {@link FilterQueryRepository} returning fixed results per document
+     * type; the filter is built by the service as usual but not evaluated.
+     */
+    static FilterQueryRepository filterQueryRepository(Map<Class<?>, List<?>> results) {
+        return new FilterQueryRepository(null) {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> List<T> find(Class<T> type, Criteria filter, Sort sort) {
+                // Render the filter, as the MongoDB driver would
+                filter.getCriteriaObject();
+                return (List<T>) results.getOrDefault(type, List.of());
+            }
+        };
+    }
+}
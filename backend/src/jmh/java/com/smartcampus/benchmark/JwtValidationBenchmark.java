@@ -0,0 +1,45 @@
+package com.smartcampus.benchmark;
+
+import com.smartcampus.config.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token checks in {@link JwtTokenProvider} for a valid token:
+ * {@code validateToken} and the single claims parse used by the
+ * authentication filter. Rejected tokens are left out, since each one logs
+ * an error.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256-signing";
+
+    private JwtTokenProvider tokenProvider;
+    private String validToken;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, TimeUnit.HOURS.toMillis(24));
+        validToken = tokenProvider.generateToken("65f1c0ffee0000000000abcd");
+    }
+
+    @Benchmark
+    public boolean validateValidToken() {
+        return tokenProvider.validateToken(validToken);
+    }
+
+    @Benchmark
+    public Object parseValidClaims() {
+        return tokenProvider.parseValidClaims(validToken);
+    }
+}
@@ -0,0 +1,138 @@
+package com.smartcampus.benchmark;
+
+import com.smartcampus.model.Booking;
+import com.smartcampus.model.BookingStatus;
+import com.smartcampus.model.Facility;
+import com.smartcampus.model.FacilityStatus;
+import com.smartcampus.model.FacilityType;
+import com.smartcampus.model.Ticket;
+import com.smartcampus.model.TicketCategory;
+import com.smartcampus.model.TicketPriority;
+import com.smartcampus.model.TicketStatus;
+import com.smartcampus.repository.BookingRepository;
+import com.smartcampus.repository.FilterQueryRepository;
+import com.smartcampus.repository.TicketCommentRepository;
+import com.smartcampus.service.BookingService;
+import com.smartcampus.service.FacilityService;
+import com.smartcampus.service.TicketService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List endpoints from repository result to DTOs: filter construction in
+ * {@code FacilityService.getAllFacilities} and {@code TicketService.getAllTickets},
+ * and the per-document {@code mapToDto} of facilities, bookings and tickets
+ * (the ticket comment count comes from a constant stub).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MappingBenchmark {
+
+    @Param({ "10", "1000" })
+    public int documents;
+
+    private FacilityService facilityService;
+    private BookingService bookingService;
+    private TicketService ticketService;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime created = LocalDateTime.of(2030, 1, 1, 9, 0);
+        List<Facility> facilities = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < documents; i++) {
+            Facility facility = new Facility();
+            facility.setId("facility-" + i);
+            facility.setName("Lecture Hall " + i);
+            facility.setType(FacilityType.LECTURE_HALL);
+            facility.setCapacity(40 + i % 200);
+            facility.setLocation("Main Building, floor " + i % 5);
+            facility.setStatus(FacilityStatus.ACTIVE);
+            facility.setCreatedAt(created);
+            facilities.add(facility);
+
+            Booking booking = new Booking();
+            booking.setId("booking-" + i);
+            booking.setFacilityId(facility.getId());
+            booking.setFacilityName(facility.getName());
+            booking.setUserId("user-1");
+            booking.setUserName("Benchmark User");
+            booking.setUserEmail("user@campus.test");
+            booking.setBookingDate(LocalDate.of(2030, 1, 1).plusDays(i % 60));
+            booking.setStartTime(LocalTime.of(9, 0));
+            booking.setEndTime(LocalTime.of(11, 0));
+            booking.setPurpose("Lecture");
+            booking.setExpectedAttendees(30);
+            booking.setStatus(BookingStatus.APPROVED);
+            booking.setCreatedAt(created);
+            bookings.add(booking);
+
+            Ticket ticket = new Ticket();
+            ticket.setId("ticket-" + i);
+            ticket.setFacilityId(facility.getId());
+            ticket.setFacilityName(facility.getName());
+            ticket.setUserId("user-1");
+            ticket.setCategory(TicketCategory.ELECTRICAL);
+            ticket.setPriority(TicketPriority.HIGH);
+            ticket.setDescription("Projector does not turn on");
+            ticket.setStatus(TicketStatus.RESOLVED);
+            ticket.setCreatedAt(created);
+            ticket.setFirstResponseAt(created.plusMinutes(30));
+            ticket.setResolvedAt(created.plusHours(4));
+            tickets.add(ticket);
+        }
+
+        FilterQueryRepository filterQueryRepository = InMemoryStubs.filterQueryRepository(Map.of(
+                Facility.class, facilities,
+                Ticket.class, tickets));
+        BookingRepository bookingRepository = InMemoryStubs.stub(BookingRepository.class, Map.of(
+                "findByUserIdOrderByCreatedAtDesc", args -> bookings));
+        TicketCommentRepository commentRepository = InMemoryStubs.stub(TicketCommentRepository.class, Map.of(
+                "countByTicketId", args -> 2L));
+
+        facilityService = new FacilityService(null, filterQueryRepository, event -> {
+        });
+        bookingService = new BookingService(bookingRepository, null, null, null, null, null,
+                null, filterQueryRepository, null, event -> {
+                });
+        ticketService = new TicketService(null, commentRepository, null, null, null,
+                null, filterQueryRepository, null);
+    }
+
+    @Benchmark
+    public Object facilitiesWithAllFilters() {
+        return facilityService.getAllFacilities(FacilityType.LECTURE_HALL, FacilityStatus.ACTIVE,
+                "Main", 50, "hall");
+    }
+
+    @Benchmark
+    public Object facilitiesUnfiltered() {
+        return facilityService.getAllFacilities(null, null, null, null, null);
+    }
+
+    @Benchmark
+    public Object userBookings() {
+        return bookingService.getUserBookings("user-1", null);
+    }
+
+    @Benchmark
+    public Object ticketsByStatusAndPriority() {
+        return ticketService.getAllTickets(TicketStatus.RESOLVED, TicketPriority.HIGH);
+    }
+}
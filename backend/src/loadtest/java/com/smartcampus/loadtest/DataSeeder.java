@@ -0,0 +1,173 @@
+package com.smartcampus.loadtest;
+
+import com.smartcampus.model.Booking;
+import com.smartcampus.model.BookingStatus;
+import com.smartcampus.model.Facility;
+import com.smartcampus.model.FacilityStatus;
+import com.smartcampus.model.FacilityType;
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.NotificationType;
+import com.smartcampus.model.Role;
+import com.smartcampus.model.Route;
+import com.smartcampus.model.Shuttle;
+import com.smartcampus.model.ShuttleStatus;
+import com.smartcampus.model.User;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Fills the load-test database with a fixed-seed data set sized by
+ * {@link LoadTestConfig}. The collections it writes are dropped first, so
+ * runs are reproducible.
+ */
+class DataSeeder {
+
+    private static final int BATCH_SIZE = 5000;
+
+    /** Hourly slots 08:00–20:00 on 121 days (60 back, today, 60 ahead) per facility */
+    private static final int SLOTS_PER_FACILITY = 121 * 12;
+
+    private static final List<Class<?>> SEEDED = List.of(
+            User.class, Facility.class, Booking.class, Notification.class, Route.class, Shuttle.class);
+
+    private static final String[] NOTIFICATION_TEXTS = {
+            "Your booking for Lecture Hall 3 has been APPROVED.",
+            "A new comment was added to your ticket.",
+            "Your ticket status changed to IN_PROGRESS.",
+            "You are registered for the Career Fair.",
+    };
+
+    /**
+     * IDs of the seeded documents the scenarios pick from.
+     */
+    record SeededData(List<String> userIds, List<String> facilityIds, List<String> trackingTokens) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final Random random = new Random(42);
+
+    DataSeeder(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    SeededData seed(LoadTestConfig config) {
+        SEEDED.forEach(mongoTemplate::dropCollection);
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < config.users(); i++) {
+            User user = new User();
+            user.setId(new ObjectId().toHexString());
+            user.setName("Load User " + i);
+            user.setEmail("load.user" + i + "@campus.test");
+            user.setRole(i == 0 ? Role.ADMIN : Role.USER);
+            user.setProvider("google");
+            user.setProviderId("load-" + i);
+            user.setCreatedAt(now);
+            users.add(user);
+        }
+        insert(users, User.class);
+
+        FacilityType[] types = FacilityType.values();
+        List<Facility> facilities = new ArrayList<>();
+        for (int i = 0; i < config.facilities(); i++) {
+            Facility facility = new Facility();
+            facility.setId(new ObjectId().toHexString());
+            facility.setName(types[i % types.length].name().replace('_', ' ') + " " + i);
+            facility.setType(types[i % types.length]);
+            facility.setCapacity(10 + random.nextInt(290));
+            facility.setLocation("Building " + (char) ('A' + i % 8));
+            facility.setStatus(i % 25 == 0 ? FacilityStatus.OUT_OF_SERVICE : FacilityStatus.ACTIVE);
+            facility.setCreatedAt(now);
+            facilities.add(facility);
+        }
+        insert(facilities, Facility.class);
+
+        // Each facility's bookings take distinct slots (stride 7 is coprime to
+        // the slot count), so seeded active bookings never overlap
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < config.bookings(); i++) {
+            Facility facility = facilities.get(i % facilities.size());
+            User user = users.get(random.nextInt(users.size()));
+            int slot = (int) ((long) (i / facilities.size()) * 7 % SLOTS_PER_FACILITY);
+            Booking booking = new Booking();
+            booking.setFacilityId(facility.getId());
+            booking.setFacilityName(facility.getName());
+            booking.setUserId(user.getId());
+            booking.setUserName(user.getName());
+            booking.setUserEmail(user.getEmail());
+            booking.setBookingDate(today.plusDays(slot / 12 - 60));
+            booking.setStartTime(LocalTime.of(8 + slot % 12, 0));
+            booking.setEndTime(LocalTime.of(9 + slot % 12, 0));
+            booking.setPurpose("Lecture");
+            booking.setExpectedAttendees(1 + random.nextInt(Math.max(1, facility.getCapacity())));
+            int status = random.nextInt(10);
+            booking.setStatus(status < 7 ? BookingStatus.APPROVED
+                    : status < 9 ? BookingStatus.PENDING : BookingStatus.CANCELLED);
+            booking.setCreatedAt(now.minusMinutes(config.bookings() - i));
+            bookings.add(booking);
+            if (bookings.size() == BATCH_SIZE) {
+                insert(bookings, Booking.class);
+                bookings.clear();
+            }
+        }
+        insert(bookings, Booking.class);
+
+        NotificationType[] notificationTypes = NotificationType.values();
+        List<Notification> notifications = new ArrayList<>();
+        for (User user : users) {
+            for (int n = 0; n < config.notificationsPerUser(); n++) {
+                Notification notification = new Notification();
+                notification.setUserId(user.getId());
+                notification.setMessage(NOTIFICATION_TEXTS[n % NOTIFICATION_TEXTS.length]);
+                notification.setType(notificationTypes[n % notificationTypes.length]);
+                notification.setRead(random.nextInt(3) > 0);
+                notification.setCreatedAt(now.minusHours(n));
+                notifications.add(notification);
+                if (notifications.size() == BATCH_SIZE) {
+                    insert(notifications, Notification.class);
+                    notifications.clear();
+                }
+            }
+        }
+        insert(notifications, Notification.class);
+
+        Route route = new Route();
+        route.setName("Campus Loop");
+        mongoTemplate.insert(route);
+
+        List<Shuttle> shuttles = new ArrayList<>();
+        for (int i = 0; i < config.shuttles(); i++) {
+            Shuttle shuttle = new Shuttle();
+            shuttle.setName("Shuttle " + i);
+            shuttle.setPlateNumber("SC-" + (1000 + i));
+            shuttle.setDriverName("Driver " + i);
+            shuttle.setStatus(ShuttleStatus.ACTIVE);
+            shuttle.setRouteId(route.getId());
+            shuttle.setTrackingToken(UUID.randomUUID().toString());
+            shuttle.setTracking(true);
+            shuttles.add(shuttle);
+        }
+        insert(shuttles, Shuttle.class);
+
+        return new SeededData(
+                users.stream().map(User::getId).toList(),
+                facilities.stream().filter(f -> f.getStatus() == FacilityStatus.ACTIVE).map(Facility::getId).toList(),
+                shuttles.stream().map(Shuttle::getTrackingToken).toList());
+    }
+
+    private <T> void insert(List<T> documents, Class<T> type) {
+        if (!documents.isEmpty()) {
+            mongoTemplate.insert(documents, type);
+        }
+    }
+}
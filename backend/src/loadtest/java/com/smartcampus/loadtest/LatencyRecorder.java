@@ -0,0 +1,94 @@
+package com.smartcampus.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Response times per endpoint, reported as request rate and percentiles.
+ *
+ * <p>
+ * Every sample is kept (a load-test run produces at most a few million), so
+ * the percentiles are exact rather than estimated from buckets.
+ * </p>
+ */
+class LatencyRecorder {
+
+    private final Map<String, Samples> byEndpoint = new ConcurrentHashMap<>();
+
+    /**
+     * Record one request.
+     *
+     * @param endpoint method and path template, e.g. {@code POST /bookings}
+     * @param nanos    response time
+     * @param ok       whether the response had an expected status
+     */
+    void record(String endpoint, long nanos, boolean ok) {
+        byEndpoint.computeIfAbsent(endpoint, k -> new Samples()).add(nanos, ok);
+    }
+
+    /** Drop everything recorded so far (end of the warmup) */
+    void reset() {
+        byEndpoint.clear();
+    }
+
+    void report(Duration elapsed, PrintStream out) {
+        double seconds = elapsed.toNanos() / 1e9;
+        out.printf("%n%-40s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, Samples> entry : new TreeMap<>(byEndpoint).entrySet()) {
+            long[] sorted = entry.getValue().sorted();
+            int errors = entry.getValue().errors();
+            total += sorted.length;
+            out.printf("%-40s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey(), sorted.length, errors, sorted.length / seconds,
+                    millis(percentile(sorted, 50)), millis(percentile(sorted, 95)),
+                    millis(percentile(sorted, 99)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        }
+        out.printf("%-40s %9d %7s %9.1f%n%n", "Total", total, "", total / seconds);
+    }
+
+    /** Nearest-rank percentile of sorted samples */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static final class Samples {
+
+        private long[] values = new long[1024];
+        private int size;
+        private int errors;
+
+        synchronized void add(long nanos, boolean ok) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized int errors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.smartcampus.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs scenarios against the application with a fixed number of concurrent
+ * users each, closed-loop (a user sends its next request as soon as the
+ * previous one is answered), and times every request.
+ */
+class LoadDriver {
+
+    /**
+     * One iteration of a user's behaviour.
+     */
+    @FunctionalInterface
+    interface Scenario {
+        /**
+         * @param user index of the user within its scenario, stable for the run
+         */
+        void iterate(LoadDriver driver, ThreadLocalRandom random, int user);
+    }
+
+    /**
+     * A scenario and how many users run it concurrently.
+     */
+    record Load(String name, Scenario scenario, int users) {
+    }
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    LoadDriver(String baseUrl, LatencyRecorder recorder) {
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Run all loads at once until {@code duration} has passed.
+     */
+    void run(List<Load> loads, Duration duration) throws InterruptedException {
+        int threads = loads.stream().mapToInt(Load::users).sum();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        long deadline = System.nanoTime() + duration.toNanos();
+        for (Load load : loads) {
+            for (int user = 0; user < load.users(); user++) {
+                int index = user;
+                executor.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        load.scenario().iterate(this, random, index);
+                    }
+                });
+            }
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(duration.plus(REQUEST_TIMEOUT).toMillis(), TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Send one request and record its response time under {@code endpoint}.
+     *
+     * @param token    bearer token, or null
+     * @param json     request body, or null for none
+     * @param accepted statuses that count as success (default: any 2xx)
+     * @return the response status, or -1 when the request failed
+     */
+    int call(String endpoint, String method, String path, String token, String json, int... accepted) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .method(method, json == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(json));
+        if (json != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            status = -1;
+        }
+        recorder.record(endpoint, System.nanoTime() - start, isAccepted(status, accepted));
+        return status;
+    }
+
+    private static boolean isAccepted(int status, int[] accepted) {
+        if (accepted.length == 0) {
+            return status >= 200 && status < 300;
+        }
+        for (int code : accepted) {
+            if (code == status) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
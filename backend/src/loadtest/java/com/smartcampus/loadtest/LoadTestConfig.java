@@ -0,0 +1,84 @@
+package com.smartcampus.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of one load-test run, read from {@code key=value} arguments
+ * (see {@code loadtest.args} in the {@code loadtest} Maven profile).
+ *
+ * @param mongodbUri           MongoDB to run against; null starts an embedded one
+ * @param warmup               load applied before measuring
+ * @param duration             measured load
+ * @param bookingUsers         concurrent users of the booking scenario
+ * @param chatUsers            concurrent users of the chatbot scenario
+ * @param notificationUsers    concurrent users of the notification scenario
+ * @param shuttleDrivers       concurrent drivers sending shuttle locations
+ * @param users                seeded users
+ * @param facilities           seeded facilities
+ * @param bookings             seeded bookings (spread over the past and next 60 days)
+ * @param notificationsPerUser seeded notifications per user
+ * @param shuttles             seeded shuttles, all tracking
+ * @param geminiLatency        delay of each stub Gemini response
+ * @param virtualThreads       run the application with {@code spring.threads.virtual.enabled}
+ *                             (Java 21+), to compare against a platform-thread run
+ */
+public record LoadTestConfig(
+        String mongodbUri,
+        Duration warmup,
+        Duration duration,
+        int bookingUsers,
+        int chatUsers,
+        int notificationUsers,
+        int shuttleDrivers,
+        int users,
+        int facilities,
+        int bookings,
+        int notificationsPerUser,
+        int shuttles,
+        Duration geminiLatency,
+        boolean virtualThreads) {
+
+    static LoadTestConfig fromArgs(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            values.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        LoadTestConfig config = new LoadTestConfig(
+                values.remove("mongodbUri"),
+                duration(values, "warmup", "15s"),
+                duration(values, "duration", "60s"),
+                integer(values, "bookingUsers", 20),
+                integer(values, "chatUsers", 5),
+                integer(values, "notificationUsers", 20),
+                integer(values, "shuttleDrivers", 10),
+                integer(values, "users", 2000),
+                integer(values, "facilities", 200),
+                integer(values, "bookings", 50000),
+                integer(values, "notificationsPerUser", 50),
+                integer(values, "shuttles", 20),
+                duration(values, "geminiLatency", "800ms"),
+                Boolean.parseBoolean(values.remove("virtualThreads")));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown load-test settings: " + values.keySet());
+        }
+        return config;
+    }
+
+    private static Duration duration(Map<String, String> values, String key, String defaultValue) {
+        String value = values.remove(key);
+        return DurationStyle.detectAndParse(value == null ? defaultValue : value);
+    }
+
+    private static int integer(Map<String, String> values, String key, int defaultValue) {
+        String value = values.remove(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
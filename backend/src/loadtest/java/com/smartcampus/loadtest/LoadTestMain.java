@@ -0,0 +1,137 @@
+package com.smartcampus.loadtest;
+
+import com.smartcampus.SmartCampusApplication;
+import com.smartcampus.config.JwtTokenProvider;
+import com.smartcampus.config.MongoIndexInitializer;
+import com.mongodb.ConnectionString;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end load test: boots {@link SmartCampusApplication} against an
+ * embedded MongoDB (or {@code mongodbUri=...}) and a {@link StubGeminiServer},
+ * seeds it with {@link DataSeeder}, runs the {@link Scenarios} concurrently
+ * and prints p50/p95/p99 latency and requests per second per endpoint.
+ *
+ * <p>
+ * Run with {@code mvn -Ploadtest -DskipTests verify}; settings are passed as
+ * {@code key=value} pairs in {@code -Dloadtest.args} (see {@link LoadTestConfig}).
+ * An external database is dropped and reseeded, so its name must contain
+ * {@code loadtest}.
+ * </p>
+ *
+ * <p>
+ * To measure virtual threads, run the same settings twice on Java 21, once
+ * with {@code virtualThreads=true}, and compare the throughput and
+ * percentiles of the two reports.
+ * </p>
+ */
+public final class LoadTestMain {
+
+    private static final String DATABASE = "smartcampus-loadtest";
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        // DevTools would relaunch main in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        try (TransitionWalker.ReachedState<RunningMongodProcess> mongod = config.mongodbUri() == null
+                ? Mongod.instance().start(Version.Main.V7_0)
+                : null;
+                StubGeminiServer gemini = new StubGeminiServer(config.geminiLatency())) {
+            String mongodbUri = config.mongodbUri();
+            if (mongod != null) {
+                ServerAddress address = mongod.current().getServerAddress();
+                mongodbUri = "mongodb://" + address.getHost() + ":" + address.getPort() + "/" + DATABASE;
+            }
+            String database = new ConnectionString(mongodbUri).getDatabase();
+            if (database == null || !database.contains("loadtest")) {
+                throw new IllegalStateException("Refusing to drop and reseed database '" + database
+                        + "': use a database whose name contains 'loadtest'");
+            }
+
+            try (ConfigurableApplicationContext app = start(config, mongodbUri, gemini)) {
+                run(config, app, gemini);
+            }
+        }
+        // Leftover non-daemon threads (schedulers, Netty) must not keep the build waiting
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestConfig config, String mongodbUri,
+            StubGeminiServer gemini) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.data.mongodb.uri", mongodbUri);
+        properties.put("server.port", 0);
+        properties.put("app.gemini.base-url", gemini.baseUrl());
+        properties.put("app.gemini.chatbot-api-key", "stub");
+        properties.put("app.gemini.recommendation-api-key", "stub");
+        properties.put("app.jwt.secret", "load-test-secret-key-that-is-long-enough-for-hs256-signing");
+        properties.put("app.jwt.expiration", Duration.ofDays(1).toMillis());
+        properties.put("app.google.client-id", "load-test");
+        properties.put("spring.threads.virtual.enabled", config.virtualThreads());
+        // Indexes are created synchronously after seeding instead
+        properties.put("app.mongo.indexes.create-on-startup", false);
+        // Per-request debug logging would dominate the measurements
+        properties.put("logging.level.com.smartcampus", "INFO");
+
+        // As command-line arguments, so they take precedence over application.yml
+        String[] args = properties.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(SmartCampusApplication.class).run(args);
+    }
+
+    private static void run(LoadTestConfig config, ConfigurableApplicationContext app, StubGeminiServer gemini)
+            throws InterruptedException {
+        MongoTemplate mongoTemplate = app.getBean(MongoTemplate.class);
+        long seedStart = System.nanoTime();
+        DataSeeder.SeededData data = new DataSeeder(mongoTemplate).seed(config);
+        app.getBean(MongoIndexInitializer.class).createIndexes();
+        System.out.printf("Seeded %d users, %d facilities, %d bookings, %d notifications, %d shuttles in %d ms%n",
+                config.users(), config.facilities(), config.bookings(),
+                (long) config.users() * config.notificationsPerUser(), config.shuttles(),
+                Duration.ofNanos(System.nanoTime() - seedStart).toMillis());
+
+        JwtTokenProvider tokenProvider = app.getBean(JwtTokenProvider.class);
+        List<String> tokens = data.userIds().stream().map(tokenProvider::generateToken).toList();
+        Scenarios scenarios = new Scenarios(data, tokens);
+        List<LoadDriver.Load> loads = List.of(
+                new LoadDriver.Load("booking", scenarios::booking, config.bookingUsers()),
+                new LoadDriver.Load("chat", scenarios::chat, config.chatUsers()),
+                new LoadDriver.Load("notifications", scenarios::notifications, config.notificationUsers()),
+                new LoadDriver.Load("shuttle tracking", scenarios::shuttleTracking, config.shuttleDrivers()));
+
+        String port = app.getEnvironment().getProperty("local.server.port");
+        LatencyRecorder recorder = new LatencyRecorder();
+        LoadDriver driver = new LoadDriver("http://localhost:" + port + "/api", recorder);
+
+        System.out.printf("Request threads: %s (Java %d)%n",
+                Threading.VIRTUAL.isActive(app.getEnvironment()) ? "virtual" : "platform",
+                Runtime.version().feature());
+        System.out.printf("Warming up for %ds...%n", config.warmup().toSeconds());
+        driver.run(loads, config.warmup());
+        recorder.reset();
+
+        System.out.printf("Measuring for %ds...%n", config.duration().toSeconds());
+        long start = System.nanoTime();
+        driver.run(loads, config.duration());
+        recorder.report(Duration.ofNanos(System.nanoTime() - start), System.out);
+        System.out.printf("Stub Gemini requests: %d%n", gemini.requests());
+    }
+}
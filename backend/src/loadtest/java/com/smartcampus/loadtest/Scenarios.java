@@ -0,0 +1,104 @@
+package com.smartcampus.loadtest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * What the simulated users do. Each user signs in as a random seeded user on
+ * every iteration; shuttle drivers each own one shuttle.
+ */
+class Scenarios {
+
+    private static final String[] CHAT_MESSAGES = {
+            "Is there a free lecture hall this afternoon?",
+            "How many people fit in Lab 4?",
+            "What are the opening hours of the library?",
+            "Show me my bookings for this week",
+    };
+
+    private final DataSeeder.SeededData data;
+    private final List<String> tokens;
+
+    /**
+     * @param tokens JWTs of the seeded users, in the order of {@code data.userIds()}
+     */
+    Scenarios(DataSeeder.SeededData data, List<String> tokens) {
+        this.data = data;
+        this.tokens = tokens;
+    }
+
+    /**
+     * Look for a free room, check a week of availability, request a booking
+     * (a conflict is an expected answer) and list one's bookings.
+     */
+    void booking(LoadDriver driver, ThreadLocalRandom random, int user) {
+        String token = randomToken(random);
+        LocalDate date = LocalDate.now().plusDays(1 + random.nextInt(30));
+        int hour = 8 + random.nextInt(11);
+        String start = String.format("%02d:00", hour);
+        String end = String.format("%02d:00", hour + 1);
+
+        driver.call("GET /facilities/free", "GET",
+                "/facilities/free?date=" + date + "&startTime=" + start + "&endTime=" + end, token, null);
+
+        String ids = IntStream.range(0, 5)
+                .mapToObj(i -> data.facilityIds().get(random.nextInt(data.facilityIds().size())))
+                .distinct()
+                .collect(Collectors.joining(","));
+        driver.call("GET /facilities/availability", "GET",
+                "/facilities/availability?ids=" + ids + "&from=" + date + "&to=" + date.plusDays(6), token, null);
+
+        String facilityId = data.facilityIds().get(random.nextInt(data.facilityIds().size()));
+        driver.call("POST /bookings", "POST", "/bookings", token, """
+                {"facilityId":"%s","bookingDate":"%s","startTime":"%s","endTime":"%s",\
+                "purpose":"Study group","expectedAttendees":5}""".formatted(facilityId, date, start, end),
+                201, 409);
+
+        driver.call("GET /bookings/my", "GET", "/bookings/my", token, null);
+    }
+
+    /**
+     * Ask the chatbot a question (answered by the stub Gemini server).
+     */
+    void chat(LoadDriver driver, ThreadLocalRandom random, int user) {
+        String message = CHAT_MESSAGES[random.nextInt(CHAT_MESSAGES.length)];
+        driver.call("POST /chatbot/chat", "POST", "/chatbot/chat", randomToken(random),
+                "{\"message\":\"" + message + "\"}");
+    }
+
+    /**
+     * Poll the unread badge, open the notification list and now and then
+     * mark everything read.
+     */
+    void notifications(LoadDriver driver, ThreadLocalRandom random, int user) {
+        String token = randomToken(random);
+        driver.call("GET /notifications/unread-count", "GET", "/notifications/unread-count", token, null);
+        driver.call("GET /notifications", "GET", "/notifications", token, null);
+        if (random.nextInt(10) == 0) {
+            driver.call("PATCH /notifications/read-all", "PATCH", "/notifications/read-all", token, null);
+        }
+    }
+
+    /**
+     * A driver sends its shuttle's position; a rider follows the shuttle and
+     * the public list refreshes.
+     */
+    void shuttleTracking(LoadDriver driver, ThreadLocalRandom random, int user) {
+        String trackingToken = data.trackingTokens().get(user % data.trackingTokens().size());
+        double latitude = 6.9147 + random.nextDouble(-0.01, 0.01);
+        double longitude = 79.9729 + random.nextDouble(-0.01, 0.01);
+        driver.call("PATCH /shuttles/track/{token}", "PATCH", "/shuttles/track/" + trackingToken, null,
+                String.format(Locale.ROOT, "{\"latitude\":%.6f,\"longitude\":%.6f,\"heading\":%d,\"speed\":%d}",
+                        latitude, longitude, random.nextInt(360), random.nextInt(40)));
+        driver.call("GET /shuttles/track/{token}", "GET", "/shuttles/track/" + trackingToken, null, null);
+        driver.call("GET /shuttles", "GET", "/shuttles", null, null);
+    }
+
+    private String randomToken(ThreadLocalRandom random) {
+        return tokens.get(random.nextInt(tokens.size()));
+    }
+}
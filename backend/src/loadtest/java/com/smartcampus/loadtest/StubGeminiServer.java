@@ -0,0 +1,104 @@
+package com.smartcampus.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for Gemini's {@code generateContent} and
+ * {@code streamGenerateContent} endpoints, answering after a fixed delay
+ * that models the real model latency.
+ *
+ * <p>
+ * Every third conversation starts with a {@code searchFacilities} function
+ * call, so the chatbot's tool loop (and its facility lookup) is part of the
+ * load; the follow-up turn and all other requests get a text answer.
+ * </p>
+ */
+class StubGeminiServer implements AutoCloseable {
+
+    private static final String FUNCTION_CALL = "{\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":["
+            + "{\"functionCall\":{\"name\":\"searchFacilities\",\"args\":{\"search\":\"Hall\"}}}]}}]}";
+
+    private static final List<String> ANSWER = List.of(
+            "Lecture Hall A is free this afternoon",
+            " and seats 120 people.",
+            " You can book it from the Facilities page.");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Duration latency;
+    private final AtomicLong conversations = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+
+    StubGeminiServer(Duration latency) throws IOException {
+        this.latency = latency;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 512);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /** Value for {@code app.gemini.base-url} */
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/models/stub";
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        boolean callFunction = !body.contains("functionResponse") && conversations.incrementAndGet() % 3 == 0;
+        boolean stream = exchange.getRequestURI().getPath().endsWith(":streamGenerateContent");
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (stream) {
+                exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+                exchange.sendResponseHeaders(200, 0);
+                List<String> chunks = callFunction ? List.of(FUNCTION_CALL) : ANSWER.stream().map(StubGeminiServer::text).toList();
+                for (String chunk : chunks) {
+                    sleep(latency.dividedBy(chunks.size()));
+                    out.write(("data: " + chunk + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+            } else {
+                sleep(latency);
+                byte[] response = (callFunction ? FUNCTION_CALL : text(String.join("", ANSWER)))
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+                out.write(response);
+            }
+        }
+    }
+
+    private static String text(String text) {
+        return "{\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":[{\"text\":\"" + text + "\"}]}}]}";
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
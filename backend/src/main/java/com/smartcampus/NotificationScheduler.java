@@ -54,20 +54,19 @@ public class NotificationScheduler {
             
             // If event starts within the next hour and hasn't started yet
             if (eventStart.isAfter(now) && eventStart.isBefore(oneHourFromNow)) {
-                List<EventRegistration> registrations = registrationRepository.findByEventId(event.getId());
-                
-                for (EventRegistration reg : registrations) {
-                    String message = "Reminder: The event '" + event.getTitle() + "' starts soon at " + event.getStartTime() + "!";
-                    
-                    // The sendSmartNotification should handle check for user preference and real-time push
-                    notificationService.sendSmartNotification(
-                        reg.getUserId(),
-                        message,
-                        NotificationPriority.HIGH,
-                        NotificationCategory.EVENT,
-                        NotificationType.EVENT_REMINDER
-                    );
-                }
+                List<String> userIds = registrationRepository.findByEventId(event.getId()).stream()
+                        .map(EventRegistration::getUserId)
+                        .toList();
+                String message = "Reminder: The event '" + event.getTitle() + "' starts soon at " + event.getStartTime() + "!";
+
+                // Checks user preferences and pushes in real time for all registrants at once
+                notificationService.sendSmartNotifications(
+                    userIds,
+                    message,
+                    NotificationPriority.HIGH,
+                    NotificationCategory.EVENT,
+                    NotificationType.EVENT_REMINDER
+                );
                 
                 // Optional: Update event status or mark that reminder was sent to avoid duplicates in next 15-min run
                 // For simplicity, we assume the 1-hour window and 15-min frequency works okay 
@@ -0,0 +1,48 @@
+package com.smartcampus.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Loads Caffeine entries on the calling thread, outside the cache's map.
+ *
+ * <p>
+ * A synchronous {@code Cache.get(key, loader)} runs the loader inside
+ * {@code ConcurrentHashMap.compute}, holding the bin's monitor for the whole
+ * database round-trip: other keys in the bin wait, and a virtual thread is
+ * pinned to its carrier. Here only an empty future is installed inside the
+ * map; the thread that installed it runs the loader afterwards, and
+ * concurrent lookups of the key wait on the future. A failed load is removed
+ * by Caffeine and rethrown to every waiting thread; a null result is not
+ * cached.
+ * </p>
+ */
+public final class CacheLoads {
+
+    private CacheLoads() {
+    }
+
+    /**
+     * The cached value of {@code key}, loading it on this thread on a miss.
+     */
+    public static <K, V> V get(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> mine);
+        if (future == mine) {
+            try {
+                mine.complete(loader.apply(key));
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+}
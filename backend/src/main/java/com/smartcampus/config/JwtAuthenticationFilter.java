@@ -1,7 +1,7 @@
 package com.smartcampus.config;
 
 import com.smartcampus.model.User;
-import com.smartcampus.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,8 +27,10 @@ import java.util.List;
  * </p>
  * <ol>
  * <li>Extract the Bearer token from the {@code Authorization} header</li>
- * <li>Validate the token using {@link JwtTokenProvider}</li>
- * <li>Load the user from MongoDB using the user ID in the token</li>
+ * <li>Validate the token and read its claims in a single parse using
+ * {@link JwtTokenProvider}</li>
+ * <li>Load the user for the token's user ID through {@link UserPrincipalCache},
+ * which only reaches MongoDB on a cache miss</li>
  * <li>Set the authenticated user in Spring Security's
  * {@code SecurityContext}</li>
  * </ol>
@@ -45,11 +47,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserPrincipalCache userPrincipalCache) {
         this.jwtTokenProvider = jwtTokenProvider;
-        this.userRepository = userRepository;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     @Override
@@ -60,12 +62,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 1. Extract the JWT from the Authorization header
             String token = extractTokenFromRequest(request);
 
-            // 2. Validate and authenticate
-            if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-                String userId = jwtTokenProvider.getUserIdFromToken(token);
+            // 2. Validate and read the claims in one parse
+            Claims claims = StringUtils.hasText(token) ? jwtTokenProvider.parseValidClaims(token) : null;
+            if (claims != null) {
+                String userId = claims.getSubject();
 
-                // 3. Load user from database
-                User user = userRepository.findById(userId).orElse(null);
+                // 3. Load user (cached; database only on a miss)
+                User user = userPrincipalCache.get(userId);
 
                 if (user != null) {
                     // 4. Create authentication with the user's role as granted authority
@@ -91,6 +94,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Also authenticate async re-dispatches (e.g. the chatbot's {@code Mono}
+     * reply or streaming exports), whose security context is not carried over
+     * from the original dispatch. The principal cache keeps this cheap.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     /**
      * Extract the Bearer token from the Authorization header.
      *
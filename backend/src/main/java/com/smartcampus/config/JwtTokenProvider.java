@@ -24,6 +24,12 @@ import java.util.Date;
  * </ul>
  *
  * <p>
+ * The request path uses {@link #parseValidClaims(String)}, which verifies
+ * and parses a token once and returns its claims, instead of validating and
+ * then parsing again for the subject.
+ * </p>
+ *
+ * <p>
  * Configuration is read from application.yml (backed by .env):
  * </p>
  * <ul>
@@ -39,11 +45,15 @@ public class JwtTokenProvider {
     private final SecretKey key;
     private final long expirationMs;
 
+    /** Thread-safe parser, built once instead of per call */
+    private final JwtParser parser;
+
     public JwtTokenProvider(
             @Value("${app.jwt.secret}") String secret,
             @Value("${app.jwt.expiration}") long expirationMs) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parser().verifyWith(key).build();
     }
 
     /**
@@ -71,10 +81,7 @@ public class JwtTokenProvider {
      * @return user ID
      */
     public String getUserIdFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
+        return parser.parseSignedClaims(token)
                 .getPayload()
                 .getSubject();
     }
@@ -86,12 +93,18 @@ public class JwtTokenProvider {
      * @return true if the token is valid and not expired
      */
     public boolean validateToken(String token) {
+        return parseValidClaims(token) != null;
+    }
+
+    /**
+     * Validate a JWT token and return its claims in a single parse.
+     *
+     * @param token JWT string to validate
+     * @return the token's claims, or null if the token is invalid or expired
+     */
+    public Claims parseValidClaims(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException ex) {
             logger.error("JWT token expired: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
@@ -101,6 +114,6 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty: {}", ex.getMessage());
         }
-        return false;
+        return null;
     }
 }
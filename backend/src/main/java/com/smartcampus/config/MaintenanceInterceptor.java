@@ -30,7 +30,7 @@ public class MaintenanceInterceptor implements HandlerInterceptor {
             return true;
         }
 
-        // If maintenance is not active, allow everything
+        // If maintenance is not active, allow everything (in-memory check, no DB access)
         if (!maintenanceService.isMaintenanceActive()) {
             return true;
         }
@@ -0,0 +1,147 @@
+package com.smartcampus.config;
+
+import com.mongodb.MongoCommandException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the indexes declared on the {@code @Document} models
+ * ({@code @Indexed}, {@code @CompoundIndex}) once the application is ready.
+ *
+ * <p>
+ * Spring Data's own {@code auto-index-creation} would create them while the
+ * context starts, which makes startup fail or hang whenever MongoDB is
+ * unreachable. Here creation runs on a background thread after startup and
+ * only logs failures; creating an index that already exists is a no-op.
+ * </p>
+ *
+ * <p>
+ * MongoDB cannot change the options of an existing index. When a declared
+ * index differs from the existing one of the same name (e.g. it was made
+ * sparse), the old one is dropped and the declared one created in its
+ * place. Until it is recreated, a unique index does not guard its field.
+ * </p>
+ *
+ * <p>
+ * With {@code app.mongo.indexes.verify-on-startup=true} the indexes are
+ * created synchronously instead and {@link QueryPlanVerifier} then checks
+ * every repository query shape, failing startup on a collection scan.
+ * </p>
+ */
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    /** Server error codes for an index that exists with other options or keys */
+    private static final int INDEX_OPTIONS_CONFLICT = 85;
+    private static final int INDEX_KEY_SPECS_CONFLICT = 86;
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final QueryPlanVerifier queryPlanVerifier;
+    private final boolean createOnStartup;
+    private final boolean verifyOnStartup;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate,
+            MongoMappingContext mappingContext,
+            QueryPlanVerifier queryPlanVerifier,
+            @Value("${app.mongo.indexes.create-on-startup:true}") boolean createOnStartup,
+            @Value("${app.mongo.indexes.verify-on-startup:false}") boolean verifyOnStartup) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.queryPlanVerifier = queryPlanVerifier;
+        this.createOnStartup = createOnStartup;
+        this.verifyOnStartup = verifyOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (verifyOnStartup) {
+            // Exceptions propagate and stop the application
+            createIndexes();
+            queryPlanVerifier.verify();
+        } else if (createOnStartup) {
+            Thread thread = new Thread(this::createIndexesQuietly, "mongo-index-init");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Ensure every declared index exists.
+     *
+     * @return the number of index definitions applied
+     */
+    public int createIndexes() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        int applied = 0;
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            for (IndexDefinition index : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                try {
+                    ensureIndex(entity, index);
+                    applied++;
+                } catch (DataAccessResourceFailureException e) {
+                    // MongoDB is unreachable — no point trying the rest
+                    throw e;
+                } catch (RuntimeException e) {
+                    // e.g. existing duplicates prevent a unique index; keep going
+                    logger.warn("Could not create index {} on {}: {}", index.getIndexKeys(),
+                            entity.getCollection(), e.getMessage());
+                }
+            }
+        }
+        logger.info("Ensured {} MongoDB index definition(s)", applied);
+        return applied;
+    }
+
+    /**
+     * Create an index, replacing an existing one of the same name that was
+     * declared with other options.
+     */
+    private void ensureIndex(MongoPersistentEntity<?> entity, IndexDefinition index) {
+        IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+        try {
+            indexOps.ensureIndex(index);
+        } catch (RuntimeException e) {
+            String name = index.getIndexOptions().getString("name");
+            if (name == null || !isDeclaredDifferently(e)) {
+                throw e;
+            }
+            indexOps.dropIndex(name);
+            indexOps.ensureIndex(index);
+            logger.info("Recreated index {} on {} with options {}", name, entity.getCollection(),
+                    index.getIndexOptions().toJson());
+        }
+    }
+
+    private static boolean isDeclaredDifferently(RuntimeException e) {
+        return NestedExceptionUtils.getMostSpecificCause(e) instanceof MongoCommandException command
+                && (command.getErrorCode() == INDEX_OPTIONS_CONFLICT
+                        || command.getErrorCode() == INDEX_KEY_SPECS_CONFLICT);
+    }
+
+    private void createIndexesQuietly() {
+        try {
+            createIndexes();
+        } catch (RuntimeException e) {
+            logger.warn("MongoDB index creation skipped: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.smartcampus.config;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Explains the query of every derived repository method (plus the dynamic
+ * list filters) and reports the ones MongoDB would answer with a collection
+ * scan.
+ *
+ * <p>
+ * Each method name is parsed with Spring Data's {@link PartTree}, the same
+ * parser that builds the real query, and run with sample values of the right
+ * type — only the shape matters to the query planner. Count, exists and
+ * delete methods are explained as the equivalent find.
+ * </p>
+ *
+ * <p>
+ * Run it against a database that has the collections (a seeded local MongoDB
+ * or the load-test database); on a missing collection the planner reports no
+ * plan at all, so nothing can be checked. It is enabled with
+ * {@code app.mongo.indexes.verify-on-startup} and driven by
+ * {@link MongoIndexInitializer}.
+ * </p>
+ */
+@Component
+public class QueryPlanVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanVerifier.class);
+
+    /**
+     * Filter shapes built at runtime by the services through
+     * {@code FilterQueryRepository} and {@code CursorQueryRepository}, named
+     * after the derived method they would correspond to.
+     */
+    private static final Map<String, String> DYNAMIC_SHAPES = Map.of(
+            "Facility", "findByTypeAndStatusAndCapacityGreaterThanEqual",
+            "Booking", "findByStatusAndFacilityIdOrderByCreatedAtDescIdDesc",
+            "Ticket", "findByStatusAndPriorityOrderByCreatedAtDescIdDesc",
+            "LostFoundItem", "findByTypeAndStatusOrderByCreatedAtDescIdDesc");
+
+    private final ApplicationContext applicationContext;
+    private final MongoTemplate mongoTemplate;
+
+    public QueryPlanVerifier(ApplicationContext applicationContext, MongoTemplate mongoTemplate) {
+        this.applicationContext = applicationContext;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Explain every query shape.
+     *
+     * @throws IllegalStateException listing the shapes that use a collection scan
+     */
+    public void verify() {
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        Repositories repositories = new Repositories(applicationContext);
+        List<String> collectionScans = new ArrayList<>();
+        int checked = 0;
+
+        for (Class<?> domainType : repositories) {
+            MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                    .getRequiredPersistentEntity(domainType);
+            List<String> methodNames = new ArrayList<>();
+            Optional<RepositoryInformation> information = repositories.getRepositoryInformationFor(domainType);
+            information.ifPresent(info -> info.getQueryMethods().map(Method::getName).forEach(methodNames::add));
+            Optional.ofNullable(DYNAMIC_SHAPES.get(domainType.getSimpleName())).ifPresent(methodNames::add);
+
+            for (String methodName : methodNames) {
+                Optional<Query> query = buildQuery(methodName, domainType);
+                if (query.isEmpty()) {
+                    logger.warn("Query plan of {}.{} not checked: unsupported keyword",
+                            domainType.getSimpleName(), methodName);
+                    continue;
+                }
+                Document filter = queryMapper.getMappedObject(query.get().getQueryObject(), entity);
+                Document sort = queryMapper.getMappedSort(query.get().getSortObject(), entity);
+                Document explain = mongoTemplate.getCollection(entity.getCollection())
+                        .find(filter)
+                        .sort(sort)
+                        .explain();
+                checked++;
+                if (usesCollectionScan(explain)) {
+                    collectionScans.add(domainType.getSimpleName() + "." + methodName + " " + filter.toJson());
+                }
+            }
+        }
+
+        if (!collectionScans.isEmpty()) {
+            throw new IllegalStateException("Queries without a supporting index (COLLSCAN):\n  "
+                    + String.join("\n  ", collectionScans));
+        }
+        logger.info("Query plans verified: {} query shapes, no collection scans", checked);
+    }
+
+    // ─── Query shapes ────────────────────────────────────────────────────
+
+    /**
+     * Build a query with the shape of a derived query method, filled with
+     * sample values.
+     *
+     * @return the query, or empty when the method uses a keyword not
+     *         handled here
+     */
+    static Optional<Query> buildQuery(String methodName, Class<?> domainType) {
+        PartTree tree = new PartTree(methodName, domainType);
+        List<Criteria> alternatives = new ArrayList<>();
+        for (PartTree.OrPart orPart : tree) {
+            Criteria criteria = new Criteria();
+            for (Part part : orPart) {
+                if (!addCriterion(criteria, part)) {
+                    return Optional.empty();
+                }
+            }
+            alternatives.add(criteria);
+        }
+
+        Query query = new Query();
+        if (alternatives.size() == 1) {
+            query.addCriteria(alternatives.get(0));
+        } else if (alternatives.size() > 1) {
+            query.addCriteria(new Criteria().orOperator(alternatives.toArray(new Criteria[0])));
+        }
+        Sort sort = tree.getSort();
+        if (sort.isSorted()) {
+            query.with(sort);
+        }
+        return Optional.of(query);
+    }
+
+    private static boolean addCriterion(Criteria criteria, Part part) {
+        String field = part.getProperty().toDotPath();
+        Object sample = sampleValue(part.getProperty().getLeafType());
+        switch (part.getType()) {
+            case TRUE -> criteria.and(field).is(true);
+            case FALSE -> criteria.and(field).is(false);
+            case IS_NULL -> criteria.and(field).is(null);
+            case IS_NOT_NULL -> criteria.and(field).ne(null);
+            default -> {
+                if (sample == null) {
+                    return false;
+                }
+                switch (part.getType()) {
+                    case SIMPLE_PROPERTY -> criteria.and(field).is(sample);
+                    case NEGATING_SIMPLE_PROPERTY -> criteria.and(field).ne(sample);
+                    case IN -> criteria.and(field).in(List.of(sample));
+                    case NOT_IN -> criteria.and(field).nin(List.of(sample));
+                    case GREATER_THAN, AFTER -> criteria.and(field).gt(sample);
+                    case GREATER_THAN_EQUAL -> criteria.and(field).gte(sample);
+                    case LESS_THAN, BEFORE -> criteria.and(field).lt(sample);
+                    case LESS_THAN_EQUAL -> criteria.and(field).lte(sample);
+                    case BETWEEN -> criteria.and(field).gt(sample).lt(sample);
+                    case STARTING_WITH -> criteria.and(field).regex("^" + sample);
+                    case CONTAINING, LIKE -> criteria.and(field).regex(sample.toString(), "i");
+                    default -> {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Object sampleValue(Class<?> type) {
+        if (type == String.class) {
+            return "sample";
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.now();
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == LocalTime.class) {
+            return LocalTime.NOON;
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return true;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 0;
+        }
+        if (type == Long.class || type == long.class) {
+            return 0L;
+        }
+        if (type == Double.class || type == double.class) {
+            return 0.0;
+        }
+        return null;
+    }
+
+    // ─── Explain output ──────────────────────────────────────────────────
+
+    /**
+     * Whether the winning plan of an explain result contains a COLLSCAN stage,
+     * at any depth (classic and slot-based engine formats).
+     */
+    static boolean usesCollectionScan(Document explain) {
+        Object queryPlanner = explain.get("queryPlanner");
+        if (!(queryPlanner instanceof Document planner)) {
+            return false;
+        }
+        return containsStage(planner.get("winningPlan"), "COLLSCAN");
+    }
+
+    private static boolean containsStage(Object node, String stage) {
+        if (node instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (node instanceof List<?> list) {
+            return list.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+}
@@ -1,13 +1,20 @@
 package com.smartcampus.config;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -31,6 +38,9 @@ import java.util.List;
  * <li>All other /api/** requires authentication</li>
  * <li>@PreAuthorize annotations control role-based access on individual
  * endpoints</li>
+ * <li>Actuator health is public; the Prometheus scrape is public only on a
+ * separate management port ({@code MANAGEMENT_PORT}) and needs an ADMIN
+ * token on the application port</li>
  * </ul>
  */
 @Configuration
@@ -39,9 +49,11 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final boolean separateManagementPort;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, Environment environment) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.separateManagementPort = ManagementPortType.get(environment) == ManagementPortType.DIFFERENT;
     }
 
     @Bean
@@ -69,6 +81,9 @@ public class SecurityConfig {
                         .requestMatchers("/shuttles/track/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/transport-announcements/active").permitAll()
                         .requestMatchers(HttpMethod.GET, "/events", "/events/**").permitAll()
+                        // Health checks; Prometheus scraping only on a separate management port
+                        .requestMatchers(EndpointRequest.to("health")).permitAll()
+                        .requestMatchers(EndpointRequest.to("prometheus")).access(prometheusAccess())
 
                         // Everything else requires authentication
                         .anyRequest().authenticated())
@@ -79,6 +94,16 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Anyone may scrape on a separate management port, which is kept off the
+     * public network; on the application port only admins may.
+     */
+    private AuthorizationManager<RequestAuthorizationContext> prometheusAccess() {
+        return separateManagementPort
+                ? (authentication, context) -> new AuthorizationDecision(true)
+                : AuthorityAuthorizationManager.hasRole("ADMIN");
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
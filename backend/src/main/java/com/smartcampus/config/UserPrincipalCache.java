@@ -0,0 +1,102 @@
+package com.smartcampus.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated {@link User} principals keyed
+ * by user ID.
+ *
+ * <p>
+ * {@link JwtAuthenticationFilter} resolves the token's subject through this
+ * cache, so an authenticated request only reaches MongoDB on a miss. Services
+ * that change a user's role, profile or notification preference call
+ * {@link #invalidate(String)} after saving, so the next request reloads the
+ * user.
+ * </p>
+ *
+ * <p>
+ * Each lookup returns a copy of the cached user, so controllers that modify
+ * the principal before saving never mutate the shared entry. Invalidation is
+ * local to this JVM; with several backend replicas a change made on another
+ * instance is picked up once the entry expires ({@code app.security.principal-cache.ttl}).
+ * </p>
+ */
+@Component
+public class UserPrincipalCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final AsyncCache<String, User> cache;
+
+    public UserPrincipalCache(
+            UserRepository userRepository,
+            @Value("${app.security.principal-cache.ttl:60s}") Duration ttl,
+            @Value("${app.security.principal-cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .buildAsync();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "user-principals");
+    }
+
+    /**
+     * Get the user for an authenticated request.
+     *
+     * @param userId the user ID from the token subject
+     * @return a copy of the user, or null if no such user exists
+     */
+    public User get(String userId) {
+        // Missing users are not cached — the loader returns null
+        User cached = CacheLoads.get(cache, userId, id -> userRepository.findById(id).orElse(null));
+        return cached != null ? copyOf(cached) : null;
+    }
+
+    /**
+     * Drop a user from the cache after it has been changed or deleted.
+     *
+     * @param userId the user's MongoDB ID
+     */
+    public void invalidate(String userId) {
+        if (userId != null) {
+            cache.synchronous().invalidate(userId);
+        }
+    }
+
+    /**
+     * Drop every cached user.
+     */
+    public void clear() {
+        cache.synchronous().invalidateAll();
+    }
+
+    private static User copyOf(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setEmail(user.getEmail());
+        copy.setName(user.getName());
+        copy.setProfilePicture(user.getProfilePicture());
+        copy.setRole(user.getRole());
+        copy.setPhoneNumber(user.getPhoneNumber());
+        copy.setProvider(user.getProvider());
+        copy.setProviderId(user.getProviderId());
+        copy.setNotificationsEnabled(user.isNotificationsEnabled());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        return copy;
+    }
+}
@@ -0,0 +1,108 @@
+package com.smartcampus.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual-thread pinning when {@code spring.threads.virtual.enabled}
+ * is on.
+ *
+ * <p>
+ * A virtual thread that blocks inside a {@code synchronized} block or method
+ * (or a native frame) cannot unmount and holds its carrier thread; with
+ * enough of them the carrier pool is exhausted and requests stall. That
+ * includes I/O inside {@code ConcurrentHashMap.compute}, which locks the
+ * bin, so cache loads go through {@link CacheLoads} rather than Caffeine's
+ * synchronous {@code get(key, loader)}. Pinned
+ * periods longer than {@code app.virtual-threads.pinned-threshold} are read
+ * from the JDK's {@code jdk.VirtualThreadPinned} Flight Recorder event,
+ * recorded in the {@code jvm.threads.virtual.pinned} timer and logged with
+ * the top of the stack. For full stacks, also run with
+ * {@code -Djdk.tracePinnedThreads=full}.
+ * </p>
+ *
+ * <p>
+ * Virtual threads need Java 21; on older runtimes Spring Boot ignores the
+ * property, and a warning says so.
+ * </p>
+ */
+@Component
+public class VirtualThreadDiagnostics {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadDiagnostics.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Environment environment;
+    private final Timer pinned;
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public VirtualThreadDiagnostics(Environment environment, MeterRegistry meterRegistry,
+            @Value("${app.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        this.environment = environment;
+        this.threshold = threshold;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Periods a virtual thread was pinned to its carrier thread")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!Threading.VIRTUAL.isActive(environment)) {
+            if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+                logger.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                        + "requests and scheduled tasks run on platform threads", Runtime.version().feature());
+            }
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("Virtual threads enabled; reporting pinned periods over {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        String thread = event.getThread() == null ? "?" : event.getThread().getJavaName();
+        logger.warn("Virtual thread '{}' pinned for {} ms at:{}", thread, event.getDuration().toMillis(),
+                frames(event));
+    }
+
+    private static String frames(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return " (no stack trace)";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(f -> "\n\t" + f.getMethod().getType().getName() + "." + f.getMethod().getName()
+                        + ":" + f.getLineNumber())
+                .collect(Collectors.joining());
+    }
+}
@@ -1,22 +1,122 @@
 package com.smartcampus.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.broker.BrokerAvailabilityEvent;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.time.Duration;
 
 /**
  * Configuration for WebSocket message broker.
+ *
+ * <p>
+ * With {@code app.websocket.broker.mode=simple} (the default) subscriptions
+ * are kept by an in-memory broker, so a push only reaches clients connected
+ * to the same instance. With {@code relay}, {@code /topic} subscriptions and
+ * pushes are relayed over STOMP to an external broker (e.g. ActiveMQ
+ * Artemis), which delivers every push to the subscribers of all instances.
+ * </p>
+ *
+ * <p>
+ * The relay only shares pushes. Other state stays in each JVM:
+ * </p>
+ * <ul>
+ * <li>{@code BookingIntervalIndex} would miss bookings saved by other
+ * instances, so relay mode refuses to start while
+ * {@code app.booking.interval-index.enabled} is true.</li>
+ * <li>{@code BookingSlotLocks} only serialises the bookings of this instance;
+ * two instances can still save overlapping bookings at the same moment.</li>
+ * <li>{@code UnreadNotificationCounts} misses changes made elsewhere until an
+ * entry expires ({@code app.notifications.unread-count.ttl}).</li>
+ * <li>{@code FacilityIndex} misses facility changes made elsewhere until its
+ * next resync ({@code app.availability.facility-index-resync-interval}).</li>
+ * </ul>
+ *
+ * <p>
+ * A client that reads too slowly has its outgoing messages buffered up to
+ * {@code app.websocket.send-buffer-size-limit}; once the buffer or
+ * {@code app.websocket.send-time-limit} is exceeded the session is closed,
+ * so one slow consumer cannot hold up pushes to the others.
+ * </p>
  */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketConfig.class);
+
+    private final WebSocketMetrics webSocketMetrics;
+    private final boolean relay;
+    private final String relayHost;
+    private final int relayPort;
+    private final String relayLogin;
+    private final String relayPasscode;
+    private final String relayVirtualHost;
+    private final DataSize sendBufferSizeLimit;
+    private final Duration sendTimeLimit;
+
+    public WebSocketConfig(MeterRegistry meterRegistry,
+            @Value("${app.websocket.broker.mode:simple}") String brokerMode,
+            @Value("${app.websocket.broker.relay.host:localhost}") String relayHost,
+            @Value("${app.websocket.broker.relay.port:61613}") int relayPort,
+            @Value("${app.websocket.broker.relay.login:guest}") String relayLogin,
+            @Value("${app.websocket.broker.relay.passcode:guest}") String relayPasscode,
+            @Value("${app.websocket.broker.relay.virtual-host:}") String relayVirtualHost,
+            @Value("${app.websocket.send-buffer-size-limit:512KB}") DataSize sendBufferSizeLimit,
+            @Value("${app.websocket.send-time-limit:10s}") Duration sendTimeLimit,
+            @Value("${app.booking.interval-index.enabled:true}") boolean intervalIndexEnabled) {
+        if (!"simple".equalsIgnoreCase(brokerMode) && !"relay".equalsIgnoreCase(brokerMode)) {
+            throw new IllegalArgumentException(
+                    "app.websocket.broker.mode must be 'simple' or 'relay', got '" + brokerMode + "'");
+        }
+        if ("relay".equalsIgnoreCase(brokerMode) && intervalIndexEnabled) {
+            throw new IllegalArgumentException("app.websocket.broker.mode=relay is for running several replicas, "
+                    + "but the booking interval index only sees this instance's bookings: "
+                    + "set app.booking.interval-index.enabled=false");
+        }
+        this.webSocketMetrics = new WebSocketMetrics(meterRegistry);
+        this.relay = "relay".equalsIgnoreCase(brokerMode);
+        this.relayHost = relayHost;
+        this.relayPort = relayPort;
+        this.relayLogin = relayLogin;
+        this.relayPasscode = relayPasscode;
+        this.relayVirtualHost = relayVirtualHost;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        this.sendTimeLimit = sendTimeLimit;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Prefix for messages from server to client
-        config.enableSimpleBroker("/topic");
+        if (relay) {
+            StompBrokerRelayRegistration registration = config.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+            if (StringUtils.hasText(relayVirtualHost)) {
+                registration.setVirtualHost(relayVirtualHost);
+            }
+            logger.info("WebSocket pushes relayed to STOMP broker at {}:{}", relayHost, relayPort);
+        } else {
+            config.enableSimpleBroker("/topic");
+        }
+        config.configureBrokerChannel().interceptors(webSocketMetrics.pushInterceptor());
         
         // Prefix for messages from client to server
         config.setApplicationDestinationPrefixes("/app");
@@ -29,4 +129,31 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*") // Allow all origins for development
                 .withSockJS();
     }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit((int) sendBufferSizeLimit.toBytes())
+                .setSendTimeLimit((int) sendTimeLimit.toMillis())
+                .addDecoratorFactory(webSocketMetrics.sessionDecorator());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(webSocketMetrics.deliveryInterceptor());
+    }
+
+    /**
+     * In relay mode, pushes made while the broker is unreachable are dropped;
+     * the relay reconnects on its own.
+     */
+    @EventListener
+    public void onBrokerAvailability(BrokerAvailabilityEvent event) {
+        webSocketMetrics.brokerAvailable(event.isBrokerAvailable());
+        if (relay && !event.isBrokerAvailable()) {
+            logger.warn("STOMP broker at {}:{} unavailable; WebSocket pushes are dropped until it reconnects",
+                    relayHost, relayPort);
+        } else if (relay) {
+            logger.info("STOMP broker at {}:{} available", relayHost, relayPort);
+        }
+    }
 }
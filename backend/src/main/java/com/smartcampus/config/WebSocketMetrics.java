@@ -0,0 +1,116 @@
+package com.smartcampus.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Channel interceptors that meter WebSocket traffic:
+ * <ul>
+ * <li>{@code websocket.pushes} — time to hand a message published by the
+ * application (e.g. {@code SimpMessagingTemplate.convertAndSend}) to the
+ * broker, by destination and outcome</li>
+ * <li>{@code websocket.deliveries} — MESSAGE frames the broker sends to
+ * client sessions, by destination</li>
+ * <li>{@code websocket.sessions.evicted} — sessions closed as unreliable,
+ * mostly slow consumers over the send buffer or time limit</li>
+ * <li>{@code websocket.broker.available} — 1 while the broker (or broker
+ * relay connection) is available</li>
+ * </ul>
+ * Destinations are cut to their first two segments
+ * ({@code /topic/notifications/{userId}} → {@code /topic/notifications}) to
+ * keep tag cardinality bounded.
+ */
+public class WebSocketMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    /** The broker channel has no executor, so send and completion share a thread */
+    private final ThreadLocal<Long> pushStart = new ThreadLocal<>();
+
+    private final AtomicBoolean brokerAvailable = new AtomicBoolean();
+
+    public WebSocketMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("websocket.broker.available", brokerAvailable, available -> available.get() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    public void brokerAvailable(boolean available) {
+        brokerAvailable.set(available);
+    }
+
+    /** For the broker channel */
+    public ChannelInterceptor pushInterceptor() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                pushStart.set(System.nanoTime());
+                return message;
+            }
+
+            @Override
+            public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent,
+                    Exception ex) {
+                Long start = pushStart.get();
+                pushStart.remove();
+                if (start == null) {
+                    return;
+                }
+                String outcome = ex != null ? "ERROR" : sent ? "SUCCESS" : "NOT_SENT";
+                meterRegistry.timer("websocket.pushes", "destination", destination(message), "outcome", outcome)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    /** For the client outbound channel */
+    public ChannelInterceptor deliveryInterceptor() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+                    meterRegistry.counter("websocket.deliveries", "destination", destination(message)).increment();
+                }
+                return message;
+            }
+        };
+    }
+
+    /** For the WebSocket transport */
+    public WebSocketHandlerDecoratorFactory sessionDecorator() {
+        return handler -> new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+                    meterRegistry.counter("websocket.sessions.evicted").increment();
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    static String destination(Message<?> message) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null) {
+            return "none";
+        }
+        int first = destination.indexOf('/', 1);
+        if (first < 0) {
+            return destination;
+        }
+        int second = destination.indexOf('/', first + 1);
+        return second < 0 ? destination : destination.substring(0, second);
+    }
+}
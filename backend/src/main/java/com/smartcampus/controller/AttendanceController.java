@@ -3,13 +3,20 @@ package com.smartcampus.controller;
 import com.smartcampus.dto.*;
 import com.smartcampus.model.User;
 import com.smartcampus.service.AttendanceService;
+import com.smartcampus.service.ExportWriter;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * REST controller for attendance tracking operations.
@@ -22,7 +29,9 @@ import java.util.List;
  * only)</li>
  * <li>GET /api/attendance/my — Get current user's attendance history</li>
  * <li>GET /api/attendance — Get all attendance records (ADMIN/MANAGER
- * only)</li>
+ * only, optionally paginated with ?cursor=&amp;limit=)</li>
+ * <li>GET /api/attendance/export — Export attendance as NDJSON/CSV
+ * (ADMIN/MANAGER only)</li>
  * <li>GET /api/attendance/stats/me — Get current user's attendance stats</li>
  * <li>GET /api/attendance/stats — Get overall stats (ADMIN/MANAGER only)</li>
  * <li>GET /api/attendance/user/{userId} — Get specific user's attendance
@@ -34,9 +43,11 @@ import java.util.List;
 public class AttendanceController {
 
     private final AttendanceService attendanceService;
+    private final ExportWriter exportWriter;
 
-    public AttendanceController(AttendanceService attendanceService) {
+    public AttendanceController(AttendanceService attendanceService, ExportWriter exportWriter) {
         this.attendanceService = attendanceService;
+        this.exportWriter = exportWriter;
     }
 
     /**
@@ -70,10 +81,20 @@ public class AttendanceController {
 
     /**
      * GET /api/attendance — Get all attendance records (ADMIN/MANAGER only).
+     * Passing ?limit= and/or ?cursor= returns one page, most recent first, with
+     * {@code nextCursor} set when more records follow.
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<ApiResponse<List<AttendanceDto>>> getAllAttendance() {
+    public ResponseEntity<ApiResponse<List<AttendanceDto>>> getAllAttendance(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+
+        if (cursor != null || limit != null) {
+            CursorPage<AttendanceDto> page = attendanceService.getAllAttendancePage(cursor, limit);
+            return ResponseEntity.ok(
+                    ApiResponse.page("Attendance page retrieved", page));
+        }
 
         List<AttendanceDto> records = attendanceService.getAllAttendance();
 
@@ -81,6 +102,36 @@ public class AttendanceController {
                 ApiResponse.success("All attendance records retrieved", records));
     }
 
+    /**
+     * GET /api/attendance/export — Stream all attendance records marked in a date range as NDJSON or CSV.
+     * Supports optional filters: ?from=2026-01-01&to=2026-12-31&format=CSV
+     * Rows are written straight from a MongoDB cursor, so the full history
+     * is never held in memory.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportAttendance(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "format", defaultValue = "NDJSON") ExportFormat format) {
+
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+
+        StreamingResponseBody body = out -> {
+            try (Stream<AttendanceDto> rows = attendanceService.streamAttendance(from, to)) {
+                exportWriter.write(rows, format, out);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"attendance." + exportWriter.fileExtension(format) + "\"")
+                .contentType(MediaType.parseMediaType(exportWriter.contentType(format)))
+                .body(body);
+    }
+
     /**
      * GET /api/attendance/stats/me — Get the current user's attendance stats.
      */
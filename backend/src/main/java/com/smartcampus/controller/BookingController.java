@@ -3,18 +3,27 @@ package com.smartcampus.controller;
 import com.smartcampus.dto.ApiResponse;
 import com.smartcampus.dto.BookingDto;
 import com.smartcampus.dto.CreateBookingRequest;
+import com.smartcampus.dto.CursorPage;
+import com.smartcampus.dto.ExportFormat;
 import com.smartcampus.dto.UpdateBookingStatusRequest;
 import com.smartcampus.model.BookingStatus;
 import com.smartcampus.model.User;
 import com.smartcampus.service.BookingService;
+import com.smartcampus.service.ExportWriter;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * REST controller for Booking Management (Module B).
@@ -25,7 +34,10 @@ import java.util.List;
  * <ul>
  * <li>POST /api/bookings — Create a booking (authenticated user)</li>
  * <li>GET /api/bookings/my — Get current user's bookings</li>
- * <li>GET /api/bookings — Get all bookings (ADMIN only)</li>
+ * <li>GET /api/bookings — Get all bookings (ADMIN only, optionally
+ * paginated with ?cursor=&amp;limit=)</li>
+ * <li>GET /api/bookings/export — Export bookings as NDJSON/CSV (ADMIN
+ * only)</li>
  * <li>GET /api/bookings/{id} — Get a single booking</li>
  * <li>PATCH /api/bookings/{id}/approve — Approve a booking (ADMIN only)</li>
  * <li>PATCH /api/bookings/{id}/reject — Reject a booking (ADMIN only)</li>
@@ -39,9 +51,11 @@ import java.util.List;
 public class BookingController {
 
         private final BookingService bookingService;
+        private final ExportWriter exportWriter;
 
-        public BookingController(BookingService bookingService) {
+        public BookingController(BookingService bookingService, ExportWriter exportWriter) {
                 this.bookingService = bookingService;
+                this.exportWriter = exportWriter;
         }
 
         /**
@@ -92,12 +106,22 @@ public class BookingController {
         /**
          * GET /api/bookings — Get all bookings (admin only).
          * Supports optional filters: ?status=PENDING&facilityId=abc123
+         * Passing ?limit= and/or ?cursor= returns one page, newest first, with
+         * {@code nextCursor} set when more bookings follow.
          */
         @GetMapping
         @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
         public ResponseEntity<ApiResponse<List<BookingDto>>> getAllBookings(
                         @RequestParam(name = "status", required = false) BookingStatus status,
-                        @RequestParam(name = "facilityId", required = false) String facilityId) {
+                        @RequestParam(name = "facilityId", required = false) String facilityId,
+                        @RequestParam(name = "cursor", required = false) String cursor,
+                        @RequestParam(name = "limit", required = false) Integer limit) {
+
+                if (cursor != null || limit != null) {
+                        CursorPage<BookingDto> page = bookingService.getAllBookingsPage(status, facilityId, cursor, limit);
+                        return ResponseEntity.ok(
+                                        ApiResponse.page("Bookings page retrieved successfully", page));
+                }
 
                 List<BookingDto> bookings = bookingService.getAllBookings(status, facilityId);
 
@@ -105,6 +129,36 @@ public class BookingController {
                                 ApiResponse.success("All bookings retrieved successfully", bookings));
         }
 
+        /**
+         * GET /api/bookings/export — Stream all bookings in a booking-date range as NDJSON or CSV.
+         * Supports optional filters: ?from=2026-01-01&to=2026-12-31&format=CSV
+         * Rows are written straight from a MongoDB cursor, so the full history
+         * is never held in memory.
+         */
+        @GetMapping("/export")
+        @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+        public ResponseEntity<StreamingResponseBody> exportBookings(
+                        @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                        @RequestParam(name = "format", defaultValue = "NDJSON") ExportFormat format) {
+
+                if (from != null && to != null && from.isAfter(to)) {
+                        throw new IllegalArgumentException("'from' must not be after 'to'");
+                }
+
+                StreamingResponseBody body = out -> {
+                        try (Stream<BookingDto> rows = bookingService.streamBookings(from, to)) {
+                                exportWriter.write(rows, format, out);
+                        }
+                };
+
+                return ResponseEntity.ok()
+                                .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                "attachment; filename=\"bookings." + exportWriter.fileExtension(format) + "\"")
+                                .contentType(MediaType.parseMediaType(exportWriter.contentType(format)))
+                                .body(body);
+        }
+
         /**
          * GET /api/bookings/{id} — Get a single booking by ID.
          */
@@ -6,9 +6,13 @@ import com.smartcampus.dto.ChatResponse;
 import com.smartcampus.model.User;
 import com.smartcampus.service.ChatbotService;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * REST controller for the AI Chatbot feature.
@@ -19,7 +23,14 @@ import org.springframework.web.bind.annotation.*;
  * <ul>
  * <li>POST /api/chatbot/chat — Send a message and receive an AI response
  * (authenticated users only)</li>
+ * <li>POST /api/chatbot/chat/stream — Same, streamed as Server-Sent Events
+ * while the reply is generated (authenticated users only)</li>
  * </ul>
+ *
+ * <p>
+ * Both endpoints return reactive types, so Spring MVC handles them
+ * asynchronously and releases the servlet thread while Gemini responds.
+ * </p>
  */
 @RestController
 @RequestMapping("/chatbot")
@@ -47,15 +58,38 @@ public class ChatbotController {
      * Requires authentication. The chatbot only answers Smart Campus questions.
      */
     @PostMapping("/chat")
-    public ResponseEntity<ApiResponse<ChatResponse>> chat(
+    public Mono<ResponseEntity<ApiResponse<ChatResponse>>> chat(
             @Valid @RequestBody ChatRequest request,
             Authentication authentication) {
 
         String userId = getUserId(authentication);
-        String reply = chatbotService.chat(request.getMessage(), userId);
-        ChatResponse response = ChatResponse.of(reply);
+        return chatbotService.chat(request.getMessage(), userId)
+                .map(reply -> ResponseEntity.ok(
+                        ApiResponse.success("Chatbot response generated", ChatResponse.of(reply))));
+    }
+
+    /**
+     * POST /api/chatbot/chat/stream — Send a message and stream the reply.
+     *
+     * <p>
+     * Emits one {@code message} event per text fragment (a {@link ChatResponse}
+     * holding the fragment) as soon as Gemini produces it, then a final
+     * {@code done} event. Errors are reported as a friendly fragment, never
+     * as a broken stream.
+     * </p>
+     */
+    @PostMapping(path = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ChatResponse>> chatStream(
+            @Valid @RequestBody ChatRequest request,
+            Authentication authentication) {
 
-        return ResponseEntity.ok(
-                ApiResponse.success("Chatbot response generated", response));
+        String userId = getUserId(authentication);
+        return chatbotService.chatStream(request.getMessage(), userId)
+                .map(fragment -> ServerSentEvent.builder(ChatResponse.of(fragment))
+                        .event("message")
+                        .build())
+                .concatWith(Flux.just(ServerSentEvent.<ChatResponse>builder()
+                        .event("done")
+                        .build()));
     }
 }
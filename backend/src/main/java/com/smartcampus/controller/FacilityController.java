@@ -2,12 +2,15 @@ package com.smartcampus.controller;
 
 import com.smartcampus.dto.ApiResponse;
 import com.smartcampus.dto.CreateFacilityRequest;
+import com.smartcampus.dto.FacilityAvailabilityDto;
 import com.smartcampus.dto.FacilityDto;
 import com.smartcampus.dto.UpdateFacilityRequest;
 import com.smartcampus.model.FacilityStatus;
 import com.smartcampus.model.FacilityType;
+import com.smartcampus.service.AvailabilityService;
 import com.smartcampus.service.FacilityService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,6 +20,8 @@ import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 /**
@@ -28,6 +33,10 @@ import java.util.List;
  * <ul>
  * <li>GET /api/facilities — List/search/filter all facilities
  * (authenticated)</li>
+ * <li>GET /api/facilities/availability — Free/booked time of many facilities
+ * over a date range (authenticated)</li>
+ * <li>GET /api/facilities/free — Find facilities free for a time slot
+ * (authenticated)</li>
  * <li>GET /api/facilities/{id} — Get a single facility (authenticated)</li>
  * <li>POST /api/facilities — Create a new facility (ADMIN only)</li>
  * <li>PUT /api/facilities/{id} — Update a facility (ADMIN only)</li>
@@ -40,9 +49,11 @@ public class FacilityController {
 
         private static final Logger logger = LoggerFactory.getLogger(FacilityController.class);
         private final FacilityService facilityService;
+        private final AvailabilityService availabilityService;
 
-        public FacilityController(FacilityService facilityService) {
+        public FacilityController(FacilityService facilityService, AvailabilityService availabilityService) {
                 this.facilityService = facilityService;
+                this.availabilityService = availabilityService;
         }
 
         /**
@@ -71,6 +82,53 @@ public class FacilityController {
                                 ApiResponse.success("Facilities retrieved successfully", facilities));
         }
 
+        /**
+         * GET /api/facilities/availability — Opening hours, bookings and free
+         * slots of several facilities for every day in a range, computed in one
+         * pass.
+         *
+         * Query parameters:
+         * ?from=2025-03-01 (required)
+         * ?to=2025-03-07 (optional, defaults to from)
+         * ?ids=f1,f2 (optional, defaults to all ACTIVE facilities)
+         */
+        @GetMapping("/availability")
+        public ResponseEntity<ApiResponse<List<FacilityAvailabilityDto>>> getAvailability(
+                        @RequestParam(name = "ids", required = false) List<String> ids,
+                        @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+                List<FacilityAvailabilityDto> availability = availabilityService.getAvailability(
+                                ids, from, to != null ? to : from);
+
+                return ResponseEntity.ok(
+                                ApiResponse.success("Availability retrieved successfully", availability));
+        }
+
+        /**
+         * GET /api/facilities/free — "Find me a room": ACTIVE facilities that
+         * are open and not booked for the whole slot, smallest first.
+         *
+         * Query parameters:
+         * ?date=2025-03-01&startTime=10:00&endTime=12:00 (required)
+         * ?type=LAB&minCapacity=30&location=Building A (optional)
+         */
+        @GetMapping("/free")
+        public ResponseEntity<ApiResponse<List<FacilityDto>>> findFreeFacilities(
+                        @RequestParam(name = "type", required = false) FacilityType type,
+                        @RequestParam(name = "minCapacity", required = false) Integer minCapacity,
+                        @RequestParam(name = "location", required = false) String location,
+                        @RequestParam(name = "date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                        @RequestParam(name = "startTime") @DateTimeFormat(pattern = "HH:mm") LocalTime startTime,
+                        @RequestParam(name = "endTime") @DateTimeFormat(pattern = "HH:mm") LocalTime endTime) {
+
+                List<FacilityDto> facilities = availabilityService.findFreeFacilities(
+                                type, minCapacity, location, date, startTime, endTime);
+
+                return ResponseEntity.ok(
+                                ApiResponse.success("Free facilities retrieved successfully", facilities));
+        }
+
         /**
          * GET /api/facilities/{id} — Get a single facility by ID.
          */
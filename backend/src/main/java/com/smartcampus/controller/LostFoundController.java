@@ -2,6 +2,7 @@ package com.smartcampus.controller;
 
 import com.smartcampus.dto.ApiResponse;
 import com.smartcampus.dto.CreateLostFoundItemRequest;
+import com.smartcampus.dto.CursorPage;
 import com.smartcampus.dto.LostFoundItemDto;
 import com.smartcampus.dto.UpdateLostFoundItemRequest;
 import com.smartcampus.model.LostFoundItemCategory;
@@ -38,13 +39,23 @@ public class LostFoundController {
 
     /**
      * GET /api/lost-found — Browse all items (public).
+     * Passing ?limit= and/or ?cursor= returns one page, newest first, with
+     * {@code nextCursor} set when more items follow.
      */
     @GetMapping
     public ResponseEntity<ApiResponse<List<LostFoundItemDto>>> getAllItems(
             @RequestParam(name = "type", required = false) LostFoundItemType type,
             @RequestParam(name = "status", required = false) LostFoundItemStatus status,
             @RequestParam(name = "category", required = false) LostFoundItemCategory category,
-            @RequestParam(name = "search", required = false) String search) {
+            @RequestParam(name = "search", required = false) String search,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+
+        if (cursor != null || limit != null) {
+            CursorPage<LostFoundItemDto> page = lostFoundService.getAllItemsPage(
+                    type, status, category, search, cursor, limit);
+            return ResponseEntity.ok(ApiResponse.page("Items page retrieved successfully", page));
+        }
 
         List<LostFoundItemDto> items = lostFoundService.getAllItems(type, status, category, search);
         return ResponseEntity.ok(ApiResponse.success("Items retrieved successfully", items));
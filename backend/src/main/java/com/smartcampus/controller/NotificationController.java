@@ -1,6 +1,7 @@
 package com.smartcampus.controller;
 
 import com.smartcampus.dto.ApiResponse;
+import com.smartcampus.dto.NotificationDigestDto;
 import com.smartcampus.dto.NotificationDto;
 import com.smartcampus.model.User;
 import com.smartcampus.service.NotificationService;
@@ -32,6 +33,13 @@ public class NotificationController {
                 ApiResponse.success("Notifications retrieved successfully", notifications));
     }
 
+    @GetMapping("/digests")
+    public ResponseEntity<ApiResponse<List<NotificationDigestDto>>> getMyDigests() {
+        List<NotificationDigestDto> digests = notificationService.getCurrentUserDigests();
+        return ResponseEntity.ok(
+                ApiResponse.success("Notification digests retrieved successfully", digests));
+    }
+
     @GetMapping("/unread-count")
     public ResponseEntity<ApiResponse<Long>> getUnreadCount() {
         long count = notificationService.getUnreadCount();
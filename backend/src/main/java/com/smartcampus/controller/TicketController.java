@@ -5,15 +5,22 @@ import com.smartcampus.model.Role;
 import com.smartcampus.model.TicketPriority;
 import com.smartcampus.model.TicketStatus;
 import com.smartcampus.model.User;
+import com.smartcampus.service.ExportWriter;
 import com.smartcampus.service.TicketService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * REST controller for Maintenance & Incident Ticketing (Module C).
@@ -24,7 +31,10 @@ import java.util.List;
  * <ul>
  * <li>POST /api/tickets — Create a ticket (authenticated user)</li>
  * <li>GET /api/tickets/my — Get current user's tickets</li>
- * <li>GET /api/tickets — Get all tickets (ADMIN, MANAGER)</li>
+ * <li>GET /api/tickets — Get all tickets (ADMIN, MANAGER; optionally
+ * paginated with ?cursor=&amp;limit=)</li>
+ * <li>GET /api/tickets/export — Export tickets as NDJSON/CSV (ADMIN,
+ * MANAGER)</li>
  * <li>GET /api/tickets/{id} — Get a single ticket</li>
  * <li>GET /api/tickets/technician — Get technician's assigned tickets</li>
  * <li>PATCH /api/tickets/{id}/assign — Assign technician (ADMIN, MANAGER)</li>
@@ -42,9 +52,11 @@ import java.util.List;
 public class TicketController {
 
         private final TicketService ticketService;
+        private final ExportWriter exportWriter;
 
-        public TicketController(TicketService ticketService) {
+        public TicketController(TicketService ticketService, ExportWriter exportWriter) {
                 this.ticketService = ticketService;
+                this.exportWriter = exportWriter;
         }
 
         // ─── Helper ───────────────────────────────────────────────────────
@@ -100,12 +112,22 @@ public class TicketController {
         /**
          * GET /api/tickets — Get all tickets (admin/manager only).
          * Supports optional filters: ?status=OPEN&priority=HIGH
+         * Passing ?limit= and/or ?cursor= returns one page, newest first, with
+         * {@code nextCursor} set when more tickets follow.
          */
         @GetMapping
         @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
         public ResponseEntity<ApiResponse<List<TicketDto>>> getAllTickets(
                         @RequestParam(name = "status", required = false) TicketStatus status,
-                        @RequestParam(name = "priority", required = false) TicketPriority priority) {
+                        @RequestParam(name = "priority", required = false) TicketPriority priority,
+                        @RequestParam(name = "cursor", required = false) String cursor,
+                        @RequestParam(name = "limit", required = false) Integer limit) {
+
+                if (cursor != null || limit != null) {
+                        CursorPage<TicketDto> page = ticketService.getAllTicketsPage(status, priority, cursor, limit);
+                        return ResponseEntity.ok(
+                                        ApiResponse.page("Tickets page retrieved successfully", page));
+                }
 
                 List<TicketDto> tickets = ticketService.getAllTickets(status, priority);
 
@@ -113,6 +135,36 @@ public class TicketController {
                                 ApiResponse.success("All tickets retrieved successfully", tickets));
         }
 
+        /**
+         * GET /api/tickets/export — Stream all tickets created in a date range as NDJSON or CSV.
+         * Supports optional filters: ?from=2026-01-01&to=2026-12-31&format=CSV
+         * Rows are written straight from a MongoDB cursor, so the full history
+         * is never held in memory.
+         */
+        @GetMapping("/export")
+        @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+        public ResponseEntity<StreamingResponseBody> exportTickets(
+                        @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                        @RequestParam(name = "format", defaultValue = "NDJSON") ExportFormat format) {
+
+                if (from != null && to != null && from.isAfter(to)) {
+                        throw new IllegalArgumentException("'from' must not be after 'to'");
+                }
+
+                StreamingResponseBody body = out -> {
+                        try (Stream<TicketDto> rows = ticketService.streamTickets(from, to)) {
+                                exportWriter.write(rows, format, out);
+                        }
+                };
+
+                return ResponseEntity.ok()
+                                .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                "attachment; filename=\"tickets." + exportWriter.fileExtension(format) + "\"")
+                                .contentType(MediaType.parseMediaType(exportWriter.contentType(format)))
+                                .body(body);
+        }
+
         /**
          * GET /api/tickets/{id} — Get a single ticket by ID.
          */
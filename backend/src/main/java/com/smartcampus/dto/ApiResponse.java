@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Standard API response wrapper for uniform JSON responses across all
@@ -17,6 +18,7 @@ import java.time.LocalDateTime;
  * 
  * <pre>
  * return ResponseEntity.ok(ApiResponse.success("User created", savedUser));
+ * return ResponseEntity.ok(ApiResponse.page("Users retrieved", userPage));
  * return ResponseEntity.status(404).body(ApiResponse.error("User not found"));
  * </pre>
  *
@@ -31,6 +33,10 @@ public class ApiResponse<T> {
     private boolean success;
     private String message;
     private T data;
+
+    /** Cursor for the next page of a paginated list (omitted when there is none) */
+    private String nextCursor;
+
     private LocalDateTime timestamp;
 
     /**
@@ -45,6 +51,15 @@ public class ApiResponse<T> {
         return response;
     }
 
+    /**
+     * Create a successful response for one page of a keyset-paginated list.
+     */
+    public static <T> ApiResponse<List<T>> page(String message, CursorPage<T> page) {
+        ApiResponse<List<T>> response = success(message, page.getItems());
+        response.setNextCursor(page.getNextCursor());
+        return response;
+    }
+
     /**
      * Create a successful response without data.
      */
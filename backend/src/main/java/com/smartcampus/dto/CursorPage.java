@@ -0,0 +1,35 @@
+package com.smartcampus.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated list.
+ *
+ * <p>
+ * {@code nextCursor} is an opaque token to pass back as {@code ?cursor=} to
+ * fetch the following page; it is null on the last page.
+ * </p>
+ *
+ * @param <T> the type of the page items
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+
+    /**
+     * Map the items of this page, keeping the cursor.
+     */
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+}
@@ -0,0 +1,11 @@
+package com.smartcampus.dto;
+
+/**
+ * Output formats supported by the bulk export endpoints.
+ */
+public enum ExportFormat {
+    /** Newline-delimited JSON — one object per line */
+    NDJSON,
+    /** Comma-separated values with a header row */
+    CSV
+}
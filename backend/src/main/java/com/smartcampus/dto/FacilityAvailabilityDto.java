@@ -0,0 +1,52 @@
+package com.smartcampus.dto;
+
+import com.smartcampus.model.FacilityStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Response DTO for the open, booked and free time of one facility over a
+ * date range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacilityAvailabilityDto {
+
+    private String facilityId;
+    private String facilityName;
+    private FacilityStatus status;
+    private List<DayAvailability> days;
+
+    /**
+     * One day of a facility. Each list is sorted and non-overlapping.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DayAvailability {
+        private LocalDate date;
+        /** Opening hours from the facility's availability windows */
+        private List<TimeSlot> open;
+        /** PENDING and APPROVED bookings, merged where they touch */
+        private List<TimeSlot> booked;
+        /** Open time not covered by a booking */
+        private List<TimeSlot> free;
+    }
+
+    /**
+     * A time range {@code [start, end)} within a day.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TimeSlot {
+        private LocalTime start;
+        private LocalTime end;
+    }
+}
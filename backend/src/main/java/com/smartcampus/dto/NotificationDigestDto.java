@@ -0,0 +1,16 @@
+package com.smartcampus.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object for a monthly digest of archived notifications.
+ */
+@Data
+public class NotificationDigestDto {
+    private String month;
+    private long total;
+    private long unread;
+    private Map<String, Long> byType;
+}
@@ -0,0 +1,22 @@
+package com.smartcampus.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published by {@code BookingService} after a booking is created, changes
+ * status or is deleted.
+ *
+ * <p>
+ * Listeners run synchronously on the writing thread, so they should only
+ * drop or mark cached state, never do I/O.
+ * </p>
+ *
+ * @param bookingId   the booking's ID
+ * @param facilityId  the booked facility
+ * @param bookingDate the date of the booking
+ * @param userId      the user who owns the booking
+ * @param created     whether this change created the booking
+ */
+public record BookingChangedEvent(String bookingId, String facilityId, LocalDate bookingDate, String userId,
+        boolean created) {
+}
@@ -0,0 +1,15 @@
+package com.smartcampus.event;
+
+/**
+ * Published by {@code FacilityService} after a facility is created, updated
+ * or deleted.
+ *
+ * <p>
+ * Listeners run synchronously on the writing thread, so they should only
+ * drop or mark cached state, never do I/O.
+ * </p>
+ *
+ * @param facilityId the facility's ID
+ */
+public record FacilityChangedEvent(String facilityId) {
+}
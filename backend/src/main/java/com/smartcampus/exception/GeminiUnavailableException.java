@@ -0,0 +1,35 @@
+package com.smartcampus.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown by {@code GeminiClient} when a call is rejected without reaching the
+ * Gemini API — either too many calls are already in flight or the circuit
+ * breaker is open after repeated failures.
+ *
+ * <p>
+ * Maps to HTTP 503 Service Unavailable.
+ * </p>
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class GeminiUnavailableException extends RuntimeException {
+
+    public enum Reason {
+        /** The concurrency limit (bulkhead) is full */
+        BUSY,
+        /** The circuit breaker is open */
+        CIRCUIT_OPEN
+    }
+
+    private final Reason reason;
+
+    public GeminiUnavailableException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -17,6 +19,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "attendance")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_marked_idx", def = "{'userId': 1, 'markedAt': -1}"),
+        @CompoundIndex(name = "user_status_idx", def = "{'userId': 1, 'status': 1}"),
+        @CompoundIndex(name = "marked_idx", def = "{'markedAt': -1}")
+})
 public class Attendance {
 
     @Id
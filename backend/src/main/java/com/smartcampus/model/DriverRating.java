@@ -5,7 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -14,12 +14,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "driver_ratings")
+@CompoundIndex(name = "shuttle_created_idx", def = "{'shuttleId': 1, 'createdAt': -1}")
 public class DriverRating {
 
     @Id
     private String id;
 
-    @Indexed
     private String shuttleId;
 
     private Integer rating; // 1 to 5
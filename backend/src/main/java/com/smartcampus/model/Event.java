@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
@@ -18,6 +20,10 @@ import java.time.LocalTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "events")
+@CompoundIndexes({
+        @CompoundIndex(name = "status_reminder_idx", def = "{'status': 1, 'reminderSent': 1}"),
+        @CompoundIndex(name = "date_idx", def = "{'eventDate': 1}")
+})
 public class Event {
 
     @Id
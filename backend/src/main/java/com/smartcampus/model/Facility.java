@@ -6,6 +6,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -24,6 +26,10 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "facilities")
+@CompoundIndexes({
+        @CompoundIndex(name = "type_status_capacity_idx", def = "{'type': 1, 'status': 1, 'capacity': 1}"),
+        @CompoundIndex(name = "status_capacity_idx", def = "{'status': 1, 'capacity': 1}")
+})
 public class Facility {
 
     @Id
@@ -6,6 +6,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
@@ -18,6 +20,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "lost_found_items")
+@CompoundIndexes({
+        @CompoundIndex(name = "type_status_created_idx", def = "{'type': 1, 'status': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "status_created_idx", def = "{'status': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "created_idx", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "reporter_created_idx", def = "{'reportedByUserId': 1, 'createdAt': -1}")
+})
 public class LostFoundItem {
 
     @Id
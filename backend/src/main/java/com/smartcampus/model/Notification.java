@@ -3,6 +3,9 @@ package com.smartcampus.model;
 import lombok.Data;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -12,6 +15,11 @@ import java.time.LocalDateTime;
  */
 @Data
 @Document(collection = "notifications")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_created_idx", def = "{'userId': 1, 'createdAt': -1}"),
+        @CompoundIndex(name = "user_read_idx", def = "{'userId': 1, 'isRead': 1}"),
+        @CompoundIndex(name = "created_idx", def = "{'createdAt': -1}")
+})
 public class Notification {
 
     @Id
@@ -26,4 +34,11 @@ public class Notification {
     
     @CreatedDate
     private LocalDateTime createdAt;
+
+    /** When the notification was marked read; read notifications expire via a TTL index on this */
+    private LocalDateTime readAt;
+
+    /** Archival pass that has claimed this notification for its digest; set only by NotificationRetention */
+    @Indexed(name = "archived_by_idx", sparse = true)
+    private String archivedBy;
 }
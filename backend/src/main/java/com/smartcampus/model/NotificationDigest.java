@@ -0,0 +1,48 @@
+package com.smartcampus.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Monthly roll-up of a user's archived notifications (Module D).
+ *
+ * <p>
+ * Written by {@code NotificationRetention} when old notifications are
+ * removed: one document per user and calendar month of creation, with the
+ * counts added up across runs.
+ * </p>
+ */
+@Data
+@Document(collection = "notification_digests")
+@CompoundIndex(name = "user_month_idx", def = "{'userId': 1, 'month': -1}", unique = true)
+public class NotificationDigest {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    /** Month the notifications were created in, {@code yyyy-MM} (UTC) */
+    private String month;
+
+    private long total;
+
+    /** Notifications that were still unread when archived */
+    private long unread;
+
+    /** Notification type name → count */
+    private Map<String, Long> byType = new HashMap<>();
+
+    private LocalDateTime updatedAt;
+
+    /** Latest archival passes already counted in, so a repeated pass is not counted twice */
+    private List<String> archivedBy = new ArrayList<>();
+}
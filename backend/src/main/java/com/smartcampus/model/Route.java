@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -30,6 +31,7 @@ public class Route {
     /** Hex color for the map polyline, e.g. "#3b82f6" */
     private String color = "#3b82f6";
 
+    @Indexed
     private boolean active = true;
 
     @CreatedDate
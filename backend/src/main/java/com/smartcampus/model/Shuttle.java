@@ -25,13 +25,15 @@ public class Shuttle {
     private String driverName;
     private String driverPhone;
 
+    @Indexed
     private ShuttleStatus status = ShuttleStatus.ACTIVE;
 
     /** Reference to Route document */
+    @Indexed
     private String routeId;
 
     /** Unique token for driver GPS tracking (no login needed) */
-    @Indexed(unique = true)
+    @Indexed(unique = true, sparse = true)
     private String trackingToken;
 
     /** Real-time GPS data from driver's phone */
@@ -6,6 +6,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -24,6 +26,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "tickets")
+@CompoundIndexes({
+        @CompoundIndex(name = "status_priority_created_idx", def = "{'status': 1, 'priority': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "priority_created_idx", def = "{'priority': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "created_idx", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "user_created_idx", def = "{'userId': 1, 'createdAt': -1}"),
+        @CompoundIndex(name = "technician_created_idx", def = "{'assignedTechnicianId': 1, 'createdAt': -1}")
+})
 public class Ticket {
 
     @Id
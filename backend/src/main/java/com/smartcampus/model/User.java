@@ -39,6 +39,7 @@ public class User {
     private String profilePicture;
 
     /** User's role — defaults to USER on first login */
+    @Indexed
     private Role role = Role.USER;
 
     /** User's phone number (optional, set by user) */
@@ -48,7 +49,7 @@ public class User {
     private String provider;
 
     /** Unique ID from the OAuth provider (Google sub claim) */
-    @Indexed(unique = true)
+    @Indexed(unique = true, sparse = true)
     private String providerId;
 
     /** Whether notifications are enabled for this user */
@@ -6,6 +6,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -27,14 +28,12 @@ public interface BookingRepository extends MongoRepository<Booking, String> {
     List<Booking> findByFacilityIdAndBookingDateAndStatusIn(
             String facilityId, LocalDate bookingDate, List<BookingStatus> statuses);
 
-    /** Find all bookings filtered by status */
-    List<Booking> findByStatusOrderByCreatedAtDesc(BookingStatus status);
-
-    /** Find all bookings filtered by facility */
-    List<Booking> findByFacilityIdOrderByCreatedAtDesc(String facilityId);
-
-    /** Find all bookings ordered by creation date descending */
-    List<Booking> findAllByOrderByCreatedAtDesc();
+    /**
+     * Find the bookings of several facilities on a given date with specific
+     * statuses (for room search)
+     */
+    List<Booking> findByFacilityIdInAndBookingDateAndStatusIn(
+            Collection<String> facilityIds, LocalDate bookingDate, List<BookingStatus> statuses);
 
     /**
      * Find all bookings for a specific facility on a given date (for availability
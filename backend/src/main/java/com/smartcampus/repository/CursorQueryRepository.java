@@ -0,0 +1,132 @@
+package com.smartcampus.repository;
+
+import com.smartcampus.dto.CursorPage;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset ("seek") pagination over any collection sorted newest-first by a
+ * timestamp field, with the document ID as tie-breaker.
+ *
+ * <p>
+ * Each page is a single indexed range query —
+ * {@code (ts < c) OR (ts = c AND _id < id)}, sorted by {@code ts desc, _id desc}
+ * and limited to {@code limit + 1} documents — so the cost of a page does not
+ * grow with the collection size or with how deep the client has paged,
+ * unlike skip/offset paging.
+ * </p>
+ *
+ * <p>
+ * Cursors are opaque, URL-safe Base64 tokens of {@code timestamp|id}.
+ * </p>
+ */
+@Repository
+public class CursorQueryRepository {
+
+    /** Page size used when the client does not ask for one */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /** Upper bound on the page size a client can request */
+    public static final int MAX_LIMIT = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public CursorQueryRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Fetch one page of documents.
+     *
+     * @param type        the document class
+     * @param filter      additional filter criteria (may be null)
+     * @param sortField   the timestamp property to sort on, newest first
+     * @param sortValue   accessor for {@code sortField} on a loaded document
+     * @param idValue     accessor for the document ID
+     * @param cursor      cursor returned with the previous page (null = first page)
+     * @param limit       requested page size (null = {@link #DEFAULT_LIMIT})
+     * @return the page, with a next cursor when more documents follow
+     * @throws IllegalArgumentException if the cursor or limit is invalid
+     */
+    public <T> CursorPage<T> findPage(Class<T> type, Criteria filter, String sortField,
+            Function<T, LocalDateTime> sortValue, Function<T, String> idValue,
+            String cursor, Integer limit) {
+        int pageSize = resolveLimit(limit);
+
+        List<Criteria> clauses = new ArrayList<>();
+        if (filter != null && !filter.getCriteriaObject().isEmpty()) {
+            clauses.add(filter);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor after = decode(cursor);
+            clauses.add(new Criteria().orOperator(
+                    Criteria.where(sortField).lt(after.sortValue()),
+                    new Criteria().andOperator(
+                            Criteria.where(sortField).is(after.sortValue()),
+                            Criteria.where("id").lt(after.id()))));
+        }
+
+        Query query = new Query();
+        if (!clauses.isEmpty()) {
+            query.addCriteria(clauses.size() == 1
+                    ? clauses.get(0)
+                    : new Criteria().andOperator(clauses.toArray(new Criteria[0])));
+        }
+        query.with(Sort.by(Sort.Order.desc(sortField), Sort.Order.desc("id")));
+        query.limit(pageSize + 1);
+
+        List<T> results = mongoTemplate.find(query, type);
+
+        String nextCursor = null;
+        if (results.size() > pageSize) {
+            results = new ArrayList<>(results.subList(0, pageSize));
+            T last = results.get(pageSize - 1);
+            nextCursor = encode(sortValue.apply(last), idValue.apply(last));
+        }
+        return new CursorPage<>(results, nextCursor);
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    // ─── Cursor encoding ─────────────────────────────────────────────────
+
+    private record Cursor(LocalDateTime sortValue, String id) {
+    }
+
+    private static String encode(LocalDateTime sortValue, String id) {
+        String raw = sortValue + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
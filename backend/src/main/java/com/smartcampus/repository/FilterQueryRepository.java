@@ -0,0 +1,94 @@
+package com.smartcampus.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * List queries built from any combination of optional filters.
+ *
+ * <p>
+ * The derived finders cover one filter shape each, which forced services to
+ * pick the closest finder and filter the rest in memory. {@link Filter}
+ * collects every supplied filter into a single {@link Criteria}, so MongoDB
+ * applies all of them — and can use the matching compound index — and only
+ * matching documents are returned.
+ * </p>
+ */
+@Repository
+public class FilterQueryRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    public FilterQueryRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Find every document matching the filter.
+     *
+     * @param type   the document class
+     * @param filter filter criteria (may be null for the whole collection)
+     * @param sort   result order
+     * @return the matching documents
+     */
+    public <T> List<T> find(Class<T> type, Criteria filter, Sort sort) {
+        Query query = filter != null ? new Query(filter) : new Query();
+        query.with(sort);
+        return mongoTemplate.find(query, type);
+    }
+
+    /**
+     * Start an empty filter.
+     */
+    public static Filter filter() {
+        return new Filter();
+    }
+
+    /**
+     * Fluent builder of optional filters. Every method ignores a null (or,
+     * for text, blank) value, so callers can pass request parameters straight
+     * through.
+     */
+    public static final class Filter {
+
+        private final Criteria criteria = new Criteria();
+
+        private Filter() {
+        }
+
+        /** {@code field == value} */
+        public Filter eq(String field, Object value) {
+            if (value != null && !(value instanceof String s && s.isBlank())) {
+                criteria.and(field).is(value);
+            }
+            return this;
+        }
+
+        /** {@code field >= value} */
+        public Filter gte(String field, Object value) {
+            if (value != null) {
+                criteria.and(field).gte(value);
+            }
+            return this;
+        }
+
+        /** Case-insensitive substring match on a text field */
+        public Filter contains(String field, String text) {
+            if (text != null && !text.isBlank()) {
+                criteria.and(field).regex(Pattern.quote(text.trim()), "i");
+            }
+            return this;
+        }
+
+        /** The collected criteria (empty when no filter was supplied) */
+        public Criteria toCriteria() {
+            return criteria;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.smartcampus.repository;
+
+import com.smartcampus.model.NotificationDigest;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * MongoDB repository for archived notification digests.
+ */
+@Repository
+public interface NotificationDigestRepository extends MongoRepository<NotificationDigest, String> {
+
+    List<NotificationDigest> findByUserIdOrderByMonthDesc(String userId);
+}
@@ -1,7 +1,9 @@
 package com.smartcampus.repository;
 
 import com.smartcampus.model.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,9 +14,17 @@ import java.util.List;
 @Repository
 public interface NotificationRepository extends MongoRepository<Notification, String> {
     
-    List<Notification> findByUserIdOrderByCreatedAtDesc(String userId);
-    
-    List<Notification> findByUserIdAndIsReadFalse(String userId);
+    List<Notification> findByUserIdOrderByCreatedAtDesc(String userId, Limit limit);
+
+    List<Notification> findAllByOrderByCreatedAtDesc(Limit limit);
     
     long countByUserIdAndIsReadFalse(String userId);
+
+    /** Mark one of a user's notifications read; returns 0 if it was already read. */
+    @Update("{ '$set': { 'isRead': true }, '$currentDate': { 'readAt': true } }")
+    long findAndMarkReadByIdAndUserIdAndIsReadFalse(String id, String userId);
+
+    /** Mark all of a user's notifications read in one update; returns how many changed. */
+    @Update("{ '$set': { 'isRead': true }, '$currentDate': { 'readAt': true } }")
+    long findAndMarkReadByUserIdAndIsReadFalse(String userId);
 }
@@ -0,0 +1,123 @@
+package com.smartcampus.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Cursor-backed streaming reads for bulk exports.
+ *
+ * <p>
+ * Unlike the derived {@code List<T>} finders, {@link #stream} keeps a MongoDB
+ * cursor open and pulls documents in batches of {@link #BATCH_SIZE}, so only
+ * one batch is held in memory at a time. The returned {@link Stream} must be
+ * closed (try-with-resources) to release the cursor.
+ * </p>
+ */
+@Repository
+public class StreamingQueryRepository {
+
+    /** Documents fetched per cursor round-trip */
+    public static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public StreamingQueryRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Stream every document matching the filter in the given order.
+     *
+     * @param type   the document class
+     * @param filter filter criteria (may be null for the whole collection)
+     * @param sort   the order to stream in
+     * @return a lazily-populated stream; close it when done
+     */
+    public <T> Stream<T> stream(Class<T> type, Criteria filter, Sort sort) {
+        return stream(type, filter, sort, new String[0]);
+    }
+
+    /**
+     * Stream only the given fields of every matching document; other
+     * properties of the returned objects are left null.
+     *
+     * @param type   the document class
+     * @param filter filter criteria (may be null for the whole collection)
+     * @param sort   the order to stream in
+     * @param fields the properties to load (none = all)
+     * @return a lazily-populated stream; close it when done
+     */
+    public <T> Stream<T> stream(Class<T> type, Criteria filter, Sort sort, String... fields) {
+        Query query = filter != null ? new Query(filter) : new Query();
+        if (fields.length > 0) {
+            query.fields().include(fields);
+        }
+        query.with(sort);
+        query.cursorBatchSize(BATCH_SIZE);
+        return mongoTemplate.stream(query, type);
+    }
+
+    /**
+     * Group a stream into consecutive lists of up to {@code size} elements,
+     * so per-document lookups can be made once per batch. Closing the
+     * returned stream closes the source.
+     */
+    public static <T> Stream<List<T>> batches(Stream<T> source, int size) {
+        Iterator<T> elements = source.iterator();
+        Iterator<List<T>> batches = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return elements.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                if (!elements.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<T> batch = new ArrayList<>(size);
+                while (batch.size() < size && elements.hasNext()) {
+                    batch.add(elements.next());
+                }
+                return batch;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+                .onClose(source::close);
+    }
+
+    /**
+     * Build an inclusive day-range filter on a timestamp field.
+     *
+     * @param field the timestamp property
+     * @param from  first day to include (null = unbounded)
+     * @param to    last day to include (null = unbounded)
+     * @return the criteria, or null when neither bound is given
+     */
+    public static Criteria dayRange(String field, LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        Criteria criteria = Criteria.where(field);
+        if (from != null) {
+            criteria.gte(from.atStartOfDay());
+        }
+        if (to != null) {
+            criteria.lt(to.plusDays(1).atStartOfDay());
+        }
+        return criteria;
+    }
+}
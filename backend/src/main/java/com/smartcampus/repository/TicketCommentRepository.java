@@ -1,8 +1,10 @@
 package com.smartcampus.repository;
 
 import com.smartcampus.model.TicketComment;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,6 +18,21 @@ public interface TicketCommentRepository extends MongoRepository<TicketComment,
     /** Count comments for a ticket. */
     long countByTicketId(String ticketId);
 
+    /** Count comments for several tickets at once; tickets without comments are left out. */
+    @Aggregation(pipeline = {
+            "{ '$match': { 'ticketId': { '$in': ?0 } } }",
+            "{ '$group': { '_id': '$ticketId', 'count': { '$sum': 1 } } }" })
+    List<CommentCount> countByTicketIdIn(Collection<String> ticketIds);
+
     /** Delete all comments for a ticket (used when deleting a ticket). */
     void deleteByTicketId(String ticketId);
+
+    /**
+     * Number of comments on one ticket.
+     *
+     * @param id    the ticket's ID
+     * @param count its comments
+     */
+    record CommentCount(String id, long count) {
+    }
 }
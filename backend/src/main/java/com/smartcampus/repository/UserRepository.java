@@ -5,6 +5,7 @@ import com.smartcampus.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +27,7 @@ public interface UserRepository extends MongoRepository<User, String> {
 
     /** Check if a user exists with the given email. */
     boolean existsByEmail(String email);
+
+    /** Find which of the given users have turned notifications off. */
+    List<User> findByIdInAndNotificationsEnabledFalse(Collection<String> ids);
 }
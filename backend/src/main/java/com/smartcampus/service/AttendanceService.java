@@ -2,20 +2,26 @@ package com.smartcampus.service;
 
 import com.smartcampus.dto.AttendanceDto;
 import com.smartcampus.dto.AttendanceStatsDto;
+import com.smartcampus.dto.CursorPage;
 import com.smartcampus.dto.MarkAttendanceRequest;
 import com.smartcampus.exception.ResourceNotFoundException;
 import com.smartcampus.model.Attendance;
 import com.smartcampus.model.AttendanceStatus;
 import com.smartcampus.model.User;
 import com.smartcampus.repository.AttendanceRepository;
+import com.smartcampus.repository.CursorQueryRepository;
+import com.smartcampus.repository.StreamingQueryRepository;
 import com.smartcampus.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for attendance tracking operations.
@@ -32,11 +38,17 @@ public class AttendanceService {
 
     private final AttendanceRepository attendanceRepository;
     private final UserRepository userRepository;
+    private final CursorQueryRepository cursorQueryRepository;
+    private final StreamingQueryRepository streamingQueryRepository;
 
     public AttendanceService(AttendanceRepository attendanceRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            CursorQueryRepository cursorQueryRepository,
+            StreamingQueryRepository streamingQueryRepository) {
         this.attendanceRepository = attendanceRepository;
         this.userRepository = userRepository;
+        this.cursorQueryRepository = cursorQueryRepository;
+        this.streamingQueryRepository = streamingQueryRepository;
     }
 
     /**
@@ -102,6 +114,27 @@ public class AttendanceService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get one page of all attendance records (admin/manager view), most recent
+     * first.
+     */
+    public CursorPage<AttendanceDto> getAllAttendancePage(String cursor, Integer limit) {
+        return cursorQueryRepository.findPage(Attendance.class, null, "markedAt",
+                Attendance::getMarkedAt, Attendance::getId, cursor, limit)
+                .map(this::mapToDto);
+    }
+
+    /**
+     * Stream all attendance records marked in {@code [from, to]} (either bound
+     * optional), oldest first, for export. The stream is backed by a MongoDB
+     * cursor and must be closed.
+     */
+    public Stream<AttendanceDto> streamAttendance(LocalDate from, LocalDate to) {
+        return streamingQueryRepository.stream(Attendance.class,
+                StreamingQueryRepository.dayRange("markedAt", from, to), Sort.by("markedAt"))
+                .map(this::mapToDto);
+    }
+
     /**
      * Get attendance records for a specific user (admin/manager view).
      */
@@ -5,6 +5,7 @@ import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
 import com.smartcampus.config.JwtTokenProvider;
+import com.smartcampus.config.UserPrincipalCache;
 import com.smartcampus.dto.AuthResponse;
 import com.smartcampus.dto.UserDto;
 import com.smartcampus.exception.ResourceNotFoundException;
@@ -39,14 +40,17 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserPrincipalCache userPrincipalCache;
     private final GoogleIdTokenVerifier googleIdTokenVerifier;
 
     public AuthService(
             UserRepository userRepository,
             JwtTokenProvider jwtTokenProvider,
+            UserPrincipalCache userPrincipalCache,
             @Value("${app.google.client-id}") String googleClientId) {
         this.userRepository = userRepository;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.userPrincipalCache = userPrincipalCache;
 
         // Set up Google token verifier with our Client ID
         this.googleIdTokenVerifier = new GoogleIdTokenVerifier.Builder(
@@ -102,6 +106,7 @@ public class AuthService {
         // Do NOT overwrite name — the user may have customised it via the profile page.
         user.setProfilePicture(pictureUrl);
         user = userRepository.save(user);
+        userPrincipalCache.invalidate(user.getId());
 
         // 4. Generate our own JWT
         String token = jwtTokenProvider.generateToken(user.getId());
@@ -126,6 +131,7 @@ public class AuthService {
             user.setPhoneNumber(phoneNumber);
         }
         User updatedUser = userRepository.save(user);
+        userPrincipalCache.invalidate(updatedUser.getId());
         return mapToDto(updatedUser);
     }
 
@@ -134,6 +140,7 @@ public class AuthService {
      */
     public void deleteAccount(User user) {
         userRepository.deleteById(user.getId());
+        userPrincipalCache.invalidate(user.getId());
         logger.info("User account deleted: {} ({})", user.getEmail(), user.getId());
     }
 
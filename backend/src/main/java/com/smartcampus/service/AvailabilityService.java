@@ -0,0 +1,321 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.FacilityAvailabilityDto;
+import com.smartcampus.dto.FacilityDto;
+import com.smartcampus.dto.FacilityAvailabilityDto.DayAvailability;
+import com.smartcampus.dto.FacilityAvailabilityDto.TimeSlot;
+import com.smartcampus.exception.ResourceNotFoundException;
+import com.smartcampus.model.AvailabilityWindow;
+import com.smartcampus.model.Booking;
+import com.smartcampus.model.Facility;
+import com.smartcampus.model.FacilityStatus;
+import com.smartcampus.model.FacilityType;
+import com.smartcampus.repository.FacilityRepository;
+import com.smartcampus.repository.StreamingQueryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Computes open, booked and free time for many facilities over a date range.
+ *
+ * <p>
+ * All facilities are read in one query and all PENDING/APPROVED bookings of
+ * the range in one streamed query (projected to the slot fields). For each
+ * facility/day, opening hours come from the facility's
+ * {@link AvailabilityWindow}s for that weekday — or
+ * {@code app.availability.default-open/close} when it defines none — and
+ * free time is found by sweeping the sorted, merged opening hours against the
+ * sorted, merged bookings.
+ * </p>
+ *
+ * <p>
+ * Facilities that are not ACTIVE report their bookings but no free time.
+ * </p>
+ *
+ * <p>
+ * {@link #findFreeFacilities} answers "find me a room" searches from the
+ * in-memory {@link FacilityIndex} and {@link BookingIntervalIndex}, with at
+ * most one booking query for days the interval index has not loaded.
+ * </p>
+ */
+@Service
+public class AvailabilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityService.class);
+
+    private static final Comparator<TimeSlot> BY_START = Comparator.comparing(TimeSlot::getStart)
+            .thenComparing(TimeSlot::getEnd);
+
+    private final FacilityRepository facilityRepository;
+    private final StreamingQueryRepository streamingQueryRepository;
+    private final FacilityIndex facilityIndex;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final LocalTime defaultOpen;
+    private final LocalTime defaultClose;
+    private final int maxDays;
+    private final int maxFacilities;
+
+    public AvailabilityService(FacilityRepository facilityRepository,
+            StreamingQueryRepository streamingQueryRepository,
+            FacilityIndex facilityIndex,
+            BookingIntervalIndex bookingIntervalIndex,
+            @Value("${app.availability.default-open:08:00}") String defaultOpen,
+            @Value("${app.availability.default-close:20:00}") String defaultClose,
+            @Value("${app.availability.max-days:62}") int maxDays,
+            @Value("${app.availability.max-facilities:200}") int maxFacilities) {
+        this.facilityRepository = facilityRepository;
+        this.streamingQueryRepository = streamingQueryRepository;
+        this.facilityIndex = facilityIndex;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.defaultOpen = LocalTime.parse(defaultOpen);
+        this.defaultClose = LocalTime.parse(defaultClose);
+        this.maxDays = maxDays;
+        this.maxFacilities = maxFacilities;
+    }
+
+    // ─── READ ────────────────────────────────────────────────────────────
+
+    /**
+     * Availability of several facilities for every day in {@code [from, to]}.
+     *
+     * @param facilityIds the facilities, in the order to return them (null or
+     *                    empty = all ACTIVE facilities)
+     * @param from        first day (inclusive)
+     * @param to          last day (inclusive)
+     * @return one entry per facility, each with one entry per day
+     */
+    public List<FacilityAvailabilityDto> getAvailability(List<String> facilityIds, LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("'from' must be on or before 'to'");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > maxDays) {
+            throw new IllegalArgumentException("Date range cannot exceed " + maxDays + " days");
+        }
+
+        List<Facility> facilities = loadFacilities(facilityIds);
+        if (facilities.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Map<LocalDate, List<TimeSlot>>> bookings = loadBookings(
+                facilities.stream().map(Facility::getId).collect(Collectors.toList()), from, to);
+
+        List<FacilityAvailabilityDto> result = new ArrayList<>(facilities.size());
+        for (Facility facility : facilities) {
+            Map<LocalDate, List<TimeSlot>> byDate = bookings.getOrDefault(facility.getId(), Map.of());
+            List<DayAvailability> dayList = new ArrayList<>((int) days);
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                dayList.add(getDayAvailability(facility.getAvailabilityWindows(), facility.getStatus(), date,
+                        byDate.getOrDefault(date, List.of())));
+            }
+            result.add(new FacilityAvailabilityDto(facility.getId(), facility.getName(), facility.getStatus(),
+                    dayList));
+        }
+        return result;
+    }
+
+    /**
+     * Availability of one facility on one day, given its bookings.
+     *
+     * @param windows  the facility's availability windows (null or empty = default hours)
+     * @param status   the facility status; only ACTIVE facilities have free time
+     * @param date     the day
+     * @param bookings the day's PENDING/APPROVED bookings, in any order
+     * @return the day's open, booked and free time
+     */
+    public DayAvailability getDayAvailability(List<AvailabilityWindow> windows, FacilityStatus status,
+            LocalDate date, List<TimeSlot> bookings) {
+        List<TimeSlot> open = openingHours(windows, date.getDayOfWeek());
+        List<TimeSlot> booked = merge(bookings);
+        List<TimeSlot> free = status == FacilityStatus.ACTIVE ? subtract(open, booked) : List.of();
+        return new DayAvailability(date, open, booked, free);
+    }
+
+    /**
+     * ACTIVE facilities that are open and not booked for the whole of
+     * {@code [startTime, endTime)} on the given date, smallest capacity first.
+     *
+     * @param type        facility type (null = any)
+     * @param minCapacity minimum capacity (null = any)
+     * @param location    partial, case-insensitive location match (null = any)
+     * @param date        the day
+     * @param startTime   start of the wanted slot
+     * @param endTime     end of the wanted slot
+     * @return free facilities
+     */
+    public List<FacilityDto> findFreeFacilities(FacilityType type, Integer minCapacity, String location,
+            LocalDate date, LocalTime startTime, LocalTime endTime) {
+        if (!startTime.isBefore(endTime)) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+        DayOfWeek day = date.getDayOfWeek();
+        List<FacilityDto> open = facilityIndex.find(type, minCapacity, location).stream()
+                .filter(f -> isOpen(f.getAvailabilityWindows(), day, startTime, endTime))
+                .collect(Collectors.toList());
+        if (open.isEmpty()) {
+            return open;
+        }
+        Set<String> busy = bookingIntervalIndex.findBusy(
+                open.stream().map(FacilityDto::getId).collect(Collectors.toList()), date, startTime, endTime);
+        return open.stream()
+                .filter(f -> !busy.contains(f.getId()))
+                .collect(Collectors.toList());
+    }
+
+    // ─── Loading ─────────────────────────────────────────────────────────
+
+    private List<Facility> loadFacilities(List<String> facilityIds) {
+        if (facilityIds == null || facilityIds.isEmpty()) {
+            return facilityRepository.findByStatus(FacilityStatus.ACTIVE);
+        }
+        LinkedHashSet<String> ids = new LinkedHashSet<>(facilityIds);
+        if (ids.size() > maxFacilities) {
+            throw new IllegalArgumentException("Cannot request more than " + maxFacilities + " facilities at once");
+        }
+        Map<String, Facility> found = new HashMap<>();
+        facilityRepository.findAllById(ids).forEach(f -> found.put(f.getId(), f));
+        List<Facility> facilities = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Facility facility = found.get(id);
+            if (facility == null) {
+                throw new ResourceNotFoundException("Facility", "id", id);
+            }
+            facilities.add(facility);
+        }
+        return facilities;
+    }
+
+    /**
+     * Active bookings of the facilities in the range, grouped by facility and
+     * day, each day sorted by start time.
+     */
+    private Map<String, Map<LocalDate, List<TimeSlot>>> loadBookings(List<String> facilityIds,
+            LocalDate from, LocalDate to) {
+        Criteria filter = Criteria.where("facilityId").in(facilityIds)
+                .and("bookingDate").gte(from).lte(to)
+                .and("status").in(BookingIntervalIndex.ACTIVE_STATUSES);
+        Map<String, Map<LocalDate, List<TimeSlot>>> grouped = new HashMap<>();
+        try (Stream<Booking> stream = streamingQueryRepository.stream(Booking.class, filter,
+                Sort.by("facilityId", "bookingDate", "startTime"),
+                "facilityId", "bookingDate", "startTime", "endTime")) {
+            stream.forEach(b -> grouped
+                    .computeIfAbsent(b.getFacilityId(), k -> new HashMap<>())
+                    .computeIfAbsent(b.getBookingDate(), k -> new ArrayList<>())
+                    .add(new TimeSlot(b.getStartTime(), b.getEndTime())));
+        }
+        return grouped;
+    }
+
+    // ─── Sweep ───────────────────────────────────────────────────────────
+
+    private List<TimeSlot> openingHours(List<AvailabilityWindow> windows, DayOfWeek day) {
+        if (windows == null || windows.isEmpty()) {
+            return List.of(new TimeSlot(defaultOpen, defaultClose));
+        }
+        List<TimeSlot> open = new ArrayList<>();
+        for (AvailabilityWindow window : windows) {
+            if (window.getDayOfWeek() == null
+                    || !day.name().equals(window.getDayOfWeek().trim().toUpperCase(Locale.ROOT))) {
+                continue;
+            }
+            try {
+                open.add(new TimeSlot(LocalTime.parse(window.getStartTime().trim()),
+                        LocalTime.parse(window.getEndTime().trim())));
+            } catch (DateTimeParseException | NullPointerException e) {
+                logger.warn("Ignoring malformed availability window {}", window);
+            }
+        }
+        return merge(open);
+    }
+
+    /**
+     * Whether one merged opening-hours slot covers the whole range.
+     */
+    private boolean isOpen(List<AvailabilityWindow> windows, DayOfWeek day, LocalTime startTime,
+            LocalTime endTime) {
+        for (TimeSlot slot : openingHours(windows, day)) {
+            if (!slot.getStart().isAfter(startTime) && !slot.getEnd().isBefore(endTime)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Union of the slots: sorted by start, with overlapping or touching slots
+     * joined. Empty and inverted slots are dropped.
+     */
+    static List<TimeSlot> merge(List<TimeSlot> slots) {
+        List<TimeSlot> sorted = slots.stream()
+                .filter(s -> s.getStart() != null && s.getEnd() != null && s.getStart().isBefore(s.getEnd()))
+                .sorted(BY_START)
+                .collect(Collectors.toList());
+        List<TimeSlot> merged = new ArrayList<>();
+        for (TimeSlot slot : sorted) {
+            TimeSlot last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && !slot.getStart().isAfter(last.getEnd())) {
+                if (slot.getEnd().isAfter(last.getEnd())) {
+                    merged.set(merged.size() - 1, new TimeSlot(last.getStart(), slot.getEnd()));
+                }
+            } else {
+                merged.add(slot);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Parts of {@code open} not covered by {@code busy}. Both inputs must be
+     * merged (sorted, non-overlapping); the sweep advances through each once.
+     */
+    static List<TimeSlot> subtract(List<TimeSlot> open, List<TimeSlot> busy) {
+        List<TimeSlot> free = new ArrayList<>();
+        int b = 0;
+        for (TimeSlot window : open) {
+            LocalTime cursor = window.getStart();
+            // Skip bookings that end before this window
+            while (b < busy.size() && !busy.get(b).getEnd().isAfter(cursor)) {
+                b++;
+            }
+            int i = b;
+            while (i < busy.size() && busy.get(i).getStart().isBefore(window.getEnd())) {
+                TimeSlot booking = busy.get(i);
+                if (booking.getStart().isAfter(cursor)) {
+                    free.add(new TimeSlot(cursor, booking.getStart()));
+                }
+                if (booking.getEnd().isAfter(cursor)) {
+                    cursor = booking.getEnd();
+                }
+                if (!cursor.isBefore(window.getEnd())) {
+                    break;
+                }
+                i++;
+            }
+            if (cursor.isBefore(window.getEnd())) {
+                free.add(new TimeSlot(cursor, window.getEnd()));
+            }
+        }
+        return free;
+    }
+}
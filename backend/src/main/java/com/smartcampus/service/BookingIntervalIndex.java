@@ -0,0 +1,383 @@
+package com.smartcampus.service;
+
+import com.smartcampus.model.Booking;
+import com.smartcampus.model.BookingStatus;
+import com.smartcampus.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory interval index of active (PENDING/APPROVED) bookings, keyed by
+ * facility and date.
+ *
+ * <p>
+ * Each facility/day is loaded lazily from {@link BookingRepository} on the
+ * first lookup and is then kept in step by {@link BookingService} after every
+ * booking write. MongoDB remains the source of truth: days that are not
+ * loaded are simply read again on the next miss.
+ * </p>
+ *
+ * <p>
+ * Slots of a day are kept sorted by start time together with the longest
+ * slot duration seen, so an overlap query only has to inspect the slots that
+ * start inside {@code (start - maxDuration, end)} — a logarithmic range
+ * lookup instead of a scan over every booking of the day.
+ * </p>
+ *
+ * <p>
+ * The index is local to this instance. When several backend replicas write
+ * bookings, disable it with {@code app.booking.interval-index.enabled=false}
+ * so conflict checks always read MongoDB.
+ * </p>
+ */
+@Component
+public class BookingIntervalIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingIntervalIndex.class);
+
+    /** Statuses that block a time slot */
+    static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.PENDING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+    private final int maxDays;
+
+    private final ConcurrentHashMap<DayKey, DaySlots> days = new ConcurrentHashMap<>();
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+            @Value("${app.booking.interval-index.enabled:true}") boolean enabled,
+            @Value("${app.booking.interval-index.max-days:5000}") int maxDays) {
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+        this.maxDays = maxDays;
+    }
+
+    // ─── QUERY ───────────────────────────────────────────────────────────
+
+    /**
+     * Find an active booking on the given facility and date whose time range
+     * overlaps {@code [startTime, endTime)}.
+     *
+     * @param facilityId       the facility being booked
+     * @param bookingDate      the date of the booking
+     * @param startTime        desired start time
+     * @param endTime          desired end time
+     * @param excludeBookingId booking ID to ignore (may be null)
+     * @return the first overlapping slot, if any
+     */
+    public Optional<Slot> findOverlap(String facilityId, LocalDate bookingDate,
+            LocalTime startTime, LocalTime endTime, String excludeBookingId) {
+        if (!enabled) {
+            return scanRepository(facilityId, bookingDate, startTime, endTime, excludeBookingId);
+        }
+        DaySlots slots = loadDay(new DayKey(facilityId, bookingDate));
+        return slots.findOverlap(startTime, endTime, excludeBookingId);
+    }
+
+    /**
+     * Find which of several facilities have an active booking on the given
+     * date overlapping {@code [startTime, endTime)}.
+     *
+     * <p>
+     * Days already in the index are answered from memory; the rest are read
+     * with a single query. Those results are not installed in the index,
+     * since a booking written between that read and the install would be
+     * lost — only {@link #loadDay} can load a day safely.
+     * </p>
+     *
+     * @param facilityIds the facilities to check
+     * @param bookingDate the date
+     * @param startTime   start of the range
+     * @param endTime     end of the range
+     * @return IDs of the facilities that are busy in the range
+     */
+    public Set<String> findBusy(Collection<String> facilityIds, LocalDate bookingDate,
+            LocalTime startTime, LocalTime endTime) {
+        Set<String> busy = new HashSet<>();
+        List<String> unloaded = new ArrayList<>();
+        for (String facilityId : facilityIds) {
+            DaySlots slots = enabled ? days.get(new DayKey(facilityId, bookingDate)) : null;
+            if (slots == null || !slots.isLoaded()) {
+                unloaded.add(facilityId);
+            } else if (slots.findOverlap(startTime, endTime, null).isPresent()) {
+                busy.add(facilityId);
+            }
+        }
+        if (!unloaded.isEmpty()) {
+            bookingRepository.findByFacilityIdInAndBookingDateAndStatusIn(unloaded, bookingDate, ACTIVE_STATUSES)
+                    .stream()
+                    .filter(b -> startTime.isBefore(b.getEndTime()) && b.getStartTime().isBefore(endTime))
+                    .forEach(b -> busy.add(b.getFacilityId()));
+        }
+        return busy;
+    }
+
+    // ─── WRITE-THROUGH ───────────────────────────────────────────────────
+
+    /**
+     * Apply a saved booking to the index. Active bookings are inserted (or
+     * moved, if their slot changed); any other status removes the booking.
+     * Days that are not currently loaded are left alone.
+     */
+    public void record(Booking booking) {
+        if (!enabled || booking.getId() == null) {
+            return;
+        }
+        days.computeIfPresent(new DayKey(booking.getFacilityId(), booking.getBookingDate()), (key, slots) -> {
+            if (ACTIVE_STATUSES.contains(booking.getStatus())) {
+                slots.put(Slot.of(booking));
+            } else {
+                slots.remove(booking.getId());
+            }
+            return slots;
+        });
+    }
+
+    /**
+     * Remove a deleted booking from the index.
+     */
+    public void evict(Booking booking) {
+        if (!enabled || booking.getId() == null) {
+            return;
+        }
+        days.computeIfPresent(new DayKey(booking.getFacilityId(), booking.getBookingDate()), (key, slots) -> {
+            slots.remove(booking.getId());
+            return slots;
+        });
+    }
+
+    /**
+     * Drop every loaded day. The next lookup reloads from MongoDB.
+     */
+    public void clear() {
+        days.clear();
+    }
+
+    /**
+     * Drop days that lie in the past — they can no longer be booked.
+     * Runs once a day shortly after midnight.
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        int before = days.size();
+        days.keySet().removeIf(key -> key.date().isBefore(today));
+        logger.debug("Booking interval index: evicted {} past day(s)", before - days.size());
+    }
+
+    // ─── LOADING ─────────────────────────────────────────────────────────
+
+    /**
+     * Return the slots of a facility/day, loading them from MongoDB on a miss.
+     *
+     * <p>
+     * The thread that installs an empty, loading entry runs the query; other
+     * lookups of the day wait for it. The query runs outside the map, so it
+     * never holds a map bin lock during the round-trip. A concurrent
+     * {@link #record(Booking)} is applied to the loading entry straight away,
+     * and the loaded state of a booking written that way is discarded — no
+     * write can slip between the read and the install.
+     * </p>
+     */
+    private DaySlots loadDay(DayKey key) {
+        DaySlots slots = days.get(key);
+        if (slots == null) {
+            if (days.size() >= maxDays) {
+                trim();
+            }
+            DaySlots loading = new DaySlots();
+            slots = days.putIfAbsent(key, loading);
+            if (slots == null) {
+                load(key, loading);
+                return loading;
+            }
+        }
+        return slots.awaitLoaded();
+    }
+
+    private void load(DayKey key, DaySlots slots) {
+        try {
+            slots.complete(bookingRepository.findByFacilityIdAndBookingDateAndStatusIn(
+                    key.facilityId(), key.date(), ACTIVE_STATUSES));
+        } catch (RuntimeException e) {
+            days.remove(key, slots);
+            slots.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Keep the index bounded: drop past days first, then arbitrary entries
+     * until there is room again.
+     */
+    private void trim() {
+        evictPastDays();
+        Iterator<DayKey> it = days.keySet().iterator();
+        while (days.size() >= maxDays && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    /**
+     * Fallback used when the index is disabled — the original linear scan
+     * over the day's bookings.
+     */
+    private Optional<Slot> scanRepository(String facilityId, LocalDate bookingDate,
+            LocalTime startTime, LocalTime endTime, String excludeBookingId) {
+        return bookingRepository.findByFacilityIdAndBookingDateAndStatusIn(facilityId, bookingDate, ACTIVE_STATUSES)
+                .stream()
+                .filter(b -> excludeBookingId == null || !b.getId().equals(excludeBookingId))
+                .filter(b -> startTime.isBefore(b.getEndTime()) && b.getStartTime().isBefore(endTime))
+                .findFirst()
+                .map(Slot::of);
+    }
+
+    // ─── TYPES ───────────────────────────────────────────────────────────
+
+    /**
+     * Facility + date key of one indexed day.
+     */
+    record DayKey(String facilityId, LocalDate date) {
+    }
+
+    /**
+     * Immutable view of an indexed booking slot.
+     */
+    public record Slot(String bookingId, LocalTime startTime, LocalTime endTime, BookingStatus status) {
+
+        static Slot of(Booking booking) {
+            return new Slot(booking.getId(), booking.getStartTime(), booking.getEndTime(), booking.getStatus());
+        }
+
+        int durationSeconds() {
+            return endTime.toSecondOfDay() - startTime.toSecondOfDay();
+        }
+    }
+
+    /**
+     * The slots of one facility/day, ordered by start time. Starts out loading
+     * and becomes usable once {@link #complete} has installed the bookings
+     * read from MongoDB.
+     */
+    static final class DaySlots {
+
+        private static final Comparator<Slot> BY_START = Comparator
+                .comparing(Slot::startTime)
+                .thenComparing(Slot::bookingId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        private final TreeSet<Slot> byStart = new TreeSet<>(BY_START);
+        private final Map<String, Slot> byId = new HashMap<>();
+        private int maxDurationSeconds;
+
+        private final CompletableFuture<DaySlots> loaded = new CompletableFuture<>();
+
+        /** Bookings written while loading, whose loaded state is out of date; null once loaded */
+        private Set<String> writtenWhileLoading = new HashSet<>();
+
+        /**
+         * Install the bookings read from MongoDB, except those written since,
+         * and release the threads waiting for the day.
+         */
+        void complete(List<Booking> bookings) {
+            synchronized (this) {
+                for (Booking booking : bookings) {
+                    if (!writtenWhileLoading.contains(booking.getId())) {
+                        insert(Slot.of(booking));
+                    }
+                }
+                writtenWhileLoading = null;
+            }
+            loaded.complete(this);
+        }
+
+        void fail(RuntimeException e) {
+            loaded.completeExceptionally(e);
+        }
+
+        boolean isLoaded() {
+            return loaded.isDone() && !loaded.isCompletedExceptionally();
+        }
+
+        /**
+         * Wait for the thread loading the day; rethrows its failure.
+         */
+        DaySlots awaitLoaded() {
+            try {
+                return loaded.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        synchronized void put(Slot slot) {
+            markWritten(slot.bookingId());
+            insert(slot);
+        }
+
+        private void insert(Slot slot) {
+            Slot previous = byId.put(slot.bookingId(), slot);
+            if (previous != null) {
+                byStart.remove(previous);
+            }
+            byStart.add(slot);
+            maxDurationSeconds = Math.max(maxDurationSeconds, slot.durationSeconds());
+        }
+
+        synchronized void remove(String bookingId) {
+            markWritten(bookingId);
+            Slot previous = byId.remove(bookingId);
+            if (previous != null) {
+                byStart.remove(previous);
+            }
+        }
+
+        private void markWritten(String bookingId) {
+            if (writtenWhileLoading != null) {
+                writtenWhileLoading.add(bookingId);
+            }
+        }
+
+        synchronized Optional<Slot> findOverlap(LocalTime startTime, LocalTime endTime, String excludeBookingId) {
+            if (byStart.isEmpty()) {
+                return Optional.empty();
+            }
+            // Any slot that overlaps must start after (startTime - longest slot)
+            int lowerSecond = Math.max(0, startTime.toSecondOfDay() - maxDurationSeconds);
+            Slot from = new Slot(null, LocalTime.ofSecondOfDay(lowerSecond), null, null);
+            Slot to = new Slot(null, endTime, null, null);
+
+            for (Slot slot : byStart.subSet(from, true, to, false)) {
+                if (Objects.equals(slot.bookingId(), excludeBookingId)) {
+                    continue;
+                }
+                // [s1, e1) and [s2, e2) overlap if s1 < e2 AND s2 < e1
+                if (startTime.isBefore(slot.endTime()) && slot.startTime().isBefore(endTime)) {
+                    return Optional.of(slot);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+}
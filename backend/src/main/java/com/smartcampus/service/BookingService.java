@@ -2,22 +2,30 @@ package com.smartcampus.service;
 
 import com.smartcampus.dto.BookingDto;
 import com.smartcampus.dto.CreateBookingRequest;
+import com.smartcampus.dto.CursorPage;
 import com.smartcampus.dto.UpdateBookingStatusRequest;
+import com.smartcampus.event.BookingChangedEvent;
 import com.smartcampus.exception.BookingConflictException;
 import com.smartcampus.exception.ResourceNotFoundException;
 import com.smartcampus.model.*;
 import com.smartcampus.repository.BookingRepository;
+import com.smartcampus.repository.CursorQueryRepository;
 import com.smartcampus.repository.FacilityRepository;
+import com.smartcampus.repository.FilterQueryRepository;
+import com.smartcampus.repository.StreamingQueryRepository;
 import com.smartcampus.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service layer for Booking management (Module B).
@@ -36,15 +44,33 @@ public class BookingService {
     private final FacilityRepository facilityRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingSlotLocks bookingSlotLocks;
+    private final CursorQueryRepository cursorQueryRepository;
+    private final FilterQueryRepository filterQueryRepository;
+    private final StreamingQueryRepository streamingQueryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public BookingService(BookingRepository bookingRepository,
             FacilityRepository facilityRepository,
             UserRepository userRepository,
-            NotificationService notificationService) {
+            NotificationService notificationService,
+            BookingIntervalIndex bookingIntervalIndex,
+            BookingSlotLocks bookingSlotLocks,
+            CursorQueryRepository cursorQueryRepository,
+            FilterQueryRepository filterQueryRepository,
+            StreamingQueryRepository streamingQueryRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.bookingRepository = bookingRepository;
         this.facilityRepository = facilityRepository;
         this.userRepository = userRepository;
         this.notificationService = notificationService;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.bookingSlotLocks = bookingSlotLocks;
+        this.cursorQueryRepository = cursorQueryRepository;
+        this.filterQueryRepository = filterQueryRepository;
+        this.streamingQueryRepository = streamingQueryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     // ─── CREATE ──────────────────────────────────────────────────────────
@@ -61,6 +87,12 @@ public class BookingService {
      * <li>No scheduling conflicts with existing PENDING/APPROVED bookings</li>
      * </ul>
      *
+     * <p>
+     * The conflict check and the save run under the facility/day lock from
+     * {@link BookingSlotLocks}, so two concurrent requests for the same slot
+     * cannot both succeed.
+     * </p>
+     *
      * @param request the booking request
      * @param userId  the ID of the authenticated user
      * @return the created booking DTO
@@ -79,15 +111,11 @@ public class BookingService {
             throw new IllegalArgumentException("Start time must be before end time");
         }
 
-        // 3. Check for scheduling conflicts
-        checkForConflicts(request.getFacilityId(), request.getBookingDate(),
-                request.getStartTime(), request.getEndTime(), null);
-
-        // 4. Fetch user information for denormalization
+        // 3. Fetch user information for denormalization
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
-        // 5. Build and save the booking
+        // 4. Build the booking
         Booking booking = new Booking();
         booking.setFacilityId(request.getFacilityId());
         booking.setFacilityName(facility.getName());
@@ -101,7 +129,12 @@ public class BookingService {
         booking.setExpectedAttendees(request.getExpectedAttendees());
         booking.setStatus(BookingStatus.PENDING);
 
-        Booking saved = bookingRepository.save(booking);
+        // 5. Check for scheduling conflicts and save atomically
+        Booking saved = bookingSlotLocks.withLock(request.getFacilityId(), request.getBookingDate(), () -> {
+            checkForConflicts(request.getFacilityId(), request.getBookingDate(),
+                    request.getStartTime(), request.getEndTime(), null);
+            return saveAndIndex(booking);
+        });
         logger.info("Booking created: {} for facility {} on {} by user {}",
                 saved.getId(), facility.getName(), request.getBookingDate(), userId);
 
@@ -136,25 +169,56 @@ public class BookingService {
      * Get all bookings (admin). Supports optional filters by status and facilityId.
      */
     public List<BookingDto> getAllBookings(BookingStatus status, String facilityId) {
-        List<Booking> bookings;
+        List<Booking> bookings = filterQueryRepository.find(Booking.class, bookingFilter(status, facilityId),
+                Sort.by(Sort.Direction.DESC, "createdAt"));
 
-        if (status != null) {
-            bookings = bookingRepository.findByStatusOrderByCreatedAtDesc(status);
-        } else if (facilityId != null && !facilityId.isBlank()) {
-            bookings = bookingRepository.findByFacilityIdOrderByCreatedAtDesc(facilityId);
-        } else {
-            bookings = bookingRepository.findAllByOrderByCreatedAtDesc();
-        }
+        return bookings.stream().map(this::mapToDto).collect(Collectors.toList());
+    }
 
-        // Apply additional in-memory filters for combined criteria
-        if (status != null && facilityId != null && !facilityId.isBlank()) {
-            String filterFacilityId = facilityId;
-            bookings = bookings.stream()
-                    .filter(b -> b.getFacilityId().equals(filterFacilityId))
-                    .collect(Collectors.toList());
-        }
+    /**
+     * Get one page of all bookings (admin), newest first. Both filters are
+     * applied in the MongoDB query.
+     *
+     * @param status     optional status filter
+     * @param facilityId optional facility filter
+     * @param cursor     cursor from the previous page (null = first page)
+     * @param limit      page size (null = default)
+     * @return the page of booking DTOs with the next cursor
+     */
+    public CursorPage<BookingDto> getAllBookingsPage(BookingStatus status, String facilityId,
+            String cursor, Integer limit) {
+        Criteria filter = bookingFilter(status, facilityId);
 
-        return bookings.stream().map(this::mapToDto).collect(Collectors.toList());
+        return cursorQueryRepository.findPage(Booking.class, filter, "createdAt",
+                Booking::getCreatedAt, Booking::getId, cursor, limit)
+                .map(this::mapToDto);
+    }
+
+    private static Criteria bookingFilter(BookingStatus status, String facilityId) {
+        return FilterQueryRepository.filter()
+                .eq("status", status)
+                .eq("facilityId", facilityId)
+                .toCriteria();
+    }
+
+    /**
+     * Stream all bookings whose booking date falls in {@code [from, to]}
+     * (either bound optional), ordered by date and start time, for export.
+     * The stream is backed by a MongoDB cursor and must be closed.
+     */
+    public Stream<BookingDto> streamBookings(java.time.LocalDate from, java.time.LocalDate to) {
+        Criteria filter = null;
+        if (from != null || to != null) {
+            filter = Criteria.where("bookingDate");
+            if (from != null) {
+                filter.gte(from);
+            }
+            if (to != null) {
+                filter.lte(to);
+            }
+        }
+        return streamingQueryRepository.stream(Booking.class, filter, Sort.by("bookingDate", "startTime"))
+                .map(this::mapToDto);
     }
 
     /**
@@ -189,17 +253,18 @@ public class BookingService {
                     "Only PENDING bookings can be approved. Current status: " + booking.getStatus());
         }
 
-        // Re-check for conflicts before approving (another booking might have been
-        // approved since)
-        checkForConflicts(booking.getFacilityId(), booking.getBookingDate(),
-                booking.getStartTime(), booking.getEndTime(), bookingId);
-
         booking.setStatus(BookingStatus.APPROVED);
         booking.setAdminRemarks(request != null ? request.getRemarks() : null);
         booking.setReviewedBy(adminId);
         booking.setReviewedAt(LocalDateTime.now());
 
-        Booking updated = bookingRepository.save(booking);
+        // Re-check for conflicts before approving (another booking might have been
+        // approved since)
+        Booking updated = bookingSlotLocks.withLock(booking.getFacilityId(), booking.getBookingDate(), () -> {
+            checkForConflicts(booking.getFacilityId(), booking.getBookingDate(),
+                    booking.getStartTime(), booking.getEndTime(), bookingId);
+            return saveAndIndex(booking);
+        });
         logger.info("Booking approved: {} by admin {}", bookingId, adminId);
 
         // Trigger notification for the user
@@ -234,7 +299,8 @@ public class BookingService {
         booking.setReviewedBy(adminId);
         booking.setReviewedAt(LocalDateTime.now());
 
-        Booking updated = bookingRepository.save(booking);
+        Booking updated = bookingSlotLocks.withLock(booking.getFacilityId(), booking.getBookingDate(),
+                () -> saveAndIndex(booking));
         logger.info("Booking rejected: {} by admin {} — reason: {}", bookingId, adminId, request.getRemarks());
 
         // Trigger notification for the user
@@ -265,7 +331,8 @@ public class BookingService {
 
         booking.setStatus(BookingStatus.CANCELLED);
 
-        Booking updated = bookingRepository.save(booking);
+        Booking updated = bookingSlotLocks.withLock(booking.getFacilityId(), booking.getBookingDate(),
+                () -> saveAndIndex(booking));
         logger.info("Booking cancelled: {} by user {}", bookingId, userId);
 
         return mapToDto(updated);
@@ -280,7 +347,12 @@ public class BookingService {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId));
 
-        bookingRepository.delete(booking);
+        bookingSlotLocks.withLock(booking.getFacilityId(), booking.getBookingDate(), () -> {
+            bookingRepository.delete(booking);
+            bookingIntervalIndex.evict(booking);
+            publishChange(booking, false);
+            return null;
+        });
         logger.info("Booking deleted: {}", bookingId);
     }
 
@@ -290,6 +362,11 @@ public class BookingService {
      * Check for scheduling conflicts with existing PENDING/APPROVED bookings
      * on the same facility and date.
      *
+     * <p>
+     * Answered from the {@link BookingIntervalIndex}; MongoDB is only read
+     * when the facility/day is not loaded yet.
+     * </p>
+     *
      * @param facilityId       the facility being booked
      * @param bookingDate      the date of the booking
      * @param startTime        desired start time
@@ -301,26 +378,32 @@ public class BookingService {
     private void checkForConflicts(String facilityId, java.time.LocalDate bookingDate,
             LocalTime startTime, LocalTime endTime,
             String excludeBookingId) {
-        List<BookingStatus> activeStatuses = Arrays.asList(BookingStatus.PENDING, BookingStatus.APPROVED);
-        List<Booking> existingBookings = bookingRepository
-                .findByFacilityIdAndBookingDateAndStatusIn(facilityId, bookingDate, activeStatuses);
-
-        for (Booking existing : existingBookings) {
-            // Skip the booking being re-validated (for approval re-check)
-            if (excludeBookingId != null && existing.getId().equals(excludeBookingId)) {
-                continue;
-            }
+        bookingIntervalIndex.findOverlap(facilityId, bookingDate, startTime, endTime, excludeBookingId)
+                .ifPresent(existing -> {
+                    throw new BookingConflictException(
+                            String.format(
+                                    "Scheduling conflict: facility is already booked from %s to %s on %s (Booking ID: %s, Status: %s)",
+                                    existing.startTime(), existing.endTime(), bookingDate,
+                                    existing.bookingId(), existing.status()));
+                });
+    }
 
-            // Check for time overlap: two intervals [s1, e1) and [s2, e2) overlap if s1 <
-            // e2 AND s2 < e1
-            if (startTime.isBefore(existing.getEndTime()) && existing.getStartTime().isBefore(endTime)) {
-                throw new BookingConflictException(
-                        String.format(
-                                "Scheduling conflict: facility is already booked from %s to %s on %s (Booking ID: %s, Status: %s)",
-                                existing.getStartTime(), existing.getEndTime(), bookingDate,
-                                existing.getId(), existing.getStatus()));
-            }
-        }
+    /**
+     * Save a booking, apply it to the interval index and publish a
+     * {@link BookingChangedEvent}. Callers hold the facility/day lock so the
+     * index never sees writes out of order.
+     */
+    private Booking saveAndIndex(Booking booking) {
+        boolean created = booking.getId() == null;
+        Booking saved = bookingRepository.save(booking);
+        bookingIntervalIndex.record(saved);
+        publishChange(saved, created);
+        return saved;
+    }
+
+    private void publishChange(Booking booking, boolean created) {
+        eventPublisher.publishEvent(new BookingChangedEvent(
+                booking.getId(), booking.getFacilityId(), booking.getBookingDate(), booking.getUserId(), created));
     }
 
     // ─── MAPPING ─────────────────────────────────────────────────────────
@@ -0,0 +1,61 @@
+package com.smartcampus.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks that serialise booking writes per facility and date.
+ *
+ * <p>
+ * {@link BookingService} runs its conflict check and save inside
+ * {@link #withLock(String, LocalDate, Supplier)}, which makes
+ * check-then-save atomic for one facility/day while bookings for other
+ * facilities or dates proceed in parallel (unless they happen to hash to the
+ * same stripe).
+ * </p>
+ *
+ * <p>
+ * The locks are local to this JVM — the same single-instance assumption as
+ * {@link BookingIntervalIndex}. With several replicas they only serialise the
+ * bookings of one instance: two instances checking the same facility/day at
+ * the same moment can both save an overlapping booking.
+ * </p>
+ */
+@Component
+public class BookingSlotLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public BookingSlotLocks(@Value("${app.booking.lock-stripes:256}") int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("app.booking.lock-stripes must be positive");
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Run an action while holding the lock for a facility/day.
+     *
+     * @param facilityId  the facility being booked
+     * @param bookingDate the date of the booking
+     * @param action      the critical section (conflict check + save)
+     * @return the action's result
+     */
+    public <T> T withLock(String facilityId, LocalDate bookingDate, Supplier<T> action) {
+        ReentrantLock lock = stripes[Math.floorMod(Objects.hash(facilityId, bookingDate), stripes.length)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
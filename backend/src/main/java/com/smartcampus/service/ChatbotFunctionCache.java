@@ -0,0 +1,169 @@
+package com.smartcampus.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.smartcampus.config.CacheLoads;
+import com.smartcampus.event.BookingChangedEvent;
+import com.smartcampus.event.FacilityChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Short-TTL cache of {@link ChatbotService} function-call results, keyed by
+ * function name plus normalised arguments (object keys sorted, text trimmed).
+ *
+ * <p>
+ * Only the facility and booking functions are cached. {@code getUserBookings}
+ * is also keyed by the calling user. Ticket functions always go to the
+ * database.
+ * </p>
+ *
+ * <p>
+ * A {@link BookingChangedEvent} drops the booking-dependent entries; a
+ * {@link FacilityChangedEvent} drops everything, since facility details feed
+ * every cached function. Concurrent identical calls are coalesced into a
+ * single database query. Hit and miss counts are available from
+ * {@link #stats()}.
+ * </p>
+ */
+@Component
+public class ChatbotFunctionCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatbotFunctionCache.class);
+
+    /** Functions whose results depend on booking data */
+    private static final Set<String> BOOKING_FUNCTIONS = Set.of(
+            "getBookingsForFacility", "checkFacilityAvailability", "getUserBookings");
+
+    /** Functions whose results depend only on facility data */
+    private static final Set<String> FACILITY_FUNCTIONS = Set.of(
+            "searchFacilities", "getFacilityDetails");
+
+    /** Functions whose results differ per calling user */
+    private static final Set<String> USER_SCOPED_FUNCTIONS = Set.of("getUserBookings");
+
+    private final boolean enabled;
+    private final AsyncCache<String, String> cache;
+
+    public ChatbotFunctionCache(
+            @Value("${app.chatbot.function-cache.enabled:true}") boolean enabled,
+            @Value("${app.chatbot.function-cache.ttl:30s}") Duration ttl,
+            @Value("${app.chatbot.function-cache.max-size:1000}") long maxSize) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Return the cached result for a function call, computing it on a miss.
+     * Exceptions from the loader propagate and nothing is cached.
+     *
+     * @param functionName the Gemini function name
+     * @param args         the function arguments
+     * @param userId       the calling user
+     * @param loader       runs the function against the database
+     * @return the function result
+     */
+    public String get(String functionName, JsonNode args, String userId, Supplier<String> loader) {
+        if (!enabled || !isCacheable(functionName)) {
+            return loader.get();
+        }
+        return CacheLoads.get(cache, key(functionName, args, userId), k -> loader.get());
+    }
+
+    /**
+     * Hit/miss/eviction counters since startup.
+     */
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "chatbot-functions");
+    }
+
+    /**
+     * Drop every cached result.
+     */
+    public void clear() {
+        cache.synchronous().invalidateAll();
+    }
+
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        cache.asMap().keySet().removeIf(key -> BOOKING_FUNCTIONS.contains(functionOf(key)));
+    }
+
+    @EventListener
+    public void onFacilityChanged(FacilityChangedEvent event) {
+        cache.synchronous().invalidateAll();
+        CacheStats stats = cache.synchronous().stats();
+        log.debug("Chatbot function cache cleared (hits={}, misses={})", stats.hitCount(), stats.missCount());
+    }
+
+    // ─── Keys ────────────────────────────────────────────────────────────
+
+    private static boolean isCacheable(String functionName) {
+        return BOOKING_FUNCTIONS.contains(functionName) || FACILITY_FUNCTIONS.contains(functionName);
+    }
+
+    private static String key(String functionName, JsonNode args, String userId) {
+        String scope = USER_SCOPED_FUNCTIONS.contains(functionName) ? userId : "";
+        return functionName + '|' + scope + '|' + normalise(args);
+    }
+
+    private static String functionOf(String key) {
+        return key.substring(0, key.indexOf('|'));
+    }
+
+    /**
+     * Canonical text form of the arguments, so that the same question asked
+     * with differently ordered or padded arguments shares an entry.
+     */
+    static String normalise(JsonNode node) {
+        if (node == null || node.isMissingNode() || node.isNull()) {
+            return "";
+        }
+        if (node.isObject()) {
+            Map<String, String> sorted = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!field.getValue().isNull()) {
+                    sorted.put(field.getKey(), normalise(field.getValue()));
+                }
+            }
+            return sorted.toString();
+        }
+        if (node.isArray()) {
+            List<String> items = new ArrayList<>();
+            node.forEach(item -> items.add(normalise(item)));
+            return items.toString();
+        }
+        if (node.isTextual()) {
+            return '"' + node.asText().trim() + '"';
+        }
+        return node.asText();
+    }
+}
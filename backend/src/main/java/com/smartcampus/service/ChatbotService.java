@@ -5,15 +5,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.smartcampus.dto.BookingDto;
+import com.smartcampus.dto.FacilityAvailabilityDto.DayAvailability;
+import com.smartcampus.dto.FacilityAvailabilityDto.TimeSlot;
 import com.smartcampus.dto.FacilityDto;
 import com.smartcampus.dto.TicketDto;
+import com.smartcampus.exception.GeminiUnavailableException;
 import com.smartcampus.model.*;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -22,6 +28,7 @@ import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
@@ -33,14 +40,27 @@ import java.util.stream.Collectors;
  * data through the existing services (FacilityService, BookingService,
  * TicketService).
  * </p>
+ *
+ * <p>
+ * Gemini is called through the shared, non-blocking {@link GeminiClient}, and
+ * {@link #chat(String, String)} returns a {@link Mono}: no servlet thread is
+ * held while waiting on the model. {@link #chatStream(String, String)} uses
+ * Gemini's streaming API and emits the reply text as it is generated.
+ * </p>
+ *
+ * <p>
+ * Both run the same tool loop: when Gemini returns several function calls in
+ * one turn they execute concurrently on a bounded scheduler
+ * ({@code app.chatbot.function-parallelism}) and all results go back in a
+ * single follow-up request. Gemini may then call more functions, up to
+ * {@code app.chatbot.max-tool-steps} rounds, after which it must answer.
+ * </p>
  */
 @Service
 public class ChatbotService {
 
         private static final Logger log = LoggerFactory.getLogger(ChatbotService.class);
 
-        private static final String GEMINI_API_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent";
-
         /**
          * Build the system instruction dynamically so that it includes the current
          * date/time.
@@ -93,23 +113,46 @@ public class ChatbotService {
                                 """.formatted(currentDate, currentDayOfWeek, currentTime, currentDate);
         }
 
-        private final WebClient webClient;
+        private final GeminiClient geminiClient;
+        private final ChatbotFunctionCache functionCache;
         private final ObjectMapper objectMapper;
         private final FacilityService facilityService;
         private final BookingService bookingService;
         private final TicketService ticketService;
+        private final AvailabilityService availabilityService;
+
+        /** Bounded pool that runs the function calls of one turn concurrently */
+        private final Scheduler functionScheduler;
+
+        /** Maximum number of function-calling rounds per user message */
+        private final int maxToolSteps;
 
         @Value("${app.gemini.chatbot-api-key}")
         private String apiKey;
 
         public ChatbotService(FacilityService facilityService,
                         BookingService bookingService,
-                        TicketService ticketService) {
+                        TicketService ticketService,
+                        AvailabilityService availabilityService,
+                        GeminiClient geminiClient,
+                        ChatbotFunctionCache functionCache,
+                        @Value("${app.chatbot.function-parallelism:8}") int functionParallelism,
+                        @Value("${app.chatbot.max-tool-steps:3}") int maxToolSteps) {
                 this.facilityService = facilityService;
                 this.bookingService = bookingService;
                 this.ticketService = ticketService;
-                this.webClient = WebClient.builder().build();
+                this.availabilityService = availabilityService;
+                this.geminiClient = geminiClient;
+                this.functionCache = functionCache;
                 this.objectMapper = new ObjectMapper();
+                this.functionScheduler = Schedulers.newBoundedElastic(
+                                functionParallelism, 10_000, "chatbot-functions");
+                this.maxToolSteps = maxToolSteps;
+        }
+
+        @PreDestroy
+        void shutdown() {
+                functionScheduler.dispose();
         }
 
         /**
@@ -117,70 +160,211 @@ public class ChatbotService {
          *
          * @param userMessage the user's question
          * @param userId      the authenticated user's ID
-         * @return the chatbot's response text
+         * @return the chatbot's response text (never an error signal)
          */
-        public String chat(String userMessage, String userId) {
-                try {
-                        // Build the initial request with function declarations
-                        ObjectNode requestBody = buildGeminiRequest(userMessage);
-                        log.debug("Sending message to Gemini: {}", userMessage);
-
-                        // First call — Gemini may respond directly or request a function call
-                        String responseJson = callGeminiApi(requestBody);
-                        JsonNode response = objectMapper.readTree(responseJson);
-
-                        // Check for API error response (e.g., rate limiting, bad key)
-                        if (response.has("error")) {
-                                String errorMsg = response.path("error").path("message").asText("Unknown error");
-                                int code = response.path("error").path("code").asInt(0);
-                                log.error("Gemini API error (code {}): {}", code, errorMsg);
-                                if (code == 429) {
-                                        return "I'm currently receiving too many requests. Please wait a moment and try again. ⏳";
-                                }
-                                return "I encountered an issue processing your request. Please try again shortly. 🔧";
-                        }
+        public Mono<String> chat(String userMessage, String userId) {
+                log.debug("Sending message to Gemini: {}", userMessage);
+                return Mono.defer(() -> runTurn(newConversation(userMessage), userId, 0))
+                                .onErrorResume(e -> Mono.just(errorReply(e)));
+        }
 
-                        // Check if Gemini wants to call a function
-                        JsonNode candidates = response.path("candidates");
-                        if (candidates.isEmpty()) {
-                                log.warn("No candidates in Gemini response: {}", responseJson);
-                                return "I'm sorry, I couldn't process your request right now. Please try again.";
-                        }
+        /**
+         * One round-trip of the tool loop: call Gemini; if it asks for functions,
+         * run them all, append the results to the conversation and go again,
+         * until Gemini answers in text or the step limit is reached.
+         */
+        private Mono<String> runTurn(ArrayNode contents, String userId, int step) {
+                Mono<String> turn = geminiClient.generateContent(apiKey, buildRequest(contents, step < maxToolSteps))
+                                .flatMap(response -> {
+                                        // Check for API error response (e.g., rate limiting, bad key)
+                                        if (response.has("error")) {
+                                                return Mono.just(apiErrorReply(response));
+                                        }
+
+                                        JsonNode candidates = response.path("candidates");
+                                        if (candidates.isEmpty()) {
+                                                log.warn("No candidates in Gemini response: {}", response);
+                                                return Mono.just(noReply(step));
+                                        }
+
+                                        JsonNode parts = candidates.get(0).path("content").path("parts");
+                                        List<JsonNode> functionCalls = new ArrayList<>();
+                                        StringBuilder text = new StringBuilder();
+                                        for (JsonNode part : parts) {
+                                                if (part.has("functionCall")) {
+                                                        functionCalls.add(part);
+                                                } else if (part.hasNonNull("text")) {
+                                                        text.append(part.get("text").asText());
+                                                }
+                                        }
+
+                                        // If there are function calls, execute them and send the results back
+                                        if (!functionCalls.isEmpty()) {
+                                                return executeFunctions(functionCalls, userId)
+                                                                .flatMap(results -> {
+                                                                        appendToolTurn(contents, functionCalls, results);
+                                                                        return runTurn(contents, userId, step + 1);
+                                                                });
+                                        }
+
+                                        // Otherwise, return the text response directly
+                                        return Mono.just(text.length() > 0 ? text.toString() : noReply(step));
+                                });
+                if (step == 0) {
+                        return turn;
+                }
+                return turn.onErrorResume(e -> {
+                        log.error("Error processing function call response: {}", e.getMessage(), e);
+                        return Mono.just("I found some data but encountered an error while processing it. Please try again.");
+                });
+        }
 
-                        JsonNode parts = candidates.get(0).path("content").path("parts");
-                        if (parts.isEmpty()) {
-                                return "I'm sorry, I couldn't process your request right now. Please try again.";
-                        }
+        /**
+         * Stream a reply to a user message. Text is emitted as Gemini generates
+         * it; if Gemini asks for functions, they run and the follow-up answer is
+         * streamed the same way, up to the step limit.
+         *
+         * @param userMessage the user's question
+         * @param userId      the authenticated user's ID
+         * @return reply text fragments, in order (never an error signal)
+         */
+        public Flux<String> chatStream(String userMessage, String userId) {
+                return Flux.defer(() -> streamTurn(newConversation(userMessage), userId, 0))
+                                .onErrorResume(e -> Flux.just(errorReply(e)));
+        }
+
+        private Flux<String> streamTurn(ArrayNode contents, String userId, int step) {
+                List<JsonNode> functionCalls = new ArrayList<>();
+
+                Flux<String> text = geminiClient.streamGenerateContent(apiKey, buildRequest(contents, step < maxToolSteps))
+                                .concatMap(chunk -> chunkText(chunk, functionCalls));
+
+                // Runs after this turn's stream completes, only if it asked for functions
+                Flux<String> next = Flux.defer(() -> functionCalls.isEmpty()
+                                ? Flux.empty()
+                                : executeFunctions(functionCalls, userId).flatMapMany(results -> {
+                                        appendToolTurn(contents, functionCalls, results);
+                                        return streamTurn(contents, userId, step + 1);
+                                }));
 
-                        JsonNode firstPart = parts.get(0);
+                return text.concatWith(next).switchIfEmpty(Flux.defer(() -> Flux.just(noReply(step))));
+        }
 
-                        // If there's a function call, execute it and send result back
-                        if (firstPart.has("functionCall")) {
-                                return handleFunctionCall(firstPart.get("functionCall"), userMessage, userId,
-                                                requestBody);
+        /**
+         * Extract the text parts of one streamed chunk. Function call parts are
+         * collected into {@code functionCalls} instead of emitted.
+         */
+        private Flux<String> chunkText(JsonNode chunk, List<JsonNode> functionCalls) {
+                if (chunk.has("error")) {
+                        return Flux.just(apiErrorReply(chunk));
+                }
+                List<String> texts = new ArrayList<>();
+                for (JsonNode part : chunk.path("candidates").path(0).path("content").path("parts")) {
+                        if (part.has("functionCall")) {
+                                functionCalls.add(part);
+                        } else if (part.hasNonNull("text") && !part.get("text").asText().isEmpty()) {
+                                texts.add(part.get("text").asText());
                         }
+                }
+                return Flux.fromIterable(texts);
+        }
 
-                        // Otherwise, return the text response directly
-                        return firstPart.path("text").asText(
-                                        "I'm sorry, I couldn't understand that. Try asking about facilities, bookings, or tickets!");
+        /**
+         * Run every function call of a turn concurrently on the function
+         * scheduler (they block on MongoDB), keeping results in call order.
+         */
+        private Mono<List<String>> executeFunctions(List<JsonNode> functionCallParts, String userId) {
+                return Flux.fromIterable(functionCallParts)
+                                .map(part -> part.get("functionCall"))
+                                .flatMapSequential(call -> {
+                                        String functionName = call.path("name").asText();
+                                        log.info("Gemini requested function call: {} with args: {}", functionName,
+                                                        call.path("args"));
+                                        return Mono.fromCallable(() -> executeFunction(functionName, call.path("args"), userId))
+                                                        .subscribeOn(functionScheduler);
+                                })
+                                .collectList();
+        }
+
+        /**
+         * Fallback when a turn produced no text.
+         */
+        private String noReply(int step) {
+                return step == 0
+                                ? "I'm sorry, I couldn't process your request right now. Please try again."
+                                : "I found some data but couldn't format a response. Please try rephrasing your question.";
+        }
 
-                } catch (WebClientResponseException e) {
-                        log.error("Gemini API HTTP error {}: {}", e.getStatusCode(), e.getResponseBodyAsString());
-                        if (e.getStatusCode().value() == 429) {
+        /**
+         * Map a Gemini {@code error} response to a friendly reply.
+         */
+        private String apiErrorReply(JsonNode response) {
+                String errorMsg = response.path("error").path("message").asText("Unknown error");
+                int code = response.path("error").path("code").asInt(0);
+                log.error("Gemini API error (code {}): {}", code, errorMsg);
+                if (code == 429) {
+                        return "I'm currently receiving too many requests. Please wait a moment and try again. ⏳";
+                }
+                return "I encountered an issue processing your request. Please try again shortly. 🔧";
+        }
+
+        /**
+         * Map a failed Gemini call to a friendly reply.
+         */
+        private String errorReply(Throwable e) {
+                if (e instanceof GeminiUnavailableException unavailable) {
+                        log.warn("Gemini call rejected: {}", unavailable.getMessage());
+                        if (unavailable.getReason() == GeminiUnavailableException.Reason.BUSY) {
                                 return "I'm currently receiving too many requests. Please wait a few seconds and try again. ⏳";
                         }
                         return "I'm experiencing technical difficulties right now. Please try again in a moment. 🔧";
-                } catch (Exception e) {
-                        log.error("Error communicating with Gemini API: {}", e.getMessage(), e);
-                        return "I'm experiencing technical difficulties right now. Please try again in a moment. 🔧";
+                }
+                if (e instanceof TimeoutException) {
+                        log.error("Gemini API call timed out");
+                        return "I'm taking longer than usual to respond. Please try again in a moment. ⏳";
+                }
+                log.error("Error communicating with Gemini API: {}", e.getMessage(), e);
+                return "I'm experiencing technical difficulties right now. Please try again in a moment. 🔧";
+        }
+
+        /**
+         * Start a conversation with the user's message.
+         */
+        private ArrayNode newConversation(String userMessage) {
+                ArrayNode contents = objectMapper.createArrayNode();
+                ObjectNode userContent = contents.addObject();
+                userContent.put("role", "user");
+                userContent.putArray("parts").addObject().put("text", userMessage);
+                return contents;
+        }
+
+        /**
+         * Append the model's function calls and their results to the
+         * conversation, as one model turn and one function-response turn.
+         */
+        private void appendToolTurn(ArrayNode contents, List<JsonNode> functionCallParts, List<String> results) {
+                ObjectNode modelContent = contents.addObject();
+                modelContent.put("role", "model");
+                ArrayNode modelParts = modelContent.putArray("parts");
+                functionCallParts.forEach(modelParts::add);
+
+                ObjectNode functionResponseContent = contents.addObject();
+                functionResponseContent.put("role", "user");
+                ArrayNode functionResponseParts = functionResponseContent.putArray("parts");
+                for (int i = 0; i < functionCallParts.size(); i++) {
+                        ObjectNode functionResponse = functionResponseParts.addObject().putObject("functionResponse");
+                        functionResponse.put("name", functionCallParts.get(i).path("functionCall").path("name").asText());
+                        functionResponse.putObject("response").put("result", results.get(i));
                 }
         }
 
         /**
-         * Build the full Gemini API request body including system instruction,
-         * user message, and function declarations.
+         * Build the full Gemini API request body: system instruction, the
+         * conversation so far, and the function declarations. Once the step
+         * limit is reached, function calling is switched off so Gemini has to
+         * answer with what it has.
          */
-        private ObjectNode buildGeminiRequest(String userMessage) {
+        private ObjectNode buildRequest(ArrayNode contents, boolean allowFunctionCalls) {
                 ObjectNode root = objectMapper.createObjectNode();
 
                 // System instruction
@@ -192,17 +376,8 @@ public class ChatbotService {
                 systemInstruction.set("parts", systemParts);
                 root.set("system_instruction", systemInstruction);
 
-                // User message
-                ArrayNode contents = objectMapper.createArrayNode();
-                ObjectNode userContent = objectMapper.createObjectNode();
-                userContent.put("role", "user");
-                ArrayNode userParts = objectMapper.createArrayNode();
-                ObjectNode textPart = objectMapper.createObjectNode();
-                textPart.put("text", userMessage);
-                userParts.add(textPart);
-                userContent.set("parts", userParts);
-                contents.add(userContent);
-                root.set("contents", contents);
+                // Conversation so far
+                root.set("contents", contents.deepCopy());
 
                 // Tool / function declarations
                 ArrayNode tools = objectMapper.createArrayNode();
@@ -211,6 +386,10 @@ public class ChatbotService {
                 tools.add(tool);
                 root.set("tools", tools);
 
+                if (!allowFunctionCalls) {
+                        root.putObject("tool_config").putObject("function_calling_config").put("mode", "NONE");
+                }
+
                 return root;
         }
 
@@ -394,62 +573,33 @@ public class ChatbotService {
         }
 
         /**
-         * Execute a function call requested by Gemini, then send the result
-         * back to get a final natural language response.
-         */
-        private String handleFunctionCall(JsonNode functionCall, String originalMessage,
-                        String userId, ObjectNode originalRequest) {
-                String functionName = functionCall.path("name").asText();
-                JsonNode args = functionCall.path("args");
-
-                log.info("Gemini requested function call: {} with args: {}", functionName, args);
-
-                // Execute the function and get the data
-                String functionResult = executeFunction(functionName, args, userId);
-
-                // Build a follow-up request with the function response
-                try {
-                        ObjectNode followUp = buildFollowUpRequest(originalMessage, functionCall, functionResult);
-                        String responseJson = callGeminiApi(followUp);
-                        JsonNode response = objectMapper.readTree(responseJson);
-
-                        JsonNode candidates = response.path("candidates");
-                        if (!candidates.isEmpty()) {
-                                JsonNode parts = candidates.get(0).path("content").path("parts");
-                                if (!parts.isEmpty() && parts.get(0).has("text")) {
-                                        return parts.get(0).path("text").asText();
-                                }
-                        }
-
-                        return "I found some data but couldn't format a response. Please try rephrasing your question.";
-
-                } catch (Exception e) {
-                        log.error("Error processing function call response: {}", e.getMessage(), e);
-                        return "I found some data but encountered an error while processing it. Please try again.";
-                }
-        }
-
-        /**
-         * Execute the actual function (query the database via existing services).
+         * Execute the actual function (query the database via existing services),
+         * served from {@link ChatbotFunctionCache} when the same call was made
+         * recently.
          */
         private String executeFunction(String functionName, JsonNode args, String userId) {
                 try {
-                        return switch (functionName) {
-                                case "searchFacilities" -> executeSearchFacilities(args);
-                                case "getFacilityDetails" -> executeGetFacilityDetails(args);
-                                case "getBookingsForFacility" -> executeGetBookingsForFacility(args);
-                                case "checkFacilityAvailability" -> executeCheckFacilityAvailability(args);
-                                case "getUserBookings" -> executeGetUserBookings(args, userId);
-                                case "searchTickets" -> executeSearchTickets(args);
-                                case "getUserTickets" -> executeGetUserTickets(userId);
-                                default -> "Unknown function: " + functionName;
-                        };
+                        return functionCache.get(functionName, args, userId,
+                                        () -> invokeFunction(functionName, args, userId));
                 } catch (Exception e) {
                         log.error("Error executing function {}: {}", functionName, e.getMessage(), e);
                         return "Error retrieving data: " + e.getMessage();
                 }
         }
 
+        private String invokeFunction(String functionName, JsonNode args, String userId) {
+                return switch (functionName) {
+                        case "searchFacilities" -> executeSearchFacilities(args);
+                        case "getFacilityDetails" -> executeGetFacilityDetails(args);
+                        case "getBookingsForFacility" -> executeGetBookingsForFacility(args);
+                        case "checkFacilityAvailability" -> executeCheckFacilityAvailability(args);
+                        case "getUserBookings" -> executeGetUserBookings(args, userId);
+                        case "searchTickets" -> executeSearchTickets(args);
+                        case "getUserTickets" -> executeGetUserTickets(userId);
+                        default -> "Unknown function: " + functionName;
+                };
+        }
+
         private String executeSearchFacilities(JsonNode args) {
                 FacilityType type = args.has("type") ? FacilityType.valueOf(args.get("type").asText()) : null;
                 String search = args.has("search") ? args.get("search").asText() : null;
@@ -591,14 +741,21 @@ public class ChatbotService {
                 List<BookingDto> bookings = bookingService.getBookingsForFacilityOnDate(
                                 facilityId, date, activeStatuses);
 
+                DayAvailability day = availabilityService.getDayAvailability(
+                                facility.getAvailabilityWindows(), facility.getStatus(), date,
+                                bookings.stream()
+                                                .map(b -> new TimeSlot(b.getStartTime(), b.getEndTime()))
+                                                .collect(Collectors.toList()));
+
                 StringBuilder sb = new StringBuilder();
                 sb.append("Availability for '").append(facility.getName())
                                 .append("' on ").append(date).append(":\n");
-                sb.append("Facility Status: ").append(facility.getStatus()).append("\n\n");
+                sb.append("Facility Status: ").append(facility.getStatus()).append("\n");
+                sb.append("Opening Hours: ").append(day.getOpen().isEmpty()
+                                ? "closed on " + date.getDayOfWeek()
+                                : formatSlots(day.getOpen())).append("\n\n");
 
-                if (bookings.isEmpty()) {
-                        sb.append("✅ This facility is FULLY AVAILABLE for the entire day — no bookings found.\n");
-                } else {
+                if (!bookings.isEmpty()) {
                         sb.append("BOOKED TIME SLOTS (cannot be booked):\n");
                         bookings.stream()
                                         .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
@@ -609,42 +766,31 @@ public class ChatbotService {
                                                                         ? b.getPurpose()
                                                                         : "N/A")
                                                         .append("\n"));
+                        sb.append("\n");
+                }
 
-                        // Compute free slots between 8:00 AM and 8:00 PM
-                        LocalTime dayStart = LocalTime.of(8, 0);
-                        LocalTime dayEnd = LocalTime.of(20, 0);
-
-                        List<LocalTime[]> bookedSlots = bookings.stream()
-                                        .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
-                                        .map(b -> new LocalTime[] { b.getStartTime(), b.getEndTime() })
-                                        .collect(Collectors.toList());
-
-                        List<String> freeSlots = new ArrayList<>();
-                        LocalTime cursor = dayStart;
-
-                        for (LocalTime[] slot : bookedSlots) {
-                                if (cursor.isBefore(slot[0])) {
-                                        freeSlots.add(cursor + " - " + slot[0]);
-                                }
-                                if (slot[1].isAfter(cursor)) {
-                                        cursor = slot[1];
-                                }
-                        }
-                        if (cursor.isBefore(dayEnd)) {
-                                freeSlots.add(cursor + " - " + dayEnd);
-                        }
-
-                        if (!freeSlots.isEmpty()) {
-                                sb.append("\nAVAILABLE TIME SLOTS (can be booked):\n");
-                                freeSlots.forEach(s -> sb.append("  ✅ ").append(s).append("\n"));
-                        } else {
-                                sb.append("\n⚠️ No free time slots available on this date (8:00 AM - 8:00 PM fully booked).\n");
-                        }
+                if (facility.getStatus() != FacilityStatus.ACTIVE) {
+                        sb.append("⚠️ This facility is ").append(facility.getStatus())
+                                        .append(" and cannot be booked.\n");
+                } else if (day.getFree().isEmpty()) {
+                        sb.append("⚠️ No free time slots available on this date.\n");
+                } else if (bookings.isEmpty()) {
+                        sb.append("✅ This facility is FULLY AVAILABLE during its opening hours — no bookings found.\n");
+                } else {
+                        sb.append("AVAILABLE TIME SLOTS (can be booked):\n");
+                        day.getFree().forEach(slot -> sb.append("  ✅ ").append(slot.getStart())
+                                        .append(" - ").append(slot.getEnd()).append("\n"));
                 }
 
                 return sb.toString();
         }
 
+        private static String formatSlots(List<TimeSlot> slots) {
+                return slots.stream()
+                                .map(slot -> slot.getStart() + " - " + slot.getEnd())
+                                .collect(Collectors.joining(", "));
+        }
+
         private String executeGetUserBookings(JsonNode args, String userId) {
                 BookingStatus status = args.has("status") ? BookingStatus.valueOf(args.get("status").asText()) : null;
 
@@ -718,108 +864,4 @@ public class ChatbotService {
                                                                 : "N/A"))
                                 .collect(Collectors.joining("\n"));
         }
-
-        /**
-         * Build a follow-up request that includes the original conversation,
-         * the function call, and the function response.
-         */
-        private ObjectNode buildFollowUpRequest(String originalMessage,
-                        JsonNode functionCall,
-                        String functionResult) {
-                ObjectNode root = objectMapper.createObjectNode();
-
-                // System instruction (same as before)
-                ObjectNode systemInstruction = objectMapper.createObjectNode();
-                ObjectNode systemPart = objectMapper.createObjectNode();
-                systemPart.put("text", buildSystemInstruction());
-                ArrayNode systemParts = objectMapper.createArrayNode();
-                systemParts.add(systemPart);
-                systemInstruction.set("parts", systemParts);
-                root.set("system_instruction", systemInstruction);
-
-                // Multi-turn contents
-                ArrayNode contents = objectMapper.createArrayNode();
-
-                // 1) User message
-                ObjectNode userContent = objectMapper.createObjectNode();
-                userContent.put("role", "user");
-                ArrayNode userParts = objectMapper.createArrayNode();
-                ObjectNode textPart = objectMapper.createObjectNode();
-                textPart.put("text", originalMessage);
-                userParts.add(textPart);
-                userContent.set("parts", userParts);
-                contents.add(userContent);
-
-                // 2) Model's function call
-                ObjectNode modelContent = objectMapper.createObjectNode();
-                modelContent.put("role", "model");
-                ArrayNode modelParts = objectMapper.createArrayNode();
-                ObjectNode fcPart = objectMapper.createObjectNode();
-                fcPart.set("functionCall", functionCall);
-                modelParts.add(fcPart);
-                modelContent.set("parts", modelParts);
-                contents.add(modelContent);
-
-                // 3) Function response
-                ObjectNode functionResponseContent = objectMapper.createObjectNode();
-                functionResponseContent.put("role", "user");
-                ArrayNode functionResponseParts = objectMapper.createArrayNode();
-                ObjectNode frPart = objectMapper.createObjectNode();
-
-                ObjectNode functionResponse = objectMapper.createObjectNode();
-                functionResponse.put("name", functionCall.path("name").asText());
-
-                ObjectNode responseData = objectMapper.createObjectNode();
-                responseData.put("result", functionResult);
-                functionResponse.set("response", responseData);
-
-                frPart.set("functionResponse", functionResponse);
-                functionResponseParts.add(frPart);
-                functionResponseContent.set("parts", functionResponseParts);
-                contents.add(functionResponseContent);
-
-                root.set("contents", contents);
-
-                return root;
-        }
-
-        /**
-         * Make the actual HTTP call to the Gemini REST API.
-         * Uses onStatus to avoid throwing on 4xx/5xx so we can parse error JSON.
-         * Retries up to 3 times with exponential backoff on 429 (rate limit) errors.
-         */
-        private String callGeminiApi(ObjectNode requestBody) {
-                int maxRetries = 3;
-                int retryDelayMs = 2000;
-
-                for (int attempt = 1; attempt <= maxRetries; attempt++) {
-                        String responseBody = webClient.post()
-                                        .uri(GEMINI_API_URL + "?key=" + apiKey)
-                                        .header("Content-Type", "application/json")
-                                        .bodyValue(requestBody.toString())
-                                        .exchangeToMono(response -> response.bodyToMono(String.class))
-                                        .block();
-
-                        // Check if it's a rate limit error and we can retry
-                        try {
-                                JsonNode parsed = objectMapper.readTree(responseBody);
-                                if (parsed.has("error") && parsed.path("error").path("code").asInt() == 429
-                                                && attempt < maxRetries) {
-                                        log.warn("Gemini API rate limited (attempt {}/{}). Retrying in {}ms...",
-                                                        attempt, maxRetries, retryDelayMs);
-                                        Thread.sleep(retryDelayMs);
-                                        retryDelayMs *= 2; // exponential backoff
-                                        continue;
-                                }
-                        } catch (InterruptedException ie) {
-                                Thread.currentThread().interrupt();
-                        } catch (Exception e) {
-                                // Not JSON or parse error — just return raw body
-                        }
-
-                        return responseBody;
-                }
-
-                return "{\"error\":{\"code\":429,\"message\":\"Rate limit exceeded after retries\"}}";
-        }
 }
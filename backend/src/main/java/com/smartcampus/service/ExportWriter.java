@@ -0,0 +1,175 @@
+package com.smartcampus.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.smartcampus.dto.ExportFormat;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of DTOs to an output stream as NDJSON or CSV, one row at a
+ * time, so exports never hold more than the current row in memory.
+ *
+ * <p>
+ * Uses the application's {@link ObjectMapper}, so dates and enums are
+ * rendered exactly as in the regular JSON API. CSV columns are the DTO's
+ * properties in declaration order; list values are joined with {@code ;}.
+ * Text cells that would start a spreadsheet formula are prefixed with
+ * {@code '}.
+ * </p>
+ */
+@Component
+public class ExportWriter {
+
+    /** Leading characters that make a spreadsheet treat a cell as a formula */
+    private static final String FORMULA_STARTS = "=+-@\t\r";
+
+    private final ObjectMapper objectMapper;
+
+    /** Row writer that leaves the shared response writer open between rows */
+    private final ObjectWriter rowWriter;
+
+    public ExportWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Write every row of the stream in the requested format.
+     *
+     * @param rows   the rows to write (consumed, not closed)
+     * @param format NDJSON or CSV
+     * @param out    the response body
+     * @return the number of rows written
+     */
+    public long write(Stream<?> rows, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long count;
+        try {
+            count = format == ExportFormat.CSV ? writeCsv(rows, writer) : writeNdjson(rows, writer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Content type header value for a format.
+     */
+    public String contentType(ExportFormat format) {
+        return format == ExportFormat.CSV ? "text/csv; charset=UTF-8" : "application/x-ndjson";
+    }
+
+    /**
+     * File extension for a format.
+     */
+    public String fileExtension(ExportFormat format) {
+        return format == ExportFormat.CSV ? "csv" : "ndjson";
+    }
+
+    // ─── NDJSON ──────────────────────────────────────────────────────────
+
+    private long writeNdjson(Stream<?> rows, Writer writer) {
+        long[] count = { 0 };
+        rows.forEach(row -> {
+            try {
+                rowWriter.writeValue(writer, row);
+                writer.write('\n');
+                count[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return count[0];
+    }
+
+    // ─── CSV ─────────────────────────────────────────────────────────────
+
+    private long writeCsv(Stream<?> rows, Writer writer) {
+        List<String> header = new ArrayList<>();
+        long[] count = { 0 };
+        rows.forEach(row -> {
+            try {
+                JsonNode node = objectMapper.valueToTree(row);
+                if (header.isEmpty()) {
+                    node.fieldNames().forEachRemaining(header::add);
+                    writeCsvLine(writer, header);
+                }
+                List<String> values = new ArrayList<>(header.size());
+                for (String column : header) {
+                    values.add(cellValue(node.get(column)));
+                }
+                writeCsvLine(writer, values);
+                count[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return count[0];
+    }
+
+    private String cellValue(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return "";
+        }
+        if (value.isNumber()) {
+            return value.asText();
+        }
+        if (value.isArray()) {
+            StringJoiner joiner = new StringJoiner(";");
+            Iterator<JsonNode> it = value.elements();
+            while (it.hasNext()) {
+                joiner.add(it.next().asText());
+            }
+            return neutraliseFormula(joiner.toString());
+        }
+        return neutraliseFormula(value.isContainerNode() ? value.toString() : value.asText());
+    }
+
+    /**
+     * Prefix a cell that a spreadsheet would read as a formula with {@code '},
+     * so user-entered text cannot run as one.
+     */
+    private static String neutraliseFormula(String cell) {
+        if (!cell.isEmpty() && FORMULA_STARTS.indexOf(cell.charAt(0)) >= 0) {
+            return "'" + cell;
+        }
+        return cell;
+    }
+
+    private void writeCsvLine(Writer writer, List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Quote a CSV cell when it contains a separator, quote or line break.
+     */
+    private static String escapeCsv(String cell) {
+        if (cell.indexOf(',') >= 0 || cell.indexOf('"') >= 0
+                || cell.indexOf('\n') >= 0 || cell.indexOf('\r') >= 0) {
+            return '"' + cell.replace("\"", "\"\"") + '"';
+        }
+        return cell;
+    }
+}
@@ -0,0 +1,185 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.FacilityDto;
+import com.smartcampus.event.FacilityChangedEvent;
+import com.smartcampus.model.FacilityStatus;
+import com.smartcampus.model.FacilityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory index of ACTIVE facilities for room search, sorted by capacity
+ * and grouped by type.
+ *
+ * <p>
+ * Built lazily from {@link FacilityService} on the first search and
+ * invalidated by every {@link FacilityChangedEvent}, so the next search
+ * rebuilds it. Facilities are few and change rarely, so rebuilding the whole
+ * snapshot is cheaper than maintaining it incrementally.
+ * </p>
+ *
+ * <p>
+ * Each snapshot carries the generation it was read at, and an event bumps the
+ * generation, so a rebuild that read MongoDB before a facility change is never
+ * served after it. Changes made by another instance or directly in the
+ * database are picked up by a periodic resync
+ * ({@code app.availability.facility-index-resync-interval}).
+ * </p>
+ */
+@Component
+public class FacilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(FacilityIndex.class);
+
+    private static final Comparator<FacilityDto> BY_CAPACITY = Comparator
+            .comparingInt(FacilityIndex::capacityOf)
+            .thenComparing(FacilityDto::getName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final FacilityService facilityService;
+
+    /** Bumped by every facility change */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** Newest snapshot built; null until the first search */
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public FacilityIndex(FacilityService facilityService) {
+        this.facilityService = facilityService;
+    }
+
+    /**
+     * ACTIVE facilities matching the filters, smallest capacity first.
+     *
+     * @param type        facility type (null = any)
+     * @param minCapacity minimum capacity (null = any)
+     * @param location    partial, case-insensitive location match (null = any)
+     * @return matching facilities
+     */
+    public List<FacilityDto> find(FacilityType type, Integer minCapacity, String location) {
+        Snapshot current = snapshot();
+        List<FacilityDto> sorted = type != null ? current.byType().getOrDefault(type, List.of()) : current.all();
+        String locationFilter = location != null && !location.isBlank()
+                ? location.trim().toLowerCase(Locale.ROOT)
+                : null;
+
+        List<FacilityDto> matches = new ArrayList<>();
+        for (int i = firstWithCapacity(sorted, minCapacity != null ? minCapacity : 0); i < sorted.size(); i++) {
+            FacilityDto facility = sorted.get(i);
+            if (locationFilter == null || (facility.getLocation() != null
+                    && facility.getLocation().toLowerCase(Locale.ROOT).contains(locationFilter))) {
+                matches.add(facility);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * ACTIVE facilities by ID, smallest capacity first.
+     */
+    public Map<String, FacilityDto> activeById() {
+        return snapshot().byId();
+    }
+
+    /**
+     * Runs before other listeners, so caches that rebuild from this index
+     * never read the snapshot from before the change.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onFacilityChanged(FacilityChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Rebuild the index on a fixed schedule, once it has been used.
+     */
+    @Scheduled(fixedDelayString = "${app.availability.facility-index-resync-interval:60s}",
+            initialDelayString = "${app.availability.facility-index-resync-interval:60s}")
+    public void resync() {
+        if (snapshot.get() == null) {
+            return;
+        }
+        try {
+            build();
+        } catch (Exception e) {
+            // Keep serving the last snapshot until the database is back
+            logger.warn("Could not resync facility index: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot.get();
+        if (current == null || current.generation() != generation.get()) {
+            current = build();
+        }
+        return current;
+    }
+
+    private Snapshot build() {
+        // Read the generation first: a change during the read makes this snapshot stale
+        long readAt = generation.get();
+        List<FacilityDto> all = new ArrayList<>(
+                facilityService.getAllFacilities(null, FacilityStatus.ACTIVE, null, null, null));
+        all.sort(BY_CAPACITY);
+        Map<FacilityType, List<FacilityDto>> byType = new EnumMap<>(FacilityType.class);
+        for (FacilityDto facility : all) {
+            if (facility.getType() != null) {
+                byType.computeIfAbsent(facility.getType(), t -> new ArrayList<>()).add(facility);
+            }
+        }
+        byType.replaceAll((t, list) -> List.copyOf(list));
+        Map<String, FacilityDto> byId = new LinkedHashMap<>();
+        for (FacilityDto facility : all) {
+            byId.putIfAbsent(facility.getId(), facility);
+        }
+        Snapshot built = new Snapshot(readAt, List.copyOf(all), byType, Collections.unmodifiableMap(byId));
+        // Never replace a snapshot read at a later generation
+        snapshot.accumulateAndGet(built,
+                (current, candidate) -> current != null && current.generation() > candidate.generation()
+                        ? current
+                        : candidate);
+        logger.debug("Facility index built with {} active facilities", all.size());
+        return built;
+    }
+
+    /**
+     * Index of the first facility with at least {@code minCapacity} seats.
+     */
+    private static int firstWithCapacity(List<FacilityDto> sorted, int minCapacity) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (capacityOf(sorted.get(mid)) < minCapacity) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int capacityOf(FacilityDto facility) {
+        return facility.getCapacity() != null ? facility.getCapacity() : 0;
+    }
+
+    private record Snapshot(long generation, List<FacilityDto> all, Map<FacilityType, List<FacilityDto>> byType,
+            Map<String, FacilityDto> byId) {
+    }
+}
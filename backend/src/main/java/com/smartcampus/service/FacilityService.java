@@ -3,13 +3,18 @@ package com.smartcampus.service;
 import com.smartcampus.dto.CreateFacilityRequest;
 import com.smartcampus.dto.FacilityDto;
 import com.smartcampus.dto.UpdateFacilityRequest;
+import com.smartcampus.event.FacilityChangedEvent;
 import com.smartcampus.exception.ResourceNotFoundException;
 import com.smartcampus.model.Facility;
 import com.smartcampus.model.FacilityStatus;
 import com.smartcampus.model.FacilityType;
 import com.smartcampus.repository.FacilityRepository;
+import com.smartcampus.repository.FilterQueryRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -28,15 +33,21 @@ public class FacilityService {
     private static final Logger logger = LoggerFactory.getLogger(FacilityService.class);
 
     private final FacilityRepository facilityRepository;
+    private final FilterQueryRepository filterQueryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public FacilityService(FacilityRepository facilityRepository) {
+    public FacilityService(FacilityRepository facilityRepository, FilterQueryRepository filterQueryRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.facilityRepository = facilityRepository;
+        this.filterQueryRepository = filterQueryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     // ─── READ ────────────────────────────────────────────────────────────
 
     /**
-     * Get all facilities with optional filters.
+     * Get all facilities with optional filters. Every supplied filter is
+     * applied in the MongoDB query.
      *
      * @param type        filter by facility type (null = all)
      * @param status      filter by status (null = all)
@@ -47,51 +58,14 @@ public class FacilityService {
      */
     public List<FacilityDto> getAllFacilities(FacilityType type, FacilityStatus status,
             String location, Integer minCapacity, String search) {
-        List<Facility> facilities;
-
-        // Apply the most specific filter combination available
-        if (search != null && !search.isBlank()) {
-            facilities = facilityRepository.findByNameContainingIgnoreCase(search.trim());
-        } else if (type != null && status != null) {
-            facilities = facilityRepository.findByTypeAndStatus(type, status);
-        } else if (type != null) {
-            facilities = facilityRepository.findByType(type);
-        } else if (status != null) {
-            facilities = facilityRepository.findByStatus(status);
-        } else if (location != null && !location.isBlank()) {
-            facilities = facilityRepository.findByLocationContainingIgnoreCase(location.trim());
-        } else if (minCapacity != null) {
-            facilities = facilityRepository.findByCapacityGreaterThanEqual(minCapacity);
-        } else {
-            facilities = facilityRepository.findAll();
-        }
-
-        // Apply additional in-memory filters for combined criteria
-        if (type != null && search != null && !search.isBlank()) {
-            FacilityType filterType = type;
-            facilities = facilities.stream()
-                    .filter(f -> f.getType() == filterType)
-                    .collect(Collectors.toList());
-        }
-        if (status != null && (search != null || location != null)) {
-            FacilityStatus filterStatus = status;
-            facilities = facilities.stream()
-                    .filter(f -> f.getStatus() == filterStatus)
-                    .collect(Collectors.toList());
-        }
-        if (minCapacity != null && (search != null || type != null || location != null)) {
-            Integer filterCap = minCapacity;
-            facilities = facilities.stream()
-                    .filter(f -> f.getCapacity() != null && f.getCapacity() >= filterCap)
-                    .collect(Collectors.toList());
-        }
-        if (location != null && !location.isBlank() && search != null) {
-            String filterLoc = location.trim().toLowerCase();
-            facilities = facilities.stream()
-                    .filter(f -> f.getLocation() != null
-                            && f.getLocation().toLowerCase().contains(filterLoc))
-                    .collect(Collectors.toList());
-        }
+        Criteria filter = FilterQueryRepository.filter()
+                .eq("type", type)
+                .eq("status", status)
+                .contains("location", location)
+                .gte("capacity", minCapacity)
+                .contains("name", search)
+                .toCriteria();
+        List<Facility> facilities = filterQueryRepository.find(Facility.class, filter, Sort.unsorted());
 
         return facilities.stream()
                 .map(this::mapToDto)
@@ -139,6 +113,7 @@ public class FacilityService {
 
         Facility saved = facilityRepository.save(facility);
         logger.info("Facility created: {} (id={}) by user {}", saved.getName(), saved.getId(), userId);
+        eventPublisher.publishEvent(new FacilityChangedEvent(saved.getId()));
 
         return mapToDto(saved);
     }
@@ -192,6 +167,7 @@ public class FacilityService {
 
         Facility updated = facilityRepository.save(facility);
         logger.info("Facility updated: {} (id={})", updated.getName(), updated.getId());
+        eventPublisher.publishEvent(new FacilityChangedEvent(updated.getId()));
 
         return mapToDto(updated);
     }
@@ -210,6 +186,7 @@ public class FacilityService {
 
         facilityRepository.delete(facility);
         logger.info("Facility deleted: {} (id={})", facility.getName(), id);
+        eventPublisher.publishEvent(new FacilityChangedEvent(id));
     }
 
     // ─── Mapping ─────────────────────────────────────────────────────────
@@ -0,0 +1,390 @@
+package com.smartcampus.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.smartcampus.exception.GeminiUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Shared, non-blocking client for the Gemini {@code generateContent} and
+ * {@code streamGenerateContent} REST APIs, used by {@link ChatbotService} and
+ * {@link RecommendationService}.
+ *
+ * <p>
+ * Every call goes through the same protections:
+ * </p>
+ * <ul>
+ * <li>a pooled Reactor Netty connection provider, so TLS connections to
+ * Gemini are reused instead of opened per request</li>
+ * <li>connect and per-attempt timeouts (for streams: the longest allowed
+ * gap between chunks)</li>
+ * <li>retries on 429/503 with exponential backoff scheduled on a timer,
+ * never by sleeping a thread — for streams only before the first chunk,
+ * since an error status arrives before any data</li>
+ * <li>a bulkhead capping the number of calls in flight — excess calls fail
+ * fast with {@link GeminiUnavailableException}</li>
+ * <li>a circuit breaker that stops calling Gemini for a cool-down period
+ * after consecutive failures (timeouts, connection errors, 5xx), then lets
+ * a single trial call through</li>
+ * </ul>
+ *
+ * <p>
+ * Error responses that carry a JSON body (e.g. a 400 or an exhausted 429)
+ * are returned as-is so callers can inspect {@code error.code}; non-JSON
+ * bodies are wrapped as {@code {"error":{"code":..,"message":..}}}.
+ * </p>
+ *
+ * <p>
+ * Metrics: {@code gemini.requests} (timer per call including retries, by
+ * operation and outcome), {@code gemini.responses} (every HTTP response by
+ * status, so 429s show up even when a retry succeeds), {@code gemini.retries},
+ * {@code gemini.rejections} (bulkhead / open circuit), and the gauges
+ * {@code gemini.calls.in.flight} and {@code gemini.circuit.open}.
+ * </p>
+ */
+@Component
+public class GeminiClient {
+
+    private static final Logger log = LoggerFactory.getLogger(GeminiClient.class);
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_EVENTS =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final WebClient webClient;
+    private final ConnectionProvider connectionProvider;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String baseUrl;
+    private final Duration callTimeout;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final int maxConcurrentCalls;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+
+    public GeminiClient(
+            WebClient.Builder webClientBuilder,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.gemini.base-url:https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash}") String baseUrl,
+            @Value("${app.gemini.client.max-connections:50}") int maxConnections,
+            @Value("${app.gemini.client.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout,
+            @Value("${app.gemini.client.connect-timeout:5s}") Duration connectTimeout,
+            @Value("${app.gemini.client.call-timeout:30s}") Duration callTimeout,
+            @Value("${app.gemini.client.max-retries:2}") int maxRetries,
+            @Value("${app.gemini.client.retry-backoff:2s}") Duration retryBackoff,
+            @Value("${app.gemini.client.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${app.gemini.client.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${app.gemini.client.circuit-breaker.open-duration:30s}") Duration openDuration) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.baseUrl = baseUrl;
+        this.callTimeout = callTimeout;
+        this.maxRetries = maxRetries;
+        this.retryBackoff = retryBackoff;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+
+        this.connectionProvider = ConnectionProvider.builder("gemini")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(callTimeout);
+        this.webClient = webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+
+        Gauge.builder("gemini.calls.in.flight", this, GeminiClient::getInFlightCalls)
+                .description("Gemini calls currently holding a bulkhead permit")
+                .register(meterRegistry);
+        Gauge.builder("gemini.circuit.open", this, client -> client.isCircuitOpen() ? 1 : 0)
+                .description("1 while the Gemini circuit breaker rejects calls")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connectionProvider.dispose();
+    }
+
+    /**
+     * Call {@code generateContent} with the given request body.
+     *
+     * @param apiKey      the API key for the calling feature
+     * @param requestBody the Gemini request JSON
+     * @return the parsed response body (which may be an {@code error} object);
+     *         fails with {@link GeminiUnavailableException} when the call is
+     *         rejected, or with a {@link TimeoutException} / transport error
+     */
+    public Mono<JsonNode> generateContent(String apiKey, ObjectNode requestBody) {
+        return guarded("generateContent",
+                send("generateContent", ":generateContent?key={key}", apiKey, requestBody, this::readWhole)).next();
+    }
+
+    /**
+     * Call {@code streamGenerateContent} (server-sent events) with the given
+     * request body.
+     *
+     * @param apiKey      the API key for the calling feature
+     * @param requestBody the Gemini request JSON
+     * @return one parsed {@code GenerateContentResponse} per streamed chunk as
+     *         it arrives, or a single {@code error} object when Gemini rejects
+     *         the request; fails like {@link #generateContent}
+     */
+    public Flux<JsonNode> streamGenerateContent(String apiKey, ObjectNode requestBody) {
+        return guarded("streamGenerateContent", send("streamGenerateContent",
+                ":streamGenerateContent?alt=sse&key={key}", apiKey, requestBody, response -> {
+            if (!response.statusCode().is2xxSuccessful()) {
+                return readWhole(response);
+            }
+            int status = response.statusCode().value();
+            return response.bodyToFlux(SSE_EVENTS)
+                    .mapNotNull(ServerSentEvent::data)
+                    .filter(data -> !data.isBlank())
+                    .map(data -> new Reply(status, parse(status, data)));
+        }));
+    }
+
+    /**
+     * Whether the circuit breaker is currently rejecting calls.
+     */
+    public boolean isCircuitOpen() {
+        return circuitBreaker.isOpen();
+    }
+
+    /**
+     * Number of calls currently in flight.
+     */
+    public int getInFlightCalls() {
+        return maxConcurrentCalls - bulkhead.availablePermits();
+    }
+
+    // ─── Request pipeline ────────────────────────────────────────────────
+
+    private Flux<Reply> send(String operation, String path, String apiKey, ObjectNode requestBody,
+            Function<ClientResponse, Flux<Reply>> reader) {
+        String body = requestBody.toString();
+        return Flux.defer(() -> webClient.post()
+                        .uri(baseUrl + path, apiKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(body)
+                        .exchangeToFlux(response -> {
+                            meterRegistry.counter("gemini.responses", "operation", operation,
+                                    "status", String.valueOf(response.statusCode().value())).increment();
+                            return reader.apply(response);
+                        }))
+                .timeout(callTimeout)
+                .concatMap(reply -> reply.isRetryable()
+                        ? Flux.error(new RetryableReplyException(reply))
+                        : Flux.just(reply))
+                .retryWhen(Retry.backoff(maxRetries, retryBackoff)
+                        .filter(RetryableReplyException.class::isInstance)
+                        .doBeforeRetry(signal -> {
+                            int status = ((RetryableReplyException) signal.failure()).reply.status();
+                            meterRegistry.counter("gemini.retries", "operation", operation,
+                                    "status", String.valueOf(status)).increment();
+                            log.warn("Gemini API returned {} (attempt {}/{}). Retrying...",
+                                    status, signal.totalRetries() + 1, maxRetries + 1);
+                        })
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .onErrorResume(RetryableReplyException.class, e -> Flux.just(e.reply));
+    }
+
+    private Flux<Reply> readWhole(ClientResponse response) {
+        int status = response.statusCode().value();
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(text -> new Reply(status, parse(status, text)))
+                .flux();
+    }
+
+    /**
+     * Apply the circuit breaker and bulkhead around a call, and time it.
+     */
+    private Flux<JsonNode> guarded(String operation, Flux<Reply> call) {
+        return Flux.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                return rejected(operation, GeminiUnavailableException.Reason.CIRCUIT_OPEN,
+                        "Gemini circuit breaker is open");
+            }
+            if (!bulkhead.tryAcquire()) {
+                circuitBreaker.onCancel();
+                return rejected(operation, GeminiUnavailableException.Reason.BUSY,
+                        "Too many concurrent Gemini calls");
+            }
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicReference<String> outcome = new AtomicReference<>();
+            return call
+                    .doOnNext(reply -> {
+                        // The first reply (or chunk) decides the outcome
+                        if (outcome.compareAndSet(null, outcomeOf(reply.status()))) {
+                            // 5xx bodies are still handed to the caller, but count as a failure
+                            if (reply.status() >= 500) {
+                                circuitBreaker.onFailure();
+                            } else {
+                                circuitBreaker.onSuccess();
+                            }
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (outcome.compareAndSet(null, e instanceof TimeoutException ? "TIMEOUT" : "ERROR")) {
+                            log.warn("Gemini call failed: {}", e.toString());
+                            circuitBreaker.onFailure();
+                        }
+                    })
+                    .doFinally(signal -> {
+                        bulkhead.release();
+                        if (signal == SignalType.CANCEL && outcome.compareAndSet(null, "CANCELLED")) {
+                            circuitBreaker.onCancel();
+                        }
+                        sample.stop(meterRegistry.timer("gemini.requests",
+                                "operation", operation, "outcome", outcome.get() != null ? outcome.get() : "UNKNOWN"));
+                    })
+                    .map(Reply::body);
+        });
+    }
+
+    private Flux<JsonNode> rejected(String operation, GeminiUnavailableException.Reason reason, String message) {
+        meterRegistry.counter("gemini.rejections", "operation", operation, "reason", reason.name()).increment();
+        return Flux.error(new GeminiUnavailableException(reason, message));
+    }
+
+    private static String outcomeOf(int status) {
+        if (status >= 500) {
+            return "SERVER_ERROR";
+        }
+        return status >= 400 ? "CLIENT_ERROR" : "SUCCESS";
+    }
+
+    private JsonNode parse(int status, String text) {
+        try {
+            JsonNode node = objectMapper.readTree(text);
+            if (node != null && node.isObject()) {
+                return node;
+            }
+        } catch (Exception e) {
+            // Not JSON — wrapped below
+        }
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode error = root.putObject("error");
+        error.put("code", status);
+        error.put("message", text.isEmpty() ? "Empty response from Gemini" : text);
+        return root;
+    }
+
+    // ─── Internals ───────────────────────────────────────────────────────
+
+    private record Reply(int status, JsonNode body) {
+
+        boolean isRetryable() {
+            return status == 429 || status == 503;
+        }
+    }
+
+    private static final class RetryableReplyException extends RuntimeException {
+        private final Reply reply;
+
+        RetryableReplyException(Reply reply) {
+            super("Gemini API returned " + reply.status(), null, false, false);
+            this.reply = reply;
+        }
+    }
+
+    /**
+     * Minimal consecutive-failure circuit breaker.
+     *
+     * <p>
+     * Closed: calls pass. After {@code failureThreshold} consecutive failures
+     * it opens and rejects calls for {@code openDuration}. After that a single
+     * trial call is let through (half-open); its success closes the breaker,
+     * its failure reopens it.
+     * </p>
+     */
+    private static final class CircuitBreaker {
+
+        private final int failureThreshold;
+        private final long openNanos;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicBoolean trialInFlight = new AtomicBoolean();
+        private volatile boolean open;
+        private volatile long openedAt;
+
+        CircuitBreaker(int failureThreshold, Duration openDuration) {
+            this.failureThreshold = failureThreshold;
+            this.openNanos = openDuration.toNanos();
+        }
+
+        boolean isOpen() {
+            return open;
+        }
+
+        boolean tryAcquire() {
+            if (!open) {
+                return true;
+            }
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            return trialInFlight.compareAndSet(false, true);
+        }
+
+        void onSuccess() {
+            consecutiveFailures.set(0);
+            if (open) {
+                open = false;
+                trialInFlight.set(false);
+                log.info("Gemini circuit breaker closed");
+            }
+        }
+
+        void onFailure() {
+            if (open || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+                openedAt = System.nanoTime();
+                if (!open) {
+                    log.warn("Gemini circuit breaker opened after {} consecutive failures", failureThreshold);
+                }
+                open = true;
+                trialInFlight.set(false);
+            }
+        }
+
+        /** A call ended without an outcome (cancelled or rejected by the bulkhead) */
+        void onCancel() {
+            trialInFlight.set(false);
+        }
+    }
+}
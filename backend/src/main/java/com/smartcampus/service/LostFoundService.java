@@ -1,14 +1,19 @@
 package com.smartcampus.service;
 
 import com.smartcampus.dto.CreateLostFoundItemRequest;
+import com.smartcampus.dto.CursorPage;
 import com.smartcampus.dto.LostFoundItemDto;
 import com.smartcampus.dto.UpdateLostFoundItemRequest;
 import com.smartcampus.exception.ResourceNotFoundException;
 import com.smartcampus.model.*;
+import com.smartcampus.repository.CursorQueryRepository;
+import com.smartcampus.repository.FilterQueryRepository;
 import com.smartcampus.repository.LostFoundRepository;
 import com.smartcampus.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -23,13 +28,19 @@ public class LostFoundService {
     private final LostFoundRepository lostFoundRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final CursorQueryRepository cursorQueryRepository;
+    private final FilterQueryRepository filterQueryRepository;
 
     public LostFoundService(LostFoundRepository lostFoundRepository,
             UserRepository userRepository,
-            NotificationService notificationService) {
+            NotificationService notificationService,
+            CursorQueryRepository cursorQueryRepository,
+            FilterQueryRepository filterQueryRepository) {
         this.lostFoundRepository = lostFoundRepository;
         this.userRepository = userRepository;
         this.notificationService = notificationService;
+        this.cursorQueryRepository = cursorQueryRepository;
+        this.filterQueryRepository = filterQueryRepository;
     }
 
     // ─── REPORT ──────────────────────────────────────────────────────────
@@ -63,42 +74,35 @@ public class LostFoundService {
 
     public List<LostFoundItemDto> getAllItems(LostFoundItemType type, LostFoundItemStatus status,
             LostFoundItemCategory category, String search) {
-        List<LostFoundItem> items;
-
-        if (search != null && !search.isBlank()) {
-            items = lostFoundRepository.findByTitleContainingIgnoreCaseOrderByCreatedAtDesc(search.trim());
-        } else if (type != null && status != null) {
-            items = lostFoundRepository.findByTypeAndStatusOrderByCreatedAtDesc(type, status);
-        } else if (type != null) {
-            items = lostFoundRepository.findByTypeOrderByCreatedAtDesc(type);
-        } else if (status != null) {
-            items = lostFoundRepository.findByStatusOrderByCreatedAtDesc(status);
-        } else {
-            items = lostFoundRepository.findAllByOrderByCreatedAtDesc();
-        }
-
-        // Apply additional in-memory filters for combined criteria
-        if (category != null) {
-            items = items.stream()
-                    .filter(i -> i.getCategory() == category)
-                    .collect(Collectors.toList());
-        }
-        if (type != null && search != null && !search.isBlank()) {
-            LostFoundItemType filterType = type;
-            items = items.stream()
-                    .filter(i -> i.getType() == filterType)
-                    .collect(Collectors.toList());
-        }
-        if (status != null && search != null && !search.isBlank()) {
-            LostFoundItemStatus filterStatus = status;
-            items = items.stream()
-                    .filter(i -> i.getStatus() == filterStatus)
-                    .collect(Collectors.toList());
-        }
+        List<LostFoundItem> items = filterQueryRepository.find(LostFoundItem.class,
+                itemFilter(type, status, category, search), Sort.by(Sort.Direction.DESC, "createdAt"));
 
         return items.stream().map(this::mapToDto).collect(Collectors.toList());
     }
 
+    /**
+     * Get one page of items, newest first. All filters are applied in the
+     * MongoDB query.
+     */
+    public CursorPage<LostFoundItemDto> getAllItemsPage(LostFoundItemType type, LostFoundItemStatus status,
+            LostFoundItemCategory category, String search, String cursor, Integer limit) {
+        Criteria filter = itemFilter(type, status, category, search);
+
+        return cursorQueryRepository.findPage(LostFoundItem.class, filter, "createdAt",
+                LostFoundItem::getCreatedAt, LostFoundItem::getId, cursor, limit)
+                .map(this::mapToDto);
+    }
+
+    private static Criteria itemFilter(LostFoundItemType type, LostFoundItemStatus status,
+            LostFoundItemCategory category, String search) {
+        return FilterQueryRepository.filter()
+                .eq("type", type)
+                .eq("status", status)
+                .eq("category", category)
+                .contains("title", search)
+                .toCriteria();
+    }
+
     public LostFoundItemDto getItemById(String itemId) {
         LostFoundItem item = lostFoundRepository.findById(itemId)
                 .orElseThrow(() -> new ResourceNotFoundException("LostFoundItem", "id", itemId));
@@ -2,33 +2,74 @@ package com.smartcampus.service;
 
 import com.smartcampus.model.Maintenance;
 import com.smartcampus.repository.MaintenanceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Reads and writes the maintenance window.
+ *
+ * <p>
+ * {@link #isMaintenanceActive()} runs on every request (via
+ * {@code MaintenanceInterceptor}), so it works from an in-memory snapshot of
+ * the current window instead of querying MongoDB. The snapshot is loaded on
+ * first use, replaced whenever this service writes the window, and resynced
+ * periodically ({@code app.maintenance.resync-interval}) to pick up changes
+ * made by another instance or directly in the database.
+ * </p>
+ *
+ * <p>
+ * Each snapshot carries the generation it was read at, and every write bumps
+ * the generation, so a reload that read MongoDB before an admin toggle never
+ * replaces the window that toggle published.
+ * </p>
+ */
 @Service
 public class MaintenanceService {
 
+    private static final Logger logger = LoggerFactory.getLogger(MaintenanceService.class);
+
     private final MaintenanceRepository maintenanceRepository;
 
+    /** Bumped by every write made through this service */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** Current window; null until first loaded */
+    private final AtomicReference<Window> snapshot = new AtomicReference<>();
+
     public MaintenanceService(MaintenanceRepository maintenanceRepository) {
         this.maintenanceRepository = maintenanceRepository;
     }
 
+    /**
+     * Whether a maintenance window is enabled and covers the current time.
+     * Reads the in-memory snapshot only; no database access after the first call.
+     */
     public boolean isMaintenanceActive() {
-        Optional<Maintenance> maintenanceOpt = maintenanceRepository.findFirstByOrderByStartTimeDesc();
-        if (maintenanceOpt.isEmpty()) {
-            return false;
+        Window window = snapshot.get();
+        if (window == null) {
+            window = reload();
         }
+        return window.isActiveAt(LocalDateTime.now());
+    }
 
-        Maintenance maintenance = maintenanceOpt.get();
-        if (!maintenance.isEnabled()) {
-            return false;
+    /**
+     * Reload the snapshot from the database on a fixed schedule.
+     */
+    @Scheduled(fixedDelayString = "${app.maintenance.resync-interval:30s}",
+            initialDelayString = "${app.maintenance.resync-interval:30s}")
+    public void resync() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // Keep serving the last known window until the database is back
+            logger.warn("Could not resync maintenance window: {}", e.getMessage());
         }
-
-        LocalDateTime now = LocalDateTime.now();
-        return now.isAfter(maintenance.getStartTime()) && now.isBefore(maintenance.getEndTime());
     }
 
     public Maintenance getMaintenanceStatus() {
@@ -48,7 +89,7 @@ public class MaintenanceService {
         maintenance.setEndTime(endTime);
         maintenance.setEnabled(true);
         
-        return maintenanceRepository.save(maintenance);
+        return publish(maintenanceRepository.save(maintenance));
     }
 
     public Maintenance enableMaintenanceNow() {
@@ -59,7 +100,7 @@ public class MaintenanceService {
         maintenance.setStartTime(LocalDateTime.now());                         // Active immediately
         maintenance.setEndTime(LocalDateTime.now().plusYears(100));            // No planned end
 
-        return maintenanceRepository.save(maintenance);
+        return publish(maintenanceRepository.save(maintenance));
     }
 
     public Maintenance disableMaintenance() {
@@ -67,6 +108,49 @@ public class MaintenanceService {
                 .orElse(new Maintenance());
         
         maintenance.setEnabled(false);
-        return maintenanceRepository.save(maintenance);
+        return publish(maintenanceRepository.save(maintenance));
+    }
+
+    // ─── Snapshot ────────────────────────────────────────────────────────
+
+    private Window reload() {
+        // Read the generation first: a write during the read makes this window stale
+        long readAt = generation.get();
+        Window window = maintenanceRepository.findFirstByOrderByStartTimeDesc()
+                .map(maintenance -> Window.of(readAt, maintenance))
+                .orElse(new Window(readAt, false, null, null));
+        return install(window);
+    }
+
+    private Maintenance publish(Maintenance saved) {
+        install(Window.of(generation.incrementAndGet(), saved));
+        return saved;
+    }
+
+    /**
+     * Install {@code window} unless the current snapshot was read at a later
+     * generation, and return whichever is current.
+     */
+    private Window install(Window window) {
+        return snapshot.accumulateAndGet(window,
+                (current, candidate) -> current != null && current.generation() > candidate.generation()
+                        ? current
+                        : candidate);
+    }
+
+    /**
+     * Immutable copy of the fields needed for the per-request check.
+     */
+    private record Window(long generation, boolean enabled, LocalDateTime startTime, LocalDateTime endTime) {
+
+        static Window of(long generation, Maintenance maintenance) {
+            return new Window(generation, maintenance.isEnabled(), maintenance.getStartTime(),
+                    maintenance.getEndTime());
+        }
+
+        boolean isActiveAt(LocalDateTime now) {
+            return enabled && startTime != null && endTime != null
+                    && now.isAfter(startTime) && now.isBefore(endTime);
+        }
     }
 }
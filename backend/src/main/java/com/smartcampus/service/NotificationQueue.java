@@ -0,0 +1,224 @@
+package com.smartcampus.service;
+
+import com.smartcampus.model.Notification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bounded in-process queue between the services that raise notifications and
+ * MongoDB, so the caller does not wait for the write and the WebSocket push.
+ *
+ * <p>
+ * Worker threads take whatever has accumulated (up to {@code batchSize}) and
+ * hand it to the writer as one batch: a single notification when traffic is
+ * light, larger batches while a write is in progress. Nothing waits for a
+ * batch to fill.
+ * </p>
+ *
+ * <p>
+ * When the queue is full, {@link #submit} and {@link #submitBatch} block
+ * for up to {@code offerTimeout} and then write what did not fit on the
+ * calling thread, which slows producers down instead of dropping
+ * notifications. After {@link #shutdown} new notifications are also written
+ * on the calling thread, while the workers drain what is queued.
+ * </p>
+ *
+ * <p>
+ * A batch that fails to write is retried one notification at a time, so a
+ * single bad document only loses itself. The writer must therefore accept
+ * notifications from a partly written batch a second time.
+ * </p>
+ */
+public class NotificationQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationQueue.class);
+
+    /** How often idle workers check for shutdown */
+    private static final long IDLE_POLL_MILLIS = 200;
+
+    private final BlockingQueue<Notification> queue;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final Consumer<List<Notification>> writer;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final DistributionSummary batchSizes;
+    private final Counter callerWrites;
+    private final Counter failed;
+
+    /**
+     * @param writer persists and publishes one batch; a failed batch is
+     *               retried one notification at a time, and notifications
+     *               that still fail are logged and dropped
+     */
+    public NotificationQueue(int capacity, int workerCount, int batchSize, Duration offerTimeout,
+            Consumer<List<Notification>> writer, MeterRegistry meterRegistry) {
+        if (capacity < 1 || workerCount < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Notification queue capacity, workers and batch size must be positive");
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.writer = writer;
+
+        Gauge.builder("notifications.queue.size", queue, BlockingQueue::size)
+                .description("Notifications waiting to be written")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("notifications.queue.batches")
+                .description("Notifications written per batch")
+                .register(meterRegistry);
+        this.callerWrites = Counter.builder("notifications.queue.caller.writes")
+                .description("Notifications written on the calling thread (queue full or shut down)")
+                .register(meterRegistry);
+        this.failed = Counter.builder("notifications.queue.failed")
+                .description("Notifications lost because they failed to write, even on their own")
+                .register(meterRegistry);
+
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::work, "notification-writer-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Queue a notification for writing.
+     */
+    public void submit(Notification notification) {
+        submitBatch(List.of(notification));
+    }
+
+    /**
+     * Queue notifications built together, such as a fan-out chunk. They are
+     * queued in order under the same back-pressure as {@link #submit}; once
+     * one does not fit within {@code offerTimeout}, it and the rest are
+     * written on the calling thread.
+     */
+    public void submitBatch(List<Notification> notifications) {
+        int queued = 0;
+        if (running) {
+            try {
+                long timeout = offerTimeout.toNanos();
+                while (queued < notifications.size()
+                        && queue.offer(notifications.get(queued), timeout, TimeUnit.NANOSECONDS)) {
+                    queued++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Shutdown may have started after the check above and the workers may
+            // already be gone: take back and write here whatever none of them took
+            if (!running) {
+                List<Notification> takenBack = notifications.subList(0, queued).stream()
+                        .filter(queue::remove)
+                        .toList();
+                if (!takenBack.isEmpty()) {
+                    callerWrites.increment(takenBack.size());
+                    write(takenBack);
+                }
+            } else if (queued < notifications.size()) {
+                log.warn("Notification queue full ({} waiting); writing {} on the calling thread",
+                        queue.size(), notifications.size() - queued);
+            }
+        }
+        List<Notification> rest = notifications.subList(queued, notifications.size());
+        if (!rest.isEmpty()) {
+            callerWrites.increment(rest.size());
+            write(rest);
+        }
+    }
+
+    /**
+     * Number of notifications waiting to be written.
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Stop accepting notifications and wait for the workers to write the
+     * ones already queued. Anything still queued once every worker has
+     * exited is written on the calling thread.
+     *
+     * @param timeout how long to wait for the queue to drain
+     */
+    public void shutdown(Duration timeout) {
+        running = false;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Thread worker : workers) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedJoin(worker, remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (workers.stream().noneMatch(Thread::isAlive)) {
+            List<Notification> rest = new ArrayList<>();
+            while (queue.drainTo(rest, batchSize) > 0) {
+                write(rest);
+                rest.clear();
+            }
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Notification queue shut down with {} notifications not written", queue.size());
+        }
+    }
+
+    // ─── Workers ─────────────────────────────────────────────────────────
+
+    private void work() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Notification first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                batchSizes.record(batch.size());
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Notification> batch) {
+        try {
+            writer.accept(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                failed.increment();
+                log.error("Failed to write notification for user {}: {}", batch.get(0).getUserId(), e.getMessage());
+                return;
+            }
+            log.warn("Failed to write {} notifications, retrying one at a time: {}", batch.size(), e.getMessage());
+            for (Notification notification : List.copyOf(batch)) {
+                write(List.of(notification));
+            }
+        }
+    }
+}
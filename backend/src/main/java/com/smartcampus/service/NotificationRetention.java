@@ -0,0 +1,312 @@
+package com.smartcampus.service;
+
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.NotificationDigest;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Keeps the {@code notifications} collection bounded.
+ *
+ * <ul>
+ * <li>Read notifications expire {@code read-ttl} after being read, through a
+ * TTL index on {@code readAt} that MongoDB enforces on its own.</li>
+ * <li>Notifications older than {@code archive-after}, and each user's
+ * notifications beyond the newest {@code max-per-user}, are counted into
+ * monthly {@link NotificationDigest}s and removed.</li>
+ * </ul>
+ *
+ * <p>
+ * Runs every {@code app.notifications.retention.interval}, starting a minute
+ * after startup; the TTL index is created (or its expiry changed) on each run.
+ * Notifications read before {@code readAt} existed never expire and are left
+ * to archival.
+ * </p>
+ *
+ * <p>
+ * Every replica runs this. Each archival pass first claims its notifications
+ * by setting {@code archivedBy} to a new pass ID, so two replicas never count
+ * the same notification; digests record the passes counted into them, so a
+ * pass that stopped before removing its notifications is finished by a later
+ * run (once {@code claim-timeout} has passed) without counting anything
+ * twice.
+ * </p>
+ */
+@Component
+public class NotificationRetention {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetention.class);
+
+    private static final String READ_TTL_INDEX = "read_ttl_idx";
+    private static final String USER_CREATED_INDEX = "user_created_idx";
+
+    /** Passes remembered per digest; far more than can touch one digest within a claim timeout */
+    private static final int COUNTED_PASSES = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final UnreadNotificationCounts unreadCounts;
+    private final boolean enabled;
+    private final Duration readTtl;
+    private final Duration archiveAfter;
+    private final int maxPerUser;
+    private final Duration claimTimeout;
+
+    public NotificationRetention(MongoTemplate mongoTemplate,
+            UnreadNotificationCounts unreadCounts,
+            @Value("${app.notifications.retention.enabled:true}") boolean enabled,
+            @Value("${app.notifications.retention.read-ttl:30d}") Duration readTtl,
+            @Value("${app.notifications.retention.archive-after:90d}") Duration archiveAfter,
+            @Value("${app.notifications.retention.max-per-user:500}") int maxPerUser,
+            @Value("${app.notifications.retention.claim-timeout:1h}") Duration claimTimeout) {
+        if (maxPerUser < 1) {
+            throw new IllegalArgumentException("app.notifications.retention.max-per-user must be positive");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.unreadCounts = unreadCounts;
+        this.enabled = enabled;
+        this.readTtl = readTtl;
+        this.archiveAfter = archiveAfter;
+        this.maxPerUser = maxPerUser;
+        this.claimTimeout = claimTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.retention.interval:6h}", initialDelayString = "60s")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            compact();
+        } catch (DataAccessResourceFailureException e) {
+            log.warn("Notification retention skipped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply every retention rule once.
+     *
+     * @return the number of notifications archived
+     */
+    public long compact() {
+        ensureReadTtlIndex();
+        long archived = finishAbandonedPasses();
+        archived += archive(where("createdAt").lt(LocalDateTime.now().minus(archiveAfter)));
+        archived += capHistories();
+        if (archived > 0) {
+            // Archived notifications may have been unread
+            unreadCounts.clear();
+            log.info("Archived {} notifications into monthly digests", archived);
+        }
+        return archived;
+    }
+
+    // ─── TTL ─────────────────────────────────────────────────────────────
+
+    private void ensureReadTtlIndex() {
+        IndexOperations indexOps = mongoTemplate.indexOps(Notification.class);
+        Optional<IndexInfo> existing = indexOps.getIndexInfo().stream()
+                .filter(index -> READ_TTL_INDEX.equals(index.getName()))
+                .findFirst();
+        if (existing.isEmpty()) {
+            indexOps.ensureIndex(new Index().on("readAt", Sort.Direction.ASC).named(READ_TTL_INDEX).expire(readTtl));
+            log.info("Created TTL index on notifications.readAt ({})", readTtl);
+        } else if (!existing.get().getExpireAfter().equals(Optional.of(readTtl))) {
+            // An index's options cannot be changed by recreating it
+            mongoTemplate.executeCommand(new Document("collMod", mongoTemplate.getCollectionName(Notification.class))
+                    .append("index", new Document("name", READ_TTL_INDEX)
+                            .append("expireAfterSeconds", readTtl.toSeconds())));
+            log.info("Changed TTL of notifications.readAt to {}", readTtl);
+        }
+    }
+
+    // ─── Archival ────────────────────────────────────────────────────────
+
+    /**
+     * Trim users with more than {@code maxPerUser} notifications down to their
+     * newest ones (plus any created at the same instant as the oldest kept
+     * one).
+     *
+     * <p>
+     * Walks {@code user_created_idx} instead of grouping the collection: the
+     * next user is one index seek, and each user's boundary is found by
+     * skipping at most {@code maxPerUser} of their keys; both queries are
+     * covered by the index.
+     * </p>
+     */
+    private long capHistories() {
+        long archived = 0;
+        String userId = "";
+        while ((userId = nextUserId(userId)) != null) {
+            Query oldestKept = query(where("userId").is(userId))
+                    .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+                    .withHint(USER_CREATED_INDEX)
+                    .skip(maxPerUser - 1L)
+                    .limit(1);
+            oldestKept.fields().include("createdAt").exclude("_id");
+            Notification boundary = mongoTemplate.findOne(oldestKept, Notification.class);
+            if (boundary != null && boundary.getCreatedAt() != null) {
+                archived += archive(where("userId").is(userId).and("createdAt").lt(boundary.getCreatedAt()));
+            }
+        }
+        return archived;
+    }
+
+    /** The smallest user ID with notifications after {@code after}, or null */
+    private String nextUserId(String after) {
+        Query next = query(where("userId").gt(after))
+                .with(Sort.by("userId"))
+                .withHint(USER_CREATED_INDEX)
+                .limit(1);
+        next.fields().include("userId").exclude("_id");
+        Notification notification = mongoTemplate.findOne(next, Notification.class);
+        return notification != null ? notification.getUserId() : null;
+    }
+
+    /**
+     * Claim the matching notifications for a new pass, add them to their
+     * users' monthly digests, then remove them.
+     */
+    private long archive(Criteria criteria) {
+        String pass = new ObjectId().toHexString();
+        long claimed = mongoTemplate.updateMulti(
+                query(new Criteria().andOperator(criteria, where("archivedBy").is(null))),
+                new Update().set("archivedBy", pass),
+                Notification.class).getModifiedCount();
+        return claimed > 0 ? finish(pass) : 0;
+    }
+
+    /**
+     * Finish passes whose claims are older than {@code claimTimeout}: their
+     * replica stopped (or failed) between claiming and removing.
+     */
+    private long finishAbandonedPasses() {
+        // Pass IDs are ObjectIds in hex, which sort by creation time
+        String cutoff = new ObjectId(Date.from(Instant.now().minus(claimTimeout))).toHexString();
+        List<String> abandoned = mongoTemplate.findDistinct(query(where("archivedBy").lt(cutoff)),
+                "archivedBy", Notification.class, String.class);
+        long archived = 0;
+        for (String pass : abandoned) {
+            long finished = finish(pass);
+            log.warn("Finished abandoned notification archival pass {} ({} notifications)", pass, finished);
+            archived += finished;
+        }
+        return archived;
+    }
+
+    /**
+     * Count the notifications claimed by {@code pass} into the digests, then
+     * remove them. A digest that already lists the pass is left alone, so
+     * this can be repeated after a failure, or run by two replicas at once.
+     */
+    private long finish(String pass) {
+        Criteria claimed = where("archivedBy").is(pass);
+        Aggregation rollUp = newAggregation(
+                match(claimed),
+                project("userId", "type")
+                        .and(DateOperators.dateOf("createdAt").toString("%Y-%m")).as("month")
+                        .and(ConditionalOperators.when(where("isRead").is(false)).then(1).otherwise(0)).as("unread"),
+                group("userId", "month", "type").count().as("total").sum("unread").as("unread"))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        List<Document> rows = mongoTemplate.aggregate(rollUp, Notification.class, Document.class).getMappedResults();
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // One update per digest: a second one would find the pass already listed
+        Map<List<String>, DigestCounts> counts = new LinkedHashMap<>();
+        for (Document row : rows) {
+            Document key = row.get("_id", Document.class);
+            String type = key.get("type") != null ? key.get("type").toString() : "UNKNOWN";
+            long total = row.get("total", Number.class).longValue();
+            DigestCounts digest = counts.computeIfAbsent(Arrays.asList(key.getString("userId"), key.getString("month")),
+                    userMonth -> new DigestCounts());
+            digest.total += total;
+            digest.unread += row.get("unread", Number.class).longValue();
+            digest.byType.merge(type, total, Long::sum);
+        }
+        List<Pair<Query, Update>> upserts = new ArrayList<>();
+        counts.forEach((userMonth, digest) -> {
+            Update update = new Update()
+                    .inc("total", digest.total)
+                    .inc("unread", digest.unread);
+            digest.byType.forEach((type, total) -> update.inc("byType." + type, total));
+            update.push("archivedBy").slice(-COUNTED_PASSES).each(pass);
+            upserts.add(Pair.of(
+                    query(where("userId").is(userMonth.get(0))
+                            .and("month").is(userMonth.get(1))
+                            .and("archivedBy").ne(pass)),
+                    update.currentDate("updatedAt")));
+        });
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, NotificationDigest.class)
+                    .upsert(upserts)
+                    .execute();
+        } catch (BulkOperationException e) {
+            if (!e.getErrors().stream().allMatch(NotificationRetention::isDuplicateKey)) {
+                throw e;
+            }
+            // The digest exists on user_month_idx: another pass created it
+            // since the filter ran, or it already lists this pass. Against
+            // the existing digest, only the first case updates it.
+            for (BulkWriteError error : e.getErrors()) {
+                Pair<Query, Update> upsert = upserts.get(error.getIndex());
+                mongoTemplate.updateFirst(upsert.getFirst(), upsert.getSecond(), NotificationDigest.class);
+            }
+        }
+
+        return mongoTemplate.remove(query(claimed), Notification.class).getDeletedCount();
+    }
+
+    private static boolean isDuplicateKey(BulkWriteError error) {
+        return ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY;
+    }
+
+    /** What one pass adds to one digest */
+    private static final class DigestCounts {
+        private long total;
+        private long unread;
+        private final Map<String, Long> byType = new HashMap<>();
+    }
+}
@@ -1,10 +1,12 @@
 package com.smartcampus.service;
 
+import com.smartcampus.dto.NotificationDigestDto;
 import com.smartcampus.dto.NotificationDto;
 import com.smartcampus.model.NotificationCategory;
 import com.smartcampus.model.NotificationPriority;
 import com.smartcampus.model.NotificationType;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,8 +18,22 @@ public interface NotificationService {
 
     void sendSmartNotification(String userId, String message, NotificationPriority priority, NotificationCategory category, NotificationType type);
 
+    /**
+     * Send the same notification to many users at once, e.g. everyone
+     * registered for an event. Duplicate recipients get one notification.
+     */
+    void createNotifications(Collection<String> userIds, String message, NotificationType type);
+
+    /**
+     * Bulk form of {@link #sendSmartNotification}: one preference lookup,
+     * batched inserts and one WebSocket push per recipient.
+     */
+    void sendSmartNotifications(Collection<String> userIds, String message, NotificationPriority priority, NotificationCategory category, NotificationType type);
+
     List<NotificationDto> getCurrentUserNotifications();
 
+    List<NotificationDigestDto> getCurrentUserDigests();
+
     NotificationDto markAsRead(String notificationId);
 
     void deleteNotification(String notificationId);
@@ -0,0 +1,390 @@
+package com.smartcampus.service;
+
+import com.smartcampus.event.BookingChangedEvent;
+import com.smartcampus.model.Booking;
+import com.smartcampus.repository.StreamingQueryRepository;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Item-to-item co-occurrence model over booking history, with precomputed
+ * per-user suggestion lists.
+ *
+ * <p>
+ * Two facilities co-occur when the same user has booked both. A user's
+ * candidates are the facilities co-occurring with the ones they already book,
+ * scored by cosine-normalised co-occurrence weighted by how often the user
+ * books each source facility. Lists are padded with the user's own most
+ * booked facilities; users without history get the most popular facilities.
+ * </p>
+ *
+ * <p>
+ * The model is loaded from MongoDB on first use (only {@code id},
+ * {@code userId} and {@code facilityId} are read) and then kept up to date
+ * incrementally from {@link BookingChangedEvent}s. The booking user's list is
+ * recomputed immediately; other users whose scores changed are marked stale
+ * and recomputed in the background ({@code app.recommendations.refresh-interval}),
+ * so reads are a map lookup. Every booking ever made counts as a signal of
+ * interest, whatever its status, so only creations change the model.
+ * </p>
+ *
+ * <p>
+ * A booking created while the model loads can be both read by the load and
+ * announced by an event. The load remembers the bookings it read whose IDs
+ * were generated in the last {@link #LOAD_OVERLAP}, and their events are
+ * skipped; that set is dropped at the next background refresh.
+ * </p>
+ *
+ * <p>
+ * The model is guarded by a {@link ReentrantLock} rather than a monitor: the
+ * initial load streams from MongoDB while holding it, which would pin the
+ * carrier thread of a virtual thread.
+ * </p>
+ */
+@Component
+public class RecommendationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationEngine.class);
+
+    /** How far back booking IDs are remembered by the initial load */
+    private static final Duration LOAD_OVERLAP = Duration.ofMinutes(1);
+
+    /** Why a facility was suggested */
+    public enum Basis {
+        /** Booked by users who book the same facilities as this user */
+        SIMILAR,
+        /** One of the user's own regular facilities */
+        REPEAT,
+        /** Among the most booked facilities overall */
+        POPULAR
+    }
+
+    /**
+     * A suggested facility.
+     *
+     * @param facilityId        the suggested facility
+     * @param basis             why it was suggested
+     * @param relatedFacilityId for {@link Basis#SIMILAR}, the user's facility that contributed most
+     * @param bookings          for {@link Basis#REPEAT}, the user's bookings of it; for
+     *                          {@link Basis#POPULAR}, the number of users who booked it
+     * @param score             ranking score (higher first)
+     */
+    public record Suggestion(String facilityId, Basis basis, String relatedFacilityId, int bookings, double score) {
+    }
+
+    private final StreamingQueryRepository streamingQueryRepository;
+
+    /** Suggestions kept per user — more than are shown, so inactive facilities can be skipped */
+    private final int listSize;
+
+    // ─── Model (guarded by modelLock) ────────────────────────────────────
+
+    private final ReentrantLock modelLock = new ReentrantLock();
+
+    /** userId → facilityId → number of bookings */
+    private final Map<String, Map<String, Integer>> bookingsByUser = new HashMap<>();
+
+    /** facilityId → users who booked it */
+    private final Map<String, Set<String>> usersByFacility = new HashMap<>();
+
+    /** facilityId → facilityId → number of users who booked both */
+    private final Map<String, Map<String, Integer>> coOccurrence = new HashMap<>();
+
+    /** Recent bookings read by the initial load, whose creation events must not count them again */
+    private final Set<String> loadedRecently = new HashSet<>();
+
+    // ─── Precomputed output ──────────────────────────────────────────────
+
+    private final Map<String, List<Suggestion>> suggestionsByUser = new ConcurrentHashMap<>();
+    private final Set<String> staleUsers = ConcurrentHashMap.newKeySet();
+    private volatile List<Suggestion> popular = List.of();
+    private volatile boolean popularStale;
+
+    private volatile boolean loaded;
+    private volatile boolean loading;
+
+    /** Events received while the initial load is running */
+    private final Queue<BookingChangedEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+
+    public RecommendationEngine(StreamingQueryRepository streamingQueryRepository,
+            @Value("${app.recommendations.list-size:10}") int listSize) {
+        this.streamingQueryRepository = streamingQueryRepository;
+        this.listSize = listSize;
+    }
+
+    /**
+     * Precomputed suggestions for a user, best first. Empty when the user
+     * has no booking history.
+     */
+    public List<Suggestion> suggestionsFor(String userId) {
+        ensureLoaded();
+        List<Suggestion> suggestions = suggestionsByUser.get(userId);
+        if (suggestions == null) {
+            modelLock.lock();
+            try {
+                suggestions = compute(userId);
+            } finally {
+                modelLock.unlock();
+            }
+            suggestionsByUser.put(userId, suggestions);
+        }
+        return suggestions;
+    }
+
+    /**
+     * The most booked facilities overall, best first.
+     */
+    public List<Suggestion> popular() {
+        ensureLoaded();
+        return popular;
+    }
+
+    /**
+     * Runs before other listeners, so caches that rebuild from
+     * {@link #suggestionsFor} see the updated list.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (!event.created()) {
+            return;
+        }
+        // loaded is set before loading is cleared, so a load in progress is never missed
+        if (!loaded && !loading) {
+            // Not loaded yet — the initial load will read this booking from the database
+            return;
+        }
+        pendingEvents.add(event);
+        if (loaded) {
+            drainPendingEvents();
+        }
+    }
+
+    /**
+     * Recompute the lists of users whose scores changed since the last run.
+     */
+    @Scheduled(fixedDelayString = "${app.recommendations.refresh-interval:60s}",
+            initialDelayString = "${app.recommendations.refresh-interval:60s}")
+    public void refreshStale() {
+        if (!loaded) {
+            return;
+        }
+        if (!loadedRecently.isEmpty()) {
+            modelLock.lock();
+            try {
+                // Events for bookings read by the load have arrived by now
+                loadedRecently.clear();
+            } finally {
+                modelLock.unlock();
+            }
+        }
+        int refreshed = 0;
+        for (String userId : List.copyOf(staleUsers)) {
+            staleUsers.remove(userId);
+            List<Suggestion> suggestions;
+            modelLock.lock();
+            try {
+                suggestions = compute(userId);
+            } finally {
+                modelLock.unlock();
+            }
+            suggestionsByUser.put(userId, suggestions);
+            refreshed++;
+        }
+        if (popularStale) {
+            popularStale = false;
+            modelLock.lock();
+            try {
+                popular = computePopular();
+            } finally {
+                modelLock.unlock();
+            }
+        }
+        if (refreshed > 0) {
+            log.debug("Refreshed recommendations for {} users", refreshed);
+        }
+    }
+
+    // ─── Loading ─────────────────────────────────────────────────────────
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        modelLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            loading = true;
+            long start = System.currentTimeMillis();
+            Instant recent = Instant.ofEpochMilli(start).minus(LOAD_OVERLAP);
+            int count = 0;
+            try (Stream<Booking> bookings = streamingQueryRepository.stream(Booking.class, null,
+                    Sort.by("id"), "id", "userId", "facilityId")) {
+                for (Booking booking : (Iterable<Booking>) bookings::iterator) {
+                    if (count(booking.getUserId(), booking.getFacilityId()) && createdAfter(booking.getId(), recent)) {
+                        loadedRecently.add(booking.getId());
+                    }
+                    count++;
+                }
+                popular = computePopular();
+                loaded = true;
+            } finally {
+                loading = false;
+            }
+            log.info("Recommendation model loaded from {} bookings ({} users, {} facilities) in {} ms",
+                    count, bookingsByUser.size(), usersByFacility.size(), System.currentTimeMillis() - start);
+        } finally {
+            modelLock.unlock();
+        }
+        drainPendingEvents();
+    }
+
+    private void drainPendingEvents() {
+        modelLock.lock();
+        try {
+            BookingChangedEvent event;
+            while ((event = pendingEvents.poll()) != null) {
+                apply(event);
+            }
+        } finally {
+            modelLock.unlock();
+        }
+    }
+
+    // ─── Incremental updates (caller holds the lock) ─────────────────────
+
+    private void apply(BookingChangedEvent event) {
+        if (loadedRecently.remove(event.bookingId())) {
+            return;
+        }
+        Map<String, Integer> before = bookingsByUser.get(event.userId());
+        boolean newPair = before == null || !before.containsKey(event.facilityId());
+        if (!count(event.userId(), event.facilityId())) {
+            return;
+        }
+        if (newPair) {
+            // Co-occurrence changed between this facility and the user's others:
+            // everyone booking any of them may now score differently
+            for (String facilityId : bookingsByUser.get(event.userId()).keySet()) {
+                staleUsers.addAll(usersByFacility.getOrDefault(facilityId, Set.of()));
+            }
+            popularStale = true;
+        }
+        // The booking user sees the change straight away
+        staleUsers.remove(event.userId());
+        suggestionsByUser.put(event.userId(), compute(event.userId()));
+    }
+
+    /**
+     * Count one booking into the model.
+     *
+     * @return false if the booking is incomplete
+     */
+    private boolean count(String userId, String facilityId) {
+        if (userId == null || facilityId == null) {
+            return false;
+        }
+        Map<String, Integer> mine = bookingsByUser.computeIfAbsent(userId, k -> new HashMap<>());
+        if (!mine.containsKey(facilityId)) {
+            for (String other : mine.keySet()) {
+                increment(facilityId, other);
+                increment(other, facilityId);
+            }
+            usersByFacility.computeIfAbsent(facilityId, k -> new HashSet<>()).add(userId);
+        }
+        mine.merge(facilityId, 1, Integer::sum);
+        return true;
+    }
+
+    /**
+     * Whether a booking's ID was generated after the given instant. IDs are
+     * generated by the driver when the booking is first saved.
+     */
+    private static boolean createdAfter(String bookingId, Instant instant) {
+        return bookingId != null && ObjectId.isValid(bookingId)
+                && !new ObjectId(bookingId).getDate().toInstant().isBefore(instant);
+    }
+
+    private void increment(String from, String to) {
+        coOccurrence.computeIfAbsent(from, k -> new HashMap<>()).merge(to, 1, Integer::sum);
+    }
+
+    // ─── Scoring (caller holds the lock) ─────────────────────────────────
+
+    private List<Suggestion> compute(String userId) {
+        Map<String, Integer> mine = bookingsByUser.get(userId);
+        if (mine == null || mine.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Double> scores = new HashMap<>();
+        Map<String, String> strongestSource = new HashMap<>();
+        Map<String, Double> strongestContribution = new HashMap<>();
+        for (Map.Entry<String, Integer> own : mine.entrySet()) {
+            String source = own.getKey();
+            double weight = Math.log1p(own.getValue());
+            int sourceUsers = usersByFacility.get(source).size();
+            for (Map.Entry<String, Integer> neighbour : coOccurrence.getOrDefault(source, Map.of()).entrySet()) {
+                String candidate = neighbour.getKey();
+                if (mine.containsKey(candidate)) {
+                    continue;
+                }
+                int candidateUsers = usersByFacility.get(candidate).size();
+                double contribution = weight * neighbour.getValue() / Math.sqrt((double) sourceUsers * candidateUsers);
+                scores.merge(candidate, contribution, Double::sum);
+                if (contribution > strongestContribution.getOrDefault(candidate, 0.0)) {
+                    strongestContribution.put(candidate, contribution);
+                    strongestSource.put(candidate, source);
+                }
+            }
+        }
+
+        List<Suggestion> suggestions = new ArrayList<>();
+        scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(listSize)
+                .forEach(e -> suggestions.add(new Suggestion(
+                        e.getKey(), Basis.SIMILAR, strongestSource.get(e.getKey()), 0, e.getValue())));
+
+        // Pad with the user's own regulars
+        mine.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(Math.max(0, listSize - suggestions.size()))
+                .forEach(e -> suggestions.add(new Suggestion(e.getKey(), Basis.REPEAT, null, e.getValue(), 0)));
+
+        return List.copyOf(suggestions);
+    }
+
+    private List<Suggestion> computePopular() {
+        return usersByFacility.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<String, Set<String>> e) -> e.getValue().size()).reversed())
+                .limit(listSize)
+                .map(e -> new Suggestion(e.getKey(), Basis.POPULAR, null, e.getValue().size(), e.getValue().size()))
+                .toList();
+    }
+}
@@ -4,144 +4,258 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.smartcampus.dto.BookingDto;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartcampus.config.CacheLoads;
 import com.smartcampus.dto.FacilityDto;
 import com.smartcampus.dto.RecommendationDto;
+import com.smartcampus.event.BookingChangedEvent;
+import com.smartcampus.event.FacilityChangedEvent;
 import com.smartcampus.model.FacilityStatus;
+import com.smartcampus.service.RecommendationEngine.Suggestion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+/**
+ * Dashboard facility recommendations.
+ *
+ * <p>
+ * Suggestions come precomputed from {@link RecommendationEngine}, so a request
+ * is a cache lookup plus a filter against the active facilities of
+ * {@link FacilityIndex}.
+ * Reasons are short templates. When {@code app.recommendations.gemini-reasons}
+ * is on, Gemini rewrites them in the background and later requests for the
+ * same list use its wording; the request itself never waits for Gemini.
+ * </p>
+ *
+ * <p>
+ * Finished lists are cached per user ({@code app.recommendations.cache.*})
+ * and served stale while they are rebuilt in the background once older than
+ * {@code refresh-after}. A user's entry is dropped when one of their bookings
+ * changes and every entry is dropped when a facility changes; rebuilding is
+ * cheap, since it never waits for Gemini.
+ * </p>
+ */
 @Service
-public class RecommendationService {
+public class RecommendationService implements MeterBinder {
 
     private static final Logger log = LoggerFactory.getLogger(RecommendationService.class);
 
-    private static final String GEMINI_API_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent";
+    private static final String POPULAR_REASON = "Popular facility recommended just for you.";
 
-    private final RestTemplate restTemplate;
+    private final GeminiClient geminiClient;
     private final ObjectMapper objectMapper;
     private final FacilityService facilityService;
-    private final BookingService bookingService;
+    private final RecommendationEngine recommendationEngine;
+    private final FacilityIndex facilityIndex;
+    private final int topN;
+    private final boolean geminiReasons;
+
+    /** Finished recommendation lists by user */
+    private final AsyncLoadingCache<String, List<RecommendationDto>> recommendationsByUser;
+
+    /** Gemini-phrased reasons by user + recommended facility IDs */
+    private final Cache<String, Map<String, String>> phrasedReasons;
+
+    /** Lists currently being phrased, so each is sent to Gemini once */
+    private final Set<String> phrasingInFlight = ConcurrentHashMap.newKeySet();
 
     @Value("${app.gemini.recommendation-api-key}")
     private String apiKey;
 
-    public RecommendationService(FacilityService facilityService, BookingService bookingService) {
+    public RecommendationService(FacilityService facilityService, RecommendationEngine recommendationEngine,
+            FacilityIndex facilityIndex, GeminiClient geminiClient,
+            @Value("${app.recommendations.top-n:3}") int topN,
+            @Value("${app.recommendations.gemini-reasons:false}") boolean geminiReasons,
+            @Value("${app.recommendations.gemini-reasons-ttl:1h}") Duration geminiReasonsTtl,
+            @Value("${app.recommendations.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${app.recommendations.cache.refresh-after:5m}") Duration cacheRefreshAfter,
+            @Value("${app.recommendations.cache.expire-after:30m}") Duration cacheExpireAfter) {
         this.facilityService = facilityService;
-        this.bookingService = bookingService;
-        this.restTemplate = new RestTemplate();
+        this.recommendationEngine = recommendationEngine;
+        this.facilityIndex = facilityIndex;
+        this.geminiClient = geminiClient;
+        this.topN = topN;
+        this.geminiReasons = geminiReasons;
         this.objectMapper = new ObjectMapper();
+        this.phrasedReasons = Caffeine.newBuilder()
+                .expireAfterWrite(geminiReasonsTtl)
+                .maximumSize(10_000)
+                .recordStats()
+                .build();
+        this.recommendationsByUser = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .refreshAfterWrite(cacheRefreshAfter)
+                .expireAfterWrite(cacheExpireAfter)
+                .recordStats()
+                .buildAsync(this::buildRecommendations);
     }
 
-    public List<RecommendationDto> getRecommendationsForUser(String userId) {
-        try {
-            // 1. Fetch user's booking history
-            List<BookingDto> userBookings = bookingService.getUserBookings(userId, null);
-
-            // 2. Fetch all active facilities
-            List<FacilityDto> activeFacilities = facilityService.getAllFacilities(null, FacilityStatus.ACTIVE, null,
-                    null, null);
-
-            if (activeFacilities.isEmpty()) {
-                return Collections.emptyList();
-            }
-
-            // If user has no bookings, skip AI and return popular/random fallback
-            // immediately
-            if (userBookings.isEmpty()) {
-                log.info("User {} has no bookings. Generating fallback recommendations.", userId);
-                return generateFallbackRecommendations(activeFacilities);
-            }
-
-            // 3. Prepare AI Prompt Context
-            String prompt = buildPrompt(userBookings, activeFacilities);
-            ObjectNode requestBody = buildGeminiRequest(prompt);
-
-            // 4. Call Gemini API
-            String responseJson = callGeminiApi(requestBody);
-            JsonNode response = objectMapper.readTree(responseJson);
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, recommendationsByUser, "recommendations");
+        CaffeineCacheMetrics.monitor(registry, phrasedReasons, "recommendation-reasons");
+    }
 
-            // 5. Parse Gemini response
-            if (response.has("error") || !response.has("candidates")) {
-                log.warn("Gemini API error or missing candidates: {}. Falling back.", responseJson);
-                return generateFallbackRecommendations(activeFacilities);
-            }
+    public List<RecommendationDto> getRecommendationsForUser(String userId) {
+        return CacheLoads.get(recommendationsByUser, userId, this::buildRecommendations);
+    }
 
-            JsonNode textNode = response.path("candidates").get(0).path("content").path("parts").get(0).path("text");
-            String jsonText = extractJsonArrayString(textNode.asText());
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        recommendationsByUser.synchronous().invalidate(event.userId());
+    }
 
-            JsonNode recommendationsArray = objectMapper.readTree(jsonText);
+    @EventListener
+    public void onFacilityChanged(FacilityChangedEvent event) {
+        recommendationsByUser.synchronous().invalidateAll();
+    }
 
-            if (!recommendationsArray.isArray() || recommendationsArray.isEmpty()) {
-                log.warn("AI returned invalid JSON array. Falling back.");
-                return generateFallbackRecommendations(activeFacilities);
+    private List<RecommendationDto> buildRecommendations(String userId) {
+        try {
+            Map<String, FacilityDto> active = facilityIndex.activeById();
+            if (active.isEmpty()) {
+                return Collections.emptyList();
             }
 
-            // 6. Map JSON to RecommendationDto
-            List<RecommendationDto> recommendations = new ArrayList<>();
-            Map<String, FacilityDto> facilityMap = activeFacilities.stream()
-                    .collect(Collectors.toMap(FacilityDto::getId, f -> f));
-
-            for (JsonNode recNode : recommendationsArray) {
-                String facilityId = recNode.path("facilityId").asText();
-                String reason = recNode.path("reason").asText();
-
-                if (facilityMap.containsKey(facilityId)) {
-                    recommendations.add(new RecommendationDto(facilityMap.get(facilityId), reason));
-                }
+            Map<String, RecommendationDto> picked = new LinkedHashMap<>();
+            addSuggestions(picked, recommendationEngine.suggestionsFor(userId), active);
+            addSuggestions(picked, recommendationEngine.popular(), active);
+            List<RecommendationDto> recommendations = new ArrayList<>(picked.values());
+
+            // Not enough booking history overall — top up with random active facilities
+            if (recommendations.size() < topN) {
+                List<FacilityDto> rest = active.values().stream()
+                        .filter(f -> !picked.containsKey(f.getId()))
+                        .collect(Collectors.toList());
+                recommendations.addAll(generateFallbackRecommendations(userId, rest, topN - recommendations.size()));
             }
 
-            // Fallback if AI gave bad IDs
-            if (recommendations.isEmpty()) {
-                return generateFallbackRecommendations(activeFacilities);
+            if (geminiReasons) {
+                applyPhrasedReasons(userId, recommendations);
             }
-
-            return recommendations;
+            return List.copyOf(recommendations);
 
         } catch (Exception e) {
             log.error("Error generating recommendations for user {}: {}", userId, e.getMessage(), e);
             // On any exception, fetch active facilities and return fallback
             List<FacilityDto> activeFacilities = facilityService.getAllFacilities(null, FacilityStatus.ACTIVE, null,
                     null, null);
-            return generateFallbackRecommendations(activeFacilities);
+            return generateFallbackRecommendations(userId, activeFacilities, topN);
+        }
+    }
+
+    private void addSuggestions(Map<String, RecommendationDto> picked, List<Suggestion> suggestions,
+            Map<String, FacilityDto> active) {
+        for (Suggestion suggestion : suggestions) {
+            if (picked.size() >= topN) {
+                return;
+            }
+            FacilityDto facility = active.get(suggestion.facilityId());
+            if (facility != null && !picked.containsKey(facility.getId())) {
+                picked.put(facility.getId(), new RecommendationDto(facility, reasonFor(suggestion, active)));
+            }
+        }
+    }
+
+    private static String reasonFor(Suggestion suggestion, Map<String, FacilityDto> active) {
+        switch (suggestion.basis()) {
+            case SIMILAR:
+                FacilityDto related = active.get(suggestion.relatedFacilityId());
+                return related != null
+                        ? "People who book " + related.getName() + " also book this."
+                        : "People who book the same facilities as you also book this.";
+            case REPEAT:
+                return suggestion.bookings() > 1
+                        ? "You've booked this " + suggestion.bookings() + " times — book it again in one click."
+                        : "You've booked this before — book it again in one click.";
+            default:
+                return POPULAR_REASON;
+        }
+    }
+
+    // ─── Optional Gemini phrasing ────────────────────────────────────────
+
+    /**
+     * Swap in Gemini's wording if this exact list has been phrased already;
+     * otherwise start phrasing it in the background, keep the templates, and
+     * update the user's cached list when Gemini answers.
+     */
+    private void applyPhrasedReasons(String userId, List<RecommendationDto> recommendations) {
+        String key = userId + '|' + recommendations.stream()
+                .map(r -> r.getFacility().getId())
+                .collect(Collectors.joining(","));
+        Map<String, String> phrased = phrasedReasons.getIfPresent(key);
+        if (phrased != null) {
+            recommendations.replaceAll(r -> withReason(r, phrased));
+            return;
+        }
+        if (!phrasingInFlight.add(key)) {
+            return;
         }
+        ObjectNode requestBody = buildGeminiRequest(buildPrompt(recommendations));
+        geminiClient.generateContent(apiKey, requestBody)
+                .doFinally(signal -> phrasingInFlight.remove(key))
+                .subscribe(
+                        response -> {
+                            Map<String, String> reasons = parseReasons(response);
+                            if (!reasons.isEmpty()) {
+                                phrasedReasons.put(key, reasons);
+                                // A list still being built picks the reasons up from phrasedReasons
+                                recommendationsByUser.asMap().computeIfPresent(userId, (id, cached) ->
+                                        cached.isDone() && !cached.isCompletedExceptionally()
+                                                ? CompletableFuture.completedFuture(withReasons(cached.join(), reasons))
+                                                : cached);
+                            }
+                        },
+                        e -> log.warn("Gemini phrasing of recommendations failed: {}", e.getMessage()));
     }
 
-    private String buildPrompt(List<BookingDto> bookings, List<FacilityDto> facilities) {
+    private static List<RecommendationDto> withReasons(List<RecommendationDto> recommendations,
+            Map<String, String> reasons) {
+        return recommendations.stream().map(r -> withReason(r, reasons)).toList();
+    }
+
+    private static RecommendationDto withReason(RecommendationDto recommendation, Map<String, String> reasons) {
+        FacilityDto facility = recommendation.getFacility();
+        return new RecommendationDto(facility, reasons.getOrDefault(facility.getId(), recommendation.getReason()));
+    }
+
+    private String buildPrompt(List<RecommendationDto> recommendations) {
         StringBuilder sb = new StringBuilder();
-        sb.append("You are an AI recommendation engine for a Smart Campus application.\n");
+        sb.append("You are writing short recommendation blurbs for a Smart Campus application.\n");
         sb.append(
-                "Your task is to recommend exactly 3 facilities for the user to book next, based on their past booking history.\n");
+                "Rewrite each reason below as a friendly, engaging 1-sentence explanation, keeping its meaning.\n");
         sb.append(
                 "You MUST return ONLY a raw JSON array. DO NOT include code blocks (like ```json). DO NOT include any other text.\n");
-        sb.append("The JSON array must contain objects with exactly two keys: 'facilityId' and 'reason'.\n");
-        sb.append(
-                "The 'reason' should be a friendly, engaging 1-sentence explanation of why this is recommended based on their history (e.g. 'Since you often book labs, you might like this newly available research space.').\n\n");
-
-        sb.append("=== USER'S PAST BOOKINGS ===\n");
-        for (int i = 0; i < Math.min(bookings.size(), 10); i++) {
-            BookingDto b = bookings.get(i);
-            sb.append(String.format("- Purpose: '%s', Facility Name: '%s'\n",
-                    b.getPurpose() != null ? b.getPurpose() : "N/A", b.getFacilityName()));
-        }
-        sb.append("\n");
-
-        sb.append("=== AVAILABLE FACILITIES FOR RECOMMENDATION ===\n");
-        for (FacilityDto f : facilities) {
-            sb.append(String.format("- ID: '%s', Name: '%s', Type: '%s', Capacity: %d\n",
-                    f.getId(), f.getName(), f.getType(), f.getCapacity() != null ? f.getCapacity() : 0));
+        sb.append("The JSON array must contain objects with exactly two keys: 'facilityId' and 'reason'.\n\n");
+
+        sb.append("=== RECOMMENDATIONS ===\n");
+        for (RecommendationDto r : recommendations) {
+            FacilityDto f = r.getFacility();
+            sb.append(String.format("- ID: '%s', Name: '%s', Type: '%s', Capacity: %d, Reason: '%s'\n",
+                    f.getId(), f.getName(), f.getType(), f.getCapacity() != null ? f.getCapacity() : 0,
+                    r.getReason()));
         }
 
         return sb.toString();
@@ -171,17 +285,25 @@ public class RecommendationService {
         return root;
     }
 
-    private String callGeminiApi(ObjectNode requestBody) {
+    private Map<String, String> parseReasons(JsonNode response) {
+        Map<String, String> reasons = new HashMap<>();
+        if (response.has("error") || !response.has("candidates")) {
+            log.warn("Gemini API error or missing candidates: {}", response);
+            return reasons;
+        }
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<String> requestEntity = new HttpEntity<>(requestBody.toString(), headers);
-
-            return restTemplate.postForObject(GEMINI_API_URL + "?key=" + apiKey, requestEntity, String.class);
+            JsonNode textNode = response.path("candidates").get(0).path("content").path("parts").get(0).path("text");
+            JsonNode array = objectMapper.readTree(extractJsonArrayString(textNode.asText()));
+            for (JsonNode node : array) {
+                String reason = node.path("reason").asText();
+                if (!reason.isBlank()) {
+                    reasons.put(node.path("facilityId").asText(), reason);
+                }
+            }
         } catch (Exception e) {
-            log.error("HTTP error calling Gemini: {}", e.getMessage());
-            return "{\"error\":\"HTTP Request Failed\"}";
+            log.warn("AI returned invalid JSON array: {}", e.getMessage());
         }
+        return reasons;
     }
 
     private String extractJsonArrayString(String rawText) {
@@ -197,16 +319,18 @@ public class RecommendationService {
         return cleaned.trim();
     }
 
-    private List<RecommendationDto> generateFallbackRecommendations(List<FacilityDto> activeFacilities) {
+    private List<RecommendationDto> generateFallbackRecommendations(String userId, List<FacilityDto> facilities,
+            int count) {
         List<RecommendationDto> fallback = new ArrayList<>();
 
-        // Shuffle to simulate "Discovery"
-        List<FacilityDto> shuffled = new ArrayList<>(activeFacilities);
-        Collections.shuffle(shuffled);
+        // Shuffle to simulate "Discovery" — seeded per user so repeat visits
+        // get the same picks
+        List<FacilityDto> shuffled = new ArrayList<>(facilities);
+        Collections.shuffle(shuffled, new Random(userId.hashCode()));
 
-        for (int i = 0; i < Math.min(3, shuffled.size()); i++) {
+        for (int i = 0; i < Math.min(count, shuffled.size()); i++) {
             FacilityDto f = shuffled.get(i);
-            fallback.add(new RecommendationDto(f, "Popular facility recommended just for you."));
+            fallback.add(new RecommendationDto(f, POPULAR_REASON));
         }
 
         return fallback;
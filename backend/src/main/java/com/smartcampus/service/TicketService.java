@@ -4,14 +4,20 @@ import com.smartcampus.dto.*;
 import com.smartcampus.exception.ResourceNotFoundException;
 import com.smartcampus.model.*;
 import com.smartcampus.repository.*;
+import com.smartcampus.repository.TicketCommentRepository.CommentCount;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service layer for Maintenance & Incident Ticketing (Module C).
@@ -31,17 +37,26 @@ public class TicketService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final CursorQueryRepository cursorQueryRepository;
+    private final FilterQueryRepository filterQueryRepository;
+    private final StreamingQueryRepository streamingQueryRepository;
 
     public TicketService(TicketRepository ticketRepository,
             TicketCommentRepository commentRepository,
             BookingRepository bookingRepository,
             UserRepository userRepository,
-            NotificationService notificationService) {
+            NotificationService notificationService,
+            CursorQueryRepository cursorQueryRepository,
+            FilterQueryRepository filterQueryRepository,
+            StreamingQueryRepository streamingQueryRepository) {
         this.ticketRepository = ticketRepository;
         this.commentRepository = commentRepository;
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
         this.notificationService = notificationService;
+        this.cursorQueryRepository = cursorQueryRepository;
+        this.filterQueryRepository = filterQueryRepository;
+        this.streamingQueryRepository = streamingQueryRepository;
     }
 
     // ─── Ticket CRUD ──────────────────────────────────────────────────
@@ -109,23 +124,51 @@ public class TicketService {
      * Get all tickets (admin/manager). Optional filters by status and priority.
      */
     public List<TicketDto> getAllTickets(TicketStatus status, TicketPriority priority) {
-        List<Ticket> tickets;
-
-        if (status != null && priority != null) {
-            tickets = ticketRepository.findByStatusAndPriorityOrderByCreatedAtDesc(status, priority);
-        } else if (status != null) {
-            tickets = ticketRepository.findByStatusOrderByCreatedAtDesc(status);
-        } else if (priority != null) {
-            tickets = ticketRepository.findByPriorityOrderByCreatedAtDesc(priority);
-        } else {
-            tickets = ticketRepository.findAllByOrderByCreatedAtDesc();
-        }
+        List<Ticket> tickets = filterQueryRepository.find(Ticket.class, ticketFilter(status, priority),
+                Sort.by(Sort.Direction.DESC, "createdAt"));
 
         return tickets.stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get one page of all tickets (admin/manager), newest first, with optional
+     * status and priority filters.
+     */
+    public CursorPage<TicketDto> getAllTicketsPage(TicketStatus status, TicketPriority priority,
+            String cursor, Integer limit) {
+        Criteria filter = ticketFilter(status, priority);
+
+        return cursorQueryRepository.findPage(Ticket.class, filter, "createdAt",
+                Ticket::getCreatedAt, Ticket::getId, cursor, limit)
+                .map(this::mapToDto);
+    }
+
+    private static Criteria ticketFilter(TicketStatus status, TicketPriority priority) {
+        return FilterQueryRepository.filter()
+                .eq("status", status)
+                .eq("priority", priority)
+                .toCriteria();
+    }
+
+    /**
+     * Stream all tickets created in {@code [from, to]} (either bound optional),
+     * oldest first, for export. The stream is backed by a MongoDB cursor and
+     * must be closed. Comment counts are read with one query per cursor batch.
+     */
+    public Stream<TicketDto> streamTickets(LocalDate from, LocalDate to) {
+        Stream<Ticket> tickets = streamingQueryRepository.stream(Ticket.class,
+                StreamingQueryRepository.dayRange("createdAt", from, to), Sort.by("createdAt"));
+        return StreamingQueryRepository.batches(tickets, StreamingQueryRepository.BATCH_SIZE)
+                .flatMap(batch -> {
+                    Map<String, Long> commentCounts = commentRepository
+                            .countByTicketIdIn(batch.stream().map(Ticket::getId).toList()).stream()
+                            .collect(Collectors.toMap(CommentCount::id, CommentCount::count));
+                    return batch.stream().map(t -> mapToDto(t, commentCounts.getOrDefault(t.getId(), 0L)));
+                });
+    }
+
     /**
      * Get tickets assigned to a specific technician.
      */
@@ -377,6 +420,13 @@ public class TicketService {
      * Map a Ticket document to a TicketDto.
      */
     private TicketDto mapToDto(Ticket ticket) {
+        return mapToDto(ticket, commentRepository.countByTicketId(ticket.getId()));
+    }
+
+    /**
+     * Map a Ticket document to a TicketDto with an already known comment count.
+     */
+    private TicketDto mapToDto(Ticket ticket, long commentCount) {
         TicketDto dto = new TicketDto();
         dto.setId(ticket.getId());
         dto.setBookingId(ticket.getBookingId());
@@ -398,7 +448,7 @@ public class TicketService {
         dto.setAssignedBy(ticket.getAssignedBy());
         dto.setRejectionReason(ticket.getRejectionReason());
         dto.setResolutionNotes(ticket.getResolutionNotes());
-        dto.setCommentCount((int) commentRepository.countByTicketId(ticket.getId()));
+        dto.setCommentCount((int) commentCount);
         dto.setCreatedAt(ticket.getCreatedAt());
         dto.setUpdatedAt(ticket.getUpdatedAt());
         dto.setFirstResponseAt(ticket.getFirstResponseAt());
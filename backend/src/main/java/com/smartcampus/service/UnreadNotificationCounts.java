@@ -0,0 +1,130 @@
+package com.smartcampus.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartcampus.config.CacheLoads;
+import com.smartcampus.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user unread notification counts, so polling the badge does not run a
+ * count query each time.
+ *
+ * <p>
+ * A user's count is loaded with {@code countByUserIdAndIsReadFalse} on first
+ * use and then adjusted in place as notifications are created and read.
+ * Changes whose effect on the count is unknown (a delete, marking everything
+ * read, an adjustment while the count is still loading) drop the entry, so
+ * the next read recounts.
+ * </p>
+ *
+ * <p>
+ * A writer calls {@link #beginChange} before touching the database and passes
+ * the result to {@link #adjust}. Each count records how many changes had
+ * begun once its query returned; a count whose query may have overlapped the
+ * change could already include it, so it is dropped rather than adjusted
+ * twice.
+ * </p>
+ *
+ * <p>
+ * The counts are local to this JVM; entries expire after
+ * {@code app.notifications.unread-count.ttl}, which bounds how long a change
+ * made by another instance goes unseen.
+ * </p>
+ */
+@Component
+public class UnreadNotificationCounts implements MeterBinder {
+
+    private final NotificationRepository notificationRepository;
+    private final AsyncCache<String, Count> counts;
+
+    /** Bumped by {@link #beginChange} */
+    private final AtomicLong changes = new AtomicLong();
+
+    public UnreadNotificationCounts(NotificationRepository notificationRepository,
+            @Value("${app.notifications.unread-count.ttl:60s}") Duration ttl,
+            @Value("${app.notifications.unread-count.max-size:50000}") long maxSize) {
+        this.notificationRepository = notificationRepository;
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .buildAsync();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, counts, "unread-notifications");
+    }
+
+    /**
+     * Number of unread notifications of a user.
+     */
+    public long get(String userId) {
+        return CacheLoads.get(counts, userId, this::load).value();
+    }
+
+    /**
+     * Mark the start of a change to unread notifications, before it is
+     * written.
+     *
+     * @return the change, to pass to {@link #adjust} once it is written
+     */
+    public long beginChange() {
+        return changes.incrementAndGet();
+    }
+
+    /**
+     * Adjust a user's count if it is loaded and was counted before
+     * {@code change} began; otherwise drop it.
+     *
+     * @param delta  notifications added (positive) or read (negative)
+     * @param change the result of {@link #beginChange} before the write
+     */
+    public void adjust(String userId, long delta, long change) {
+        counts.asMap().computeIfPresent(userId, (id, future) -> {
+            if (!future.isDone() || future.isCompletedExceptionally()) {
+                return null;
+            }
+            Count count = future.join();
+            if (count.countedAt() >= change) {
+                return null;
+            }
+            return CompletableFuture.completedFuture(new Count(Math.max(0, count.value() + delta), count.countedAt()));
+        });
+    }
+
+    /**
+     * Drop a user's count; the next {@link #get} recounts.
+     */
+    public void invalidate(String userId) {
+        counts.synchronous().invalidate(userId);
+    }
+
+    /**
+     * Drop every count.
+     */
+    public void clear() {
+        counts.synchronous().invalidateAll();
+    }
+
+    private Count load(String userId) {
+        long value = notificationRepository.countByUserIdAndIsReadFalse(userId);
+        // Read after the query: a change begun later started after it returned
+        return new Count(value, changes.get());
+    }
+
+    /**
+     * A user's count and the number of changes begun once it was counted.
+     */
+    private record Count(long value, long countedAt) {
+    }
+}
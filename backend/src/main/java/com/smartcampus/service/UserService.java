@@ -1,5 +1,6 @@
 package com.smartcampus.service;
 
+import com.smartcampus.config.UserPrincipalCache;
 import com.smartcampus.dto.UserDto;
 import com.smartcampus.exception.ResourceNotFoundException;
 import com.smartcampus.model.Role;
@@ -22,10 +23,13 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final AuthService authService;
+    private final UserPrincipalCache userPrincipalCache;
 
-    public UserService(UserRepository userRepository, AuthService authService) {
+    public UserService(UserRepository userRepository, AuthService authService,
+            UserPrincipalCache userPrincipalCache) {
         this.userRepository = userRepository;
         this.authService = authService;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     /**
@@ -62,6 +66,8 @@ public class UserService {
 
         user.setRole(newRole);
         User updatedUser = userRepository.save(user);
+        // Drop the cached principal so the new role applies on the next request
+        userPrincipalCache.invalidate(userId);
         return authService.mapToDto(updatedUser);
     }
 }
@@ -103,13 +103,10 @@ public class EventServiceImpl implements EventService {
         eventRepository.save(event);
 
         // Notify all registered users
-        List<EventRegistration> registrations = registrationRepository.findByEventId(eventId);
-        for (EventRegistration reg : registrations) {
-            notificationService.createNotification(
-                    reg.getUserId(),
-                    "The event: " + event.getTitle() + " has been cancelled by the administrator.",
-                    NotificationType.EVENT_CANCELLED);
-        }
+        notificationService.createNotifications(
+                registeredUserIds(eventId),
+                "The event: " + event.getTitle() + " has been cancelled by the administrator.",
+                NotificationType.EVENT_CANCELLED);
     }
 
     @Override
@@ -253,14 +250,11 @@ public class EventServiceImpl implements EventService {
 
         for (Event event : upcomingEvents) {
             if (event.getEventDate().isEqual(tomorrow)) {
-                List<EventRegistration> registrations = registrationRepository.findByEventId(event.getId());
-                for (EventRegistration reg : registrations) {
-                    notificationService.createNotification(
-                            reg.getUserId(),
-                            "Reminder: The event \"" + event.getTitle() + "\" is happening tomorrow at "
-                                    + event.getStartTime() + ".",
-                            NotificationType.EVENT_REMINDER);
-                }
+                notificationService.createNotifications(
+                        registeredUserIds(event.getId()),
+                        "Reminder: The event \"" + event.getTitle() + "\" is happening tomorrow at "
+                                + event.getStartTime() + ".",
+                        NotificationType.EVENT_REMINDER);
                 
                 // Set flag to prevent duplicate notifications (Fix for spam error)
                 event.setReminderSent(true);
@@ -270,6 +264,12 @@ public class EventServiceImpl implements EventService {
         }
     }
 
+    private List<String> registeredUserIds(String eventId) {
+        return registrationRepository.findByEventId(eventId).stream()
+                .map(EventRegistration::getUserId)
+                .toList();
+    }
+
     private EventDto mapToDto(Event event) {
         EventDto dto = new EventDto();
         dto.setId(event.getId());
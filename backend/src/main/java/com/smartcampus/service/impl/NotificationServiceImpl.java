@@ -1,23 +1,49 @@
 package com.smartcampus.service.impl;
 
+import com.smartcampus.config.UserPrincipalCache;
+import com.smartcampus.dto.NotificationDigestDto;
 import com.smartcampus.dto.NotificationDto;
 import com.smartcampus.exception.ResourceNotFoundException;
 import com.smartcampus.model.*;
+import com.smartcampus.repository.NotificationDigestRepository;
 import com.smartcampus.repository.NotificationRepository;
 import com.smartcampus.repository.UserRepository;
+import com.smartcampus.service.NotificationQueue;
 import com.smartcampus.service.NotificationService;
+import com.smartcampus.service.UnreadNotificationCounts;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of the NotificationService using MongoDB.
+ *
+ * <p>
+ * New notifications go through a {@link NotificationQueue}: the caller
+ * returns once the notification is queued (after the surrounding transaction
+ * commits, if there is one), and worker threads check the recipients'
+ * preferences, insert the notifications in batches and push each over
+ * WebSocket.
+ * </p>
  */
 @Service
 public class NotificationServiceImpl implements NotificationService {
@@ -25,15 +51,52 @@ public class NotificationServiceImpl implements NotificationService {
     private static final Logger logger = LoggerFactory.getLogger(NotificationServiceImpl.class);
 
     private final NotificationRepository notificationRepository;
+    private final NotificationDigestRepository digestRepository;
     private final UserRepository userRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final UserPrincipalCache userPrincipalCache;
+    private final UnreadNotificationCounts unreadCounts;
+    private final NotificationQueue notificationQueue;
+    private final int batchSize;
+    private final Duration shutdownTimeout;
+    private final Limit listLimit;
+    private final Limit adminListLimit;
 
     public NotificationServiceImpl(NotificationRepository notificationRepository, 
+                                 NotificationDigestRepository digestRepository,
                                  UserRepository userRepository,
-                                 SimpMessagingTemplate messagingTemplate) {
+                                 SimpMessagingTemplate messagingTemplate,
+                                 UserPrincipalCache userPrincipalCache,
+                                 UnreadNotificationCounts unreadCounts,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.notifications.queue.capacity:10000}") int capacity,
+                                 @Value("${app.notifications.queue.workers:2}") int workers,
+                                 @Value("${app.notifications.queue.batch-size:200}") int batchSize,
+                                 @Value("${app.notifications.queue.offer-timeout:100ms}") Duration offerTimeout,
+                                 @Value("${app.notifications.queue.shutdown-timeout:10s}") Duration shutdownTimeout,
+                                 @Value("${app.notifications.list-limit:100}") int listLimit,
+                                 @Value("${app.notifications.admin-list-limit:1000}") int adminListLimit) {
         this.notificationRepository = notificationRepository;
+        this.digestRepository = digestRepository;
         this.userRepository = userRepository;
         this.messagingTemplate = messagingTemplate;
+        this.userPrincipalCache = userPrincipalCache;
+        this.unreadCounts = unreadCounts;
+        this.notificationQueue = new NotificationQueue(capacity, workers, batchSize, offerTimeout,
+                this::writeBatch, meterRegistry);
+        this.batchSize = batchSize;
+        this.shutdownTimeout = shutdownTimeout;
+        this.listLimit = Limit.of(listLimit);
+        this.adminListLimit = Limit.of(adminListLimit);
+    }
+
+    /**
+     * Write what is still queued. The message broker stops before this runs,
+     * so these are persisted without a push; clients load them on reconnect.
+     */
+    @PreDestroy
+    void shutdown() {
+        notificationQueue.shutdown(shutdownTimeout);
     }
 
     private String getAuthenticatedUserId() {
@@ -52,37 +115,129 @@ public class NotificationServiceImpl implements NotificationService {
 
     @Override
     public void sendSmartNotification(String userId, String message, NotificationPriority priority, NotificationCategory category, NotificationType type) {
-        User user = userRepository.findById(userId).orElse(null);
-        if (user != null && !user.isNotificationsEnabled()) {
-            logger.info("Skipping notification for user {} as notifications are disabled", userId);
+        Notification notification = newNotification(userId, message, priority, category, type);
+        afterCommit(() -> notificationQueue.submit(notification));
+    }
+
+    @Override
+    public void createNotifications(Collection<String> userIds, String message, NotificationType type) {
+        sendSmartNotifications(userIds, message, NotificationPriority.MEDIUM, NotificationCategory.SYSTEM, type);
+    }
+
+    @Override
+    public void sendSmartNotifications(Collection<String> userIds, String message, NotificationPriority priority, NotificationCategory category, NotificationType type) {
+        List<Notification> notifications = new LinkedHashSet<>(userIds).stream()
+                .map(userId -> newNotification(userId, message, priority, category, type))
+                .toList();
+        if (notifications.isEmpty()) {
             return;
         }
+        // Queued in batch-sized chunks, so anything written on this thread when
+        // the queue is full still goes out in batches
+        afterCommit(() -> {
+            for (int from = 0; from < notifications.size(); from += batchSize) {
+                notificationQueue.submitBatch(notifications.subList(from, Math.min(from + batchSize, notifications.size())));
+            }
+            logger.info("Fanned out {} notification to {} recipients", type, notifications.size());
+        });
+    }
 
+    private static Notification newNotification(String userId, String message, NotificationPriority priority, NotificationCategory category, NotificationType type) {
         Notification notification = new Notification();
+        // Assigned up front, so retrying a partly inserted batch cannot store a notification
+        // twice. Auditing only sets createdAt on entities without an ID, so it is set here too.
+        notification.setId(new ObjectId().toHexString());
+        notification.setCreatedAt(LocalDateTime.now());
         notification.setUserId(userId);
         notification.setMessage(message);
         notification.setType(type);
         notification.setPriority(priority != null ? priority : NotificationPriority.MEDIUM);
         notification.setCategory(category != null ? category : NotificationCategory.SYSTEM);
         notification.setRead(false);
+        return notification;
+    }
+
+    /**
+     * Run once the surrounding transaction commits (straight away when there
+     * is none), so a rolled-back change announces nothing.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Insert a batch of notifications, skipping users who turned
+     * notifications off, and push each one over WebSocket.
+     */
+    private void writeBatch(List<Notification> batch) {
+        Set<String> recipients = batch.stream().map(Notification::getUserId).collect(Collectors.toSet());
+        Set<String> muted = userRepository.findByIdInAndNotificationsEnabledFalse(recipients).stream()
+                .map(User::getId)
+                .collect(Collectors.toSet());
+        List<Notification> toInsert = muted.isEmpty() ? batch
+                : batch.stream().filter(n -> !muted.contains(n.getUserId())).toList();
+        if (toInsert.size() < batch.size()) {
+            logger.info("Skipping {} notifications for users with notifications disabled",
+                    batch.size() - toInsert.size());
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
 
-        Notification saved = notificationRepository.save(notification);
-        logger.info("Created {} notification (Priority: {}, Category: {}) for user {}", type, priority, category, userId);
+        long change = unreadCounts.beginChange();
+        List<Notification> saved = toInsert.size() == 1 ? insertOne(toInsert.get(0)) : notificationRepository.insert(toInsert);
+        logger.debug("Created {} notifications", saved.size());
+        saved.stream()
+                .collect(Collectors.groupingBy(Notification::getUserId, Collectors.counting()))
+                .forEach((userId, added) -> unreadCounts.adjust(userId, added, change));
 
         // Real-time Push via WebSocket
+        for (Notification notification : saved) {
+            try {
+                messagingTemplate.convertAndSend("/topic/notifications/" + notification.getUserId(),
+                        mapToDto(notification));
+                logger.debug("Sent WebSocket notification to /topic/notifications/{}", notification.getUserId());
+            } catch (Exception e) {
+                logger.error("Failed to send WebSocket notification: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Insert a single notification, as when a failed batch is retried one at
+     * a time. One that the failed batch did store counts as written, so it is
+     * still pushed.
+     */
+    private List<Notification> insertOne(Notification notification) {
         try {
-            NotificationDto dto = mapToDto(saved);
-            messagingTemplate.convertAndSend("/topic/notifications/" + userId, dto);
-            logger.info("Sent WebSocket notification to /topic/notifications/{}", userId);
-        } catch (Exception e) {
-            logger.error("Failed to send WebSocket notification: {}", e.getMessage());
+            return List.of(notificationRepository.insert(notification));
+        } catch (DuplicateKeyException e) {
+            return List.of(notification);
         }
     }
 
     @Override
     public List<NotificationDto> getCurrentUserNotifications() {
         String userId = getAuthenticatedUserId();
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId)
+        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId, listLimit)
+                .stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<NotificationDigestDto> getCurrentUserDigests() {
+        String userId = getAuthenticatedUserId();
+        return digestRepository.findByUserIdOrderByMonthDesc(userId)
                 .stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
@@ -99,9 +254,12 @@ public class NotificationServiceImpl implements NotificationService {
             throw new IllegalArgumentException("You do not have permission to access this notification");
         }
 
+        long change = unreadCounts.beginChange();
+        if (notificationRepository.findAndMarkReadByIdAndUserIdAndIsReadFalse(notificationId, userId) > 0) {
+            unreadCounts.adjust(userId, -1, change);
+        }
         notification.setRead(true);
-        Notification updated = notificationRepository.save(notification);
-        return mapToDto(updated);
+        return mapToDto(notification);
     }
 
     @Override
@@ -116,6 +274,9 @@ public class NotificationServiceImpl implements NotificationService {
         }
 
         notificationRepository.delete(notification);
+        if (!notification.isRead()) {
+            unreadCounts.invalidate(userId);
+        }
         logger.info("Deleted notification {} for user {}", notificationId, userId);
     }
 
@@ -123,24 +284,22 @@ public class NotificationServiceImpl implements NotificationService {
     @Transactional
     public void markAllAsRead() {
         String userId = getAuthenticatedUserId();
-        List<Notification> unreadNotifications = notificationRepository.findByUserIdAndIsReadFalse(userId);
-        
-        if (!unreadNotifications.isEmpty()) {
-            unreadNotifications.forEach(n -> n.setRead(true));
-            notificationRepository.saveAll(unreadNotifications);
-            logger.info("Marked all notifications as read for user {}", userId);
+        long updated = notificationRepository.findAndMarkReadByUserIdAndIsReadFalse(userId);
+        // Notifications created meanwhile may or may not have been included
+        unreadCounts.invalidate(userId);
+        if (updated > 0) {
+            logger.info("Marked {} notifications as read for user {}", updated, userId);
         }
     }
 
     @Override
     public long getUnreadCount() {
-        String userId = getAuthenticatedUserId();
-        return notificationRepository.countByUserIdAndIsReadFalse(userId);
+        return unreadCounts.get(getAuthenticatedUserId());
     }
 
     @Override
     public List<NotificationDto> getAllNotifications() {
-        return notificationRepository.findAll()
+        return notificationRepository.findAllByOrderByCreatedAtDesc(adminListLimit)
                 .stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
@@ -151,6 +310,7 @@ public class NotificationServiceImpl implements NotificationService {
     public void toggleNotifications(User user, boolean enabled) {
         user.setNotificationsEnabled(enabled);
         userRepository.save(user);
+        userPrincipalCache.invalidate(user.getId());
         logger.info("Notifications {} for user {}", enabled ? "enabled" : "disabled", user.getId());
     }
 
@@ -171,4 +331,13 @@ public class NotificationServiceImpl implements NotificationService {
         dto.setCreatedAt(notification.getCreatedAt());
         return dto;
     }
+
+    private NotificationDigestDto mapToDto(NotificationDigest digest) {
+        NotificationDigestDto dto = new NotificationDigestDto();
+        dto.setMonth(digest.getMonth());
+        dto.setTotal(digest.getTotal());
+        dto.setUnread(digest.getUnread());
+        dto.setByType(digest.getByType());
+        return dto;
+    }
 }
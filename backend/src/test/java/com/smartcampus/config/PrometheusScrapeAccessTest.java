@@ -0,0 +1,45 @@
+package com.smartcampus.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Without {@code MANAGEMENT_PORT} the Prometheus scrape must stay on the
+ * application port behind ADMIN, even when the application port is random
+ * ({@code server.port=0}).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@TestPropertySource(properties = {
+        // Settings otherwise taken from the environment; MongoDB is never reached
+        "spring.data.mongodb.uri=mongodb://localhost:27017/prometheus-test",
+        "app.jwt.secret=prometheus-test-secret-key-that-is-long-enough-for-hs256",
+        "app.jwt.expiration=86400000",
+        "app.google.client-id=prometheus-test",
+        "app.gemini.chatbot-api-key=prometheus-test",
+        "app.gemini.recommendation-api-key=prometheus-test"
+})
+class PrometheusScrapeAccessTest {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void scrapeIsServedOnTheApplicationPortAndNeedsAdmin() {
+        assertEquals(ManagementPortType.SAME, ManagementPortType.get(environment));
+        assertEquals(HttpStatus.FORBIDDEN,
+                restTemplate.getForEntity("/actuator/prometheus", String.class).getStatusCode());
+    }
+}
@@ -0,0 +1,60 @@
+package com.smartcampus.config;
+
+import com.smartcampus.model.Booking;
+import com.smartcampus.model.Notification;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests how {@link QueryPlanVerifier} turns derived method names into query
+ * shapes and reads explain output. Explaining against MongoDB itself is
+ * covered by {@code QueryPlanVerifierIntegrationTest} ({@code -Pmongo-it}).
+ */
+class QueryPlanVerifierTest {
+
+    @Test
+    void buildsTheShapeOfADerivedQuery() {
+        Query query = QueryPlanVerifier.buildQuery(
+                "findByFacilityIdInAndBookingDateAndStatusIn", Booking.class).orElseThrow();
+
+        Document filter = query.getQueryObject();
+        assertEquals(List.of("facilityId", "bookingDate", "status"), List.copyOf(filter.keySet()));
+        assertTrue(filter.get("facilityId", Document.class).containsKey("$in"));
+        assertTrue(filter.get("status", Document.class).containsKey("$in"));
+    }
+
+    @Test
+    void keepsSortAndBooleanKeywords() {
+        Query sorted = QueryPlanVerifier.buildQuery("findByUserIdOrderByCreatedAtDesc", Notification.class)
+                .orElseThrow();
+        Query unread = QueryPlanVerifier.buildQuery("countByUserIdAndIsReadFalse", Notification.class)
+                .orElseThrow();
+
+        assertEquals(new Document("createdAt", -1), sorted.getSortObject());
+        assertEquals(false, unread.getQueryObject().get("isRead"));
+    }
+
+    @Test
+    void detectsCollectionScansAtAnyDepth() {
+        Document indexed = Document.parse("""
+                {"queryPlanner": {"winningPlan": {"stage": "FETCH",
+                    "inputStage": {"stage": "IXSCAN", "indexName": "user_created_idx"}}}}""");
+        Document sortedScan = Document.parse("""
+                {"queryPlanner": {"winningPlan": {"queryPlan": {"stage": "SORT",
+                    "inputStage": {"stage": "COLLSCAN"}}}}}""");
+        Document orScan = Document.parse("""
+                {"queryPlanner": {"winningPlan": {"stage": "SUBPLAN", "inputStage": {"stage": "OR",
+                    "inputStages": [{"stage": "IXSCAN"}, {"stage": "COLLSCAN"}]}}}}""");
+
+        assertFalse(QueryPlanVerifier.usesCollectionScan(indexed));
+        assertTrue(QueryPlanVerifier.usesCollectionScan(sortedScan));
+        assertTrue(QueryPlanVerifier.usesCollectionScan(orScan));
+    }
+}
@@ -0,0 +1,179 @@
+package com.smartcampus.config;
+
+import com.smartcampus.model.Role;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.UserRepository;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.ReactorNettyTcpStompClient;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * Relay mode against an embedded ActiveMQ Artemis broker: a push made on this
+ * instance must travel through the broker to both a WebSocket client of this
+ * instance and a subscriber connected to the broker directly, which stands in
+ * for another replica.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        // Settings otherwise taken from the environment; MongoDB is never reached
+        "spring.data.mongodb.uri=mongodb://localhost:27017/relay-test",
+        "app.jwt.secret=relay-test-secret-key-that-is-long-enough-for-hs256-signing",
+        "app.jwt.expiration=86400000",
+        "app.google.client-id=relay-test",
+        "app.gemini.chatbot-api-key=relay-test",
+        "app.gemini.recommendation-api-key=relay-test",
+        // Relay mode is for several replicas, which cannot share the interval index
+        "app.booking.interval-index.enabled=false"
+})
+class WebSocketBrokerRelayTest {
+
+    private static final String TOPIC = "/topic/notifications/relay-user";
+
+    private static EmbeddedActiveMQ broker;
+    private static int brokerPort;
+
+    @DynamicPropertySource
+    static void relayToEmbeddedBroker(DynamicPropertyRegistry registry) throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            brokerPort = socket.getLocalPort();
+        }
+        Path dataDir = Files.createTempDirectory("artemis");
+        Configuration configuration = new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .setJournalDirectory(dataDir.resolve("journal").toString())
+                .setBindingsDirectory(dataDir.resolve("bindings").toString())
+                .setPagingDirectory(dataDir.resolve("paging").toString())
+                .setLargeMessagesDirectory(dataDir.resolve("large").toString())
+                .addAcceptorConfiguration("stomp",
+                        "tcp://127.0.0.1:" + brokerPort + "?protocols=STOMP;multicastPrefix=/topic/");
+        broker = new EmbeddedActiveMQ().setConfiguration(configuration).start();
+
+        registry.add("app.websocket.broker.mode", () -> "relay");
+        registry.add("app.websocket.broker.relay.host", () -> "127.0.0.1");
+        registry.add("app.websocket.broker.relay.port", () -> brokerPort);
+    }
+
+    @AfterAll
+    static void stopBroker() throws Exception {
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private StompBrokerRelayMessageHandler relayHandler;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @Test
+    void pushReachesSubscribersOfEveryInstanceThroughTheBroker() throws Exception {
+        User user = new User();
+        user.setId("relay-user");
+        user.setRole(Role.USER);
+        when(userRepository.findById("relay-user")).thenReturn(Optional.of(user));
+        await().atMost(30, TimeUnit.SECONDS).until(relayHandler::isBrokerAvailable);
+
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+
+        // A client of this instance, subscribed through the relay
+        WebSocketStompClient localClient = new WebSocketStompClient(new StandardWebSocketClient());
+        localClient.setMessageConverter(new StringMessageConverter());
+        localClient.setTaskScheduler(scheduler);
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setBearerAuth(jwtTokenProvider.generateToken("relay-user"));
+        StompSession localSession = localClient.connectAsync("ws://localhost:{port}/api/ws/websocket",
+                headers, new StompSessionHandlerAdapter() {
+                }, port).get(30, TimeUnit.SECONDS);
+        BlockingQueue<String> local = subscribe(localSession);
+
+        // Another replica's client, connected to the broker directly
+        ReactorNettyTcpStompClient otherInstance = new ReactorNettyTcpStompClient("127.0.0.1", brokerPort);
+        otherInstance.setMessageConverter(new StringMessageConverter());
+        otherInstance.setTaskScheduler(scheduler);
+        StompSession remoteSession = otherInstance.connectAsync(new StompSessionHandlerAdapter() {
+        }).get(30, TimeUnit.SECONDS);
+        BlockingQueue<String> remote = subscribe(remoteSession);
+
+        try {
+            messagingTemplate.convertAndSend(TOPIC, "booking approved");
+
+            assertEquals("booking approved", local.poll(30, TimeUnit.SECONDS));
+            assertEquals("booking approved", remote.poll(30, TimeUnit.SECONDS));
+        } finally {
+            localSession.disconnect();
+            remoteSession.disconnect();
+            otherInstance.shutdown();
+            scheduler.shutdown();
+        }
+    }
+
+    /**
+     * Subscribe and wait for the broker's receipt, so the push cannot
+     * overtake the subscription.
+     */
+    private static BlockingQueue<String> subscribe(StompSession session) throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        CompletableFuture<Void> receipt = new CompletableFuture<>();
+        session.setAutoReceipt(true);
+        session.subscribe(TOPIC, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return String.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((String) payload);
+            }
+        }).addReceiptTask(() -> receipt.complete(null));
+        receipt.get(30, TimeUnit.SECONDS);
+        return received;
+    }
+}
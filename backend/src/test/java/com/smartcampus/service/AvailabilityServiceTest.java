@@ -0,0 +1,124 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.FacilityAvailabilityDto.DayAvailability;
+import com.smartcampus.dto.FacilityAvailabilityDto.TimeSlot;
+import com.smartcampus.dto.FacilityDto;
+import com.smartcampus.model.AvailabilityWindow;
+import com.smartcampus.model.Booking;
+import com.smartcampus.model.FacilityStatus;
+import com.smartcampus.model.FacilityType;
+import com.smartcampus.repository.BookingRepository;
+import com.smartcampus.repository.FacilityRepository;
+import com.smartcampus.repository.StreamingQueryRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the opening-hours / bookings sweep and the free-room search of
+ * {@link AvailabilityService}.
+ */
+class AvailabilityServiceTest {
+
+    /** A Monday */
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    private final AvailabilityService availabilityService = new AvailabilityService(
+            mock(FacilityRepository.class), mock(StreamingQueryRepository.class), mock(FacilityIndex.class),
+            mock(BookingIntervalIndex.class), "08:00", "20:00", 62, 200);
+
+    @Test
+    void usesDefaultHoursWithoutWindows() {
+        DayAvailability day = availabilityService.getDayAvailability(List.of(), FacilityStatus.ACTIVE, MONDAY,
+                List.of(slot("10:00", "11:00")));
+
+        assertEquals(List.of(slot("08:00", "20:00")), day.getOpen());
+        assertEquals(List.of(slot("08:00", "10:00"), slot("11:00", "20:00")), day.getFree());
+    }
+
+    @Test
+    void sweepsBookingsAgainstSplitWindows() {
+        List<AvailabilityWindow> windows = List.of(
+                new AvailabilityWindow("MONDAY", "13:00", "17:00"),
+                new AvailabilityWindow("monday", "08:00", "12:00"),
+                new AvailabilityWindow("TUESDAY", "08:00", "20:00"));
+        // Unsorted, overlapping, and one booking spanning the lunch break
+        List<TimeSlot> bookings = List.of(
+                slot("15:00", "16:00"), slot("09:00", "10:00"), slot("09:30", "10:30"), slot("11:30", "13:30"));
+
+        DayAvailability day = availabilityService.getDayAvailability(windows, FacilityStatus.ACTIVE, MONDAY,
+                bookings);
+
+        assertEquals(List.of(slot("08:00", "12:00"), slot("13:00", "17:00")), day.getOpen());
+        assertEquals(List.of(slot("09:00", "10:30"), slot("11:30", "13:30"), slot("15:00", "16:00")),
+                day.getBooked());
+        assertEquals(List.of(slot("08:00", "09:00"), slot("10:30", "11:30"), slot("13:30", "15:00"),
+                slot("16:00", "17:00")), day.getFree());
+    }
+
+    @Test
+    void closedDaysAndInactiveFacilitiesHaveNoFreeTime() {
+        List<AvailabilityWindow> windows = List.of(new AvailabilityWindow("TUESDAY", "08:00", "20:00"));
+
+        assertEquals(List.of(), availabilityService.getDayAvailability(windows, FacilityStatus.ACTIVE, MONDAY,
+                List.of()).getFree());
+        assertEquals(List.of(), availabilityService.getDayAvailability(List.of(), FacilityStatus.OUT_OF_SERVICE,
+                MONDAY, List.of()).getFree());
+    }
+
+    @Test
+    void findsFreeFacilitiesFromTheIndexesWithOneBookingQuery() {
+        FacilityService facilityService = mock(FacilityService.class);
+        when(facilityService.getAllFacilities(isNull(), eq(FacilityStatus.ACTIVE), isNull(), isNull(), isNull()))
+                .thenReturn(List.of(
+                        facility("big", FacilityType.LECTURE_HALL, 200, List.of()),
+                        facility("booked", FacilityType.LECTURE_HALL, 80, List.of()),
+                        facility("small", FacilityType.LECTURE_HALL, 20, List.of()),
+                        facility("closed", FacilityType.LECTURE_HALL, 100,
+                                List.of(new AvailabilityWindow("MONDAY", "14:00", "18:00"))),
+                        facility("lab", FacilityType.LAB, 60, List.of())));
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        Booking booking = new Booking();
+        booking.setFacilityId("booked");
+        booking.setStartTime(LocalTime.parse("11:00"));
+        booking.setEndTime(LocalTime.parse("13:00"));
+        when(bookingRepository.findByFacilityIdInAndBookingDateAndStatusIn(any(), eq(MONDAY), any()))
+                .thenReturn(List.of(booking));
+
+        AvailabilityService service = new AvailabilityService(mock(FacilityRepository.class),
+                mock(StreamingQueryRepository.class), new FacilityIndex(facilityService),
+                new BookingIntervalIndex(bookingRepository, true, 100), "08:00", "20:00", 62, 200);
+
+        List<FacilityDto> free = service.findFreeFacilities(FacilityType.LECTURE_HALL, 50, null, MONDAY,
+                LocalTime.parse("10:00"), LocalTime.parse("12:00"));
+
+        assertEquals(List.of("big"), free.stream().map(FacilityDto::getId).toList());
+        verify(bookingRepository, times(1)).findByFacilityIdInAndBookingDateAndStatusIn(any(), any(), any());
+    }
+
+    private static FacilityDto facility(String id, FacilityType type, int capacity, List<AvailabilityWindow> windows) {
+        FacilityDto facility = new FacilityDto();
+        facility.setId(id);
+        facility.setName(id);
+        facility.setType(type);
+        facility.setCapacity(capacity);
+        facility.setStatus(FacilityStatus.ACTIVE);
+        facility.setAvailabilityWindows(windows);
+        return facility;
+    }
+
+    private static TimeSlot slot(String start, String end) {
+        return new TimeSlot(LocalTime.parse(start), LocalTime.parse(end));
+    }
+}
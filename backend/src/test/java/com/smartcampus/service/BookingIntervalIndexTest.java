@@ -0,0 +1,96 @@
+package com.smartcampus.service;
+
+import com.smartcampus.model.Booking;
+import com.smartcampus.model.BookingStatus;
+import com.smartcampus.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests how {@link BookingIntervalIndex} loads a facility/day while other
+ * threads look it up and write to it.
+ */
+class BookingIntervalIndexTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 5, 4);
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final BookingIntervalIndex index = new BookingIntervalIndex(bookingRepository, true, 100);
+
+    private final CountDownLatch queryStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseQuery = new CountDownLatch(1);
+
+    @Test
+    void writesDuringALoadWinOverWhatTheLoadRead() throws Exception {
+        Booking cancelled = booking("b1", "09:00", "10:00", BookingStatus.APPROVED);
+        blockQueryFor("hall", List.of(cancelled));
+
+        CompletableFuture<Boolean> loader = CompletableFuture.supplyAsync(() -> busyAt("hall", "09:30"));
+        assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+
+        // Written after the query read b1 as approved, before the day was installed
+        index.record(booking("b1", "09:00", "10:00", BookingStatus.CANCELLED));
+        index.record(booking("b2", "14:00", "15:00", BookingStatus.PENDING));
+        releaseQuery.countDown();
+
+        assertFalse(loader.get(5, TimeUnit.SECONDS));
+        assertFalse(busyAt("hall", "09:30"));
+        assertTrue(busyAt("hall", "14:30"));
+        verify(bookingRepository, times(1)).findByFacilityIdAndBookingDateAndStatusIn(eq("hall"), eq(DATE), anyList());
+    }
+
+    @Test
+    void otherDaysLoadWhileOneDayIsLoading() throws Exception {
+        blockQueryFor("hall", List.of());
+        when(bookingRepository.findByFacilityIdAndBookingDateAndStatusIn(eq("lab"), eq(DATE), anyList()))
+                .thenReturn(List.of(booking("b3", "09:00", "10:00", BookingStatus.APPROVED)));
+
+        CompletableFuture<Boolean> hall = CompletableFuture.supplyAsync(() -> busyAt("hall", "09:30"));
+        assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+
+        assertTrue(CompletableFuture.supplyAsync(() -> busyAt("lab", "09:30")).get(5, TimeUnit.SECONDS));
+        assertFalse(hall.isDone());
+        releaseQuery.countDown();
+        assertFalse(hall.get(5, TimeUnit.SECONDS));
+    }
+
+    private void blockQueryFor(String facilityId, List<Booking> bookings) {
+        when(bookingRepository.findByFacilityIdAndBookingDateAndStatusIn(eq(facilityId), eq(DATE), anyList()))
+                .thenAnswer(inv -> {
+                    queryStarted.countDown();
+                    assertTrue(releaseQuery.await(5, TimeUnit.SECONDS));
+                    return bookings;
+                });
+    }
+
+    private boolean busyAt(String facilityId, String time) {
+        LocalTime start = LocalTime.parse(time);
+        return index.findOverlap(facilityId, DATE, start, start.plusMinutes(15), null).isPresent();
+    }
+
+    private static Booking booking(String id, String start, String end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setFacilityId("hall");
+        booking.setBookingDate(DATE);
+        booking.setStartTime(LocalTime.parse(start));
+        booking.setEndTime(LocalTime.parse(end));
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -0,0 +1,169 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.CreateBookingRequest;
+import com.smartcampus.exception.BookingConflictException;
+import com.smartcampus.model.Booking;
+import com.smartcampus.model.BookingStatus;
+import com.smartcampus.model.Facility;
+import com.smartcampus.model.FacilityStatus;
+import com.smartcampus.model.FacilityType;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.BookingRepository;
+import com.smartcampus.repository.CursorQueryRepository;
+import com.smartcampus.repository.FacilityRepository;
+import com.smartcampus.repository.FilterQueryRepository;
+import com.smartcampus.repository.StreamingQueryRepository;
+import com.smartcampus.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Concurrency stress test for {@link BookingService#createBooking}.
+ *
+ * <p>
+ * Many threads race to book overlapping slots on a handful of facilities
+ * backed by an in-memory repository whose save is deliberately slow, so an
+ * unguarded check-then-save would let several of them through.
+ * </p>
+ */
+class BookingServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_FACILITY = 200;
+    private static final List<String> FACILITY_IDS = List.of("hall-a", "hall-b", "lab-1", "lab-2");
+    private static final LocalDate DATE = LocalDate.of(2026, 5, 4);
+
+    private final Map<String, Booking> store = new ConcurrentHashMap<>();
+
+    private BookingRepository bookingRepository;
+    private FacilityRepository facilityRepository;
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        facilityRepository = mock(FacilityRepository.class);
+        userRepository = mock(UserRepository.class);
+
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(inv -> {
+            Booking booking = inv.getArgument(0);
+            Thread.sleep(1); // widen the check-then-save window
+            if (booking.getId() == null) {
+                booking.setId(UUID.randomUUID().toString());
+            }
+            store.put(booking.getId(), booking);
+            return booking;
+        });
+        when(bookingRepository.findByFacilityIdAndBookingDateAndStatusIn(anyString(), any(LocalDate.class), anyList()))
+                .thenAnswer(inv -> {
+                    String facilityId = inv.getArgument(0);
+                    LocalDate date = inv.getArgument(1);
+                    List<BookingStatus> statuses = inv.getArgument(2);
+                    return store.values().stream()
+                            .filter(b -> b.getFacilityId().equals(facilityId)
+                                    && b.getBookingDate().equals(date)
+                                    && statuses.contains(b.getStatus()))
+                            .toList();
+                });
+        when(facilityRepository.findById(anyString())).thenAnswer(inv -> {
+            Facility facility = new Facility();
+            facility.setId(inv.getArgument(0));
+            facility.setName("Facility " + inv.getArgument(0));
+            facility.setType(FacilityType.LECTURE_HALL);
+            facility.setStatus(FacilityStatus.ACTIVE);
+            return Optional.of(facility);
+        });
+        when(userRepository.findById(anyString())).thenAnswer(inv -> {
+            User user = new User();
+            user.setId(inv.getArgument(0));
+            user.setName("User " + inv.getArgument(0));
+            user.setEmail(inv.getArgument(0) + "@campus.test");
+            return Optional.of(user);
+        });
+    }
+
+    @ParameterizedTest(name = "interval index enabled = {0}")
+    @ValueSource(booleans = { true, false })
+    void concurrentCreatesNeverDoubleBook(boolean indexEnabled) throws Exception {
+        BookingService bookingService = new BookingService(
+                bookingRepository, facilityRepository, userRepository,
+                mock(NotificationService.class),
+                new BookingIntervalIndex(bookingRepository, indexEnabled, 1000),
+                new BookingSlotLocks(16),
+                mock(CursorQueryRepository.class),
+                mock(FilterQueryRepository.class),
+                mock(StreamingQueryRepository.class),
+                mock(ApplicationEventPublisher.class));
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < ATTEMPTS_PER_FACILITY; i++) {
+            for (String facilityId : FACILITY_IDS) {
+                // Three slot shapes (08:30, 09:00, 09:30 start), all pairwise overlapping
+                LocalTime startTime = LocalTime.of(8, 30).plusMinutes(30L * (i % 3));
+                LocalTime endTime = startTime.plusHours(2);
+                String userId = "user-" + i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.createBooking(request(facilityId, startTime, endTime), userId);
+                    } catch (BookingConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        for (String facilityId : FACILITY_IDS) {
+            List<Booking> saved = store.values().stream()
+                    .filter(b -> b.getFacilityId().equals(facilityId))
+                    .toList();
+            assertEquals(1, saved.size(), "exactly one booking should win for " + facilityId);
+        }
+        assertEquals(FACILITY_IDS.size() * (ATTEMPTS_PER_FACILITY - 1), conflicts.get());
+    }
+
+    private static CreateBookingRequest request(String facilityId, LocalTime startTime, LocalTime endTime) {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setFacilityId(facilityId);
+        request.setBookingDate(DATE);
+        request.setStartTime(startTime);
+        request.setEndTime(endTime);
+        request.setPurpose("Exam revision");
+        return request;
+    }
+}
@@ -0,0 +1,199 @@
+package com.smartcampus.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartcampus.dto.FacilityDto;
+import com.smartcampus.model.FacilityStatus;
+import com.smartcampus.model.FacilityType;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link ChatbotService#chatStream} and its tool loop against a local
+ * stub of Gemini's {@code streamGenerateContent} endpoint that replays canned
+ * SSE chunks with a delay between them.
+ */
+class ChatbotServiceStreamingTest {
+
+    private static final long CHUNK_DELAY_MS = 300;
+
+    private HttpServer server;
+    private final List<String> requestUris = new CopyOnWriteArrayList<>();
+    private final List<String> requestBodies = new CopyOnWriteArrayList<>();
+    private volatile List<String> firstTurnChunks = List.of();
+    private volatile List<String> followUpChunks = List.of();
+
+    private FacilityService facilityService;
+    private ChatbotService chatbotService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::replay);
+        server.start();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        GeminiClient geminiClient = new GeminiClient(WebClient.builder(), objectMapper, new SimpleMeterRegistry(),
+                "http://localhost:" + server.getAddress().getPort() + "/models/test",
+                4, Duration.ofSeconds(2), Duration.ofSeconds(2), Duration.ofSeconds(5),
+                0, Duration.ofMillis(10), 4, 5, Duration.ofSeconds(30));
+
+        facilityService = mock(FacilityService.class);
+        FacilityDto hall = new FacilityDto();
+        hall.setId("hall-a");
+        hall.setName("Hall A");
+        hall.setType(FacilityType.LECTURE_HALL);
+        hall.setStatus(FacilityStatus.ACTIVE);
+        hall.setCapacity(120);
+        when(facilityService.getAllFacilities(isNull(), eq(FacilityStatus.ACTIVE), isNull(), isNull(), any()))
+                .thenReturn(List.of(hall));
+
+        chatbotService = new ChatbotService(facilityService, mock(BookingService.class),
+                mock(TicketService.class), mock(AvailabilityService.class), geminiClient,
+                new ChatbotFunctionCache(false, Duration.ofSeconds(30), 100), 4, 3);
+        ReflectionTestUtils.setField(chatbotService, "apiKey", "test-key");
+    }
+
+    @AfterEach
+    void tearDown() {
+        chatbotService.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void streamsTextChunksAsTheyArrive() {
+        firstTurnChunks = List.of(textChunk("Hello"), textChunk(", I can help"), textChunk(" with campus questions."));
+
+        List<Long> arrivals = new ArrayList<>();
+        List<String> fragments = chatbotService.chatStream("hi", "user-1")
+                .doOnNext(fragment -> arrivals.add(System.nanoTime()))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(List.of("Hello", ", I can help", " with campus questions."), fragments);
+        // Fragments are delivered as the stub sends them, not all at the end
+        long spreadMs = Duration.ofNanos(arrivals.get(2) - arrivals.get(0)).toMillis();
+        assertTrue(spreadMs >= CHUNK_DELAY_MS / 2, "fragments should arrive incrementally, spread was " + spreadMs + "ms");
+    }
+
+    @Test
+    void streamsFollowUpAnswerAfterFunctionCall() {
+        firstTurnChunks = List.of("""
+                {"candidates":[{"content":{"role":"model","parts":[{"functionCall":{"name":"searchFacilities","args":{"search":"Hall"}}}]}}]}""");
+        followUpChunks = List.of(textChunk("Hall A"), textChunk(" seats 120 people."));
+
+        List<String> fragments = chatbotService.chatStream("How big is Hall A?", "user-1")
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(List.of("Hall A", " seats 120 people."), fragments);
+        assertEquals(2, requestBodies.size());
+        assertTrue(requestUris.stream().allMatch(uri -> uri.contains(":streamGenerateContent?alt=sse")));
+        assertTrue(requestBodies.get(1).contains("functionResponse"));
+        assertTrue(requestBodies.get(1).contains("Name: Hall A"), "function result should be sent back to Gemini");
+    }
+
+    @Test
+    void runsSeveralFunctionCallsConcurrentlyAndSendsAllResultsBack() {
+        // Both lookups must be in flight at once to pass the barrier
+        CyclicBarrier bothRunning = new CyclicBarrier(2);
+        when(facilityService.getAllFacilities(isNull(), eq(FacilityStatus.ACTIVE), isNull(), isNull(), any()))
+                .thenAnswer(inv -> {
+                    bothRunning.await(5, TimeUnit.SECONDS);
+                    FacilityDto facility = new FacilityDto();
+                    facility.setName(inv.getArgument(4, String.class));
+                    facility.setStatus(FacilityStatus.ACTIVE);
+                    return List.of(facility);
+                });
+        firstTurnChunks = List.of("{\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":["
+                + "{\"functionCall\":{\"name\":\"searchFacilities\",\"args\":{\"search\":\"Hall A\"}}},"
+                + "{\"functionCall\":{\"name\":\"searchFacilities\",\"args\":{\"search\":\"Lab 2\"}}}]}}]}");
+        followUpChunks = List.of(textChunk("Both are available."));
+
+        List<String> fragments = chatbotService.chatStream("Compare Hall A and Lab 2", "user-1")
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(List.of("Both are available."), fragments);
+        String followUp = requestBodies.get(1);
+        assertEquals(2, followUp.split("\"functionResponse\"", -1).length - 1);
+        assertTrue(followUp.indexOf("Name: Hall A") < followUp.indexOf("Name: Lab 2"), "results keep call order");
+    }
+
+    @Test
+    void reportsApiErrorsAsAFriendlyFragment() {
+        server.removeContext("/");
+        server.createContext("/", exchange -> {
+            byte[] body = "{\"error\":{\"code\":400,\"message\":\"API key not valid\"}}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(400, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+
+        List<String> fragments = chatbotService.chatStream("hi", "user-1")
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(1, fragments.size());
+        assertTrue(fragments.get(0).startsWith("I encountered an issue"));
+    }
+
+    // ─── Stub Gemini ─────────────────────────────────────────────────────
+
+    private void replay(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        requestUris.add(exchange.getRequestURI().toString());
+        requestBodies.add(body);
+
+        List<String> chunks = body.contains("functionResponse") ? followUpChunks : firstTurnChunks;
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int i = 0; i < chunks.size(); i++) {
+                if (i > 0) {
+                    sleep();
+                }
+                out.write(("data: " + chunks.get(i) + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        }
+    }
+
+    private static String textChunk(String text) {
+        return "{\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":[{\"text\":\"" + text + "\"}]}}]}";
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(CHUNK_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.smartcampus.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartcampus.dto.ExportFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that {@link ExportWriter} never writes a CSV cell a spreadsheet would
+ * run as a formula, whichever kind of value the cell was built from.
+ */
+class ExportWriterTest {
+
+    private final ExportWriter exportWriter = new ExportWriter(new ObjectMapper());
+
+    record Row(String title, List<String> imageUrls, int priority) {
+    }
+
+    @Test
+    void neutralisesFormulasInTextAndJoinedListCells() throws Exception {
+        String csv = csv(new Row("=1+1", List.of("=HYPERLINK(\"http://evil\")", "photo.png"), -5));
+
+        assertEquals("title,imageUrls,priority\r\n"
+                + "'=1+1,\"'=HYPERLINK(\"\"http://evil\"\");photo.png\",-5\r\n", csv);
+    }
+
+    @Test
+    void treatsLeadingTabAndCarriageReturnAsFormulaStarts() throws Exception {
+        String csv = csv(new Row("\t=cmd", List.of("\r@SUM(A1)"), 1));
+
+        assertEquals("title,imageUrls,priority\r\n"
+                + "'\t=cmd,\"'\r@SUM(A1)\",1\r\n", csv);
+    }
+
+    private String csv(Row... rows) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportWriter.write(Stream.of(rows), ExportFormat.CSV, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,66 @@
+package com.smartcampus.service;
+
+import com.smartcampus.model.Maintenance;
+import com.smartcampus.repository.MaintenanceRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests that a resync racing an admin toggle never brings back the window the
+ * toggle replaced.
+ */
+class MaintenanceServiceTest {
+
+    private final MaintenanceRepository maintenanceRepository = mock(MaintenanceRepository.class);
+    private final MaintenanceService maintenanceService = new MaintenanceService(maintenanceRepository);
+
+    @Test
+    void resyncThatReadBeforeAToggleDoesNotOverwriteIt() throws Exception {
+        Maintenance active = Maintenance.builder()
+                .enabled(true)
+                .startTime(LocalDateTime.now().minusHours(1))
+                .endTime(LocalDateTime.now().plusHours(1))
+                .build();
+        when(maintenanceRepository.findFirstByOrderByStartTimeDesc()).thenReturn(Optional.of(active));
+        when(maintenanceRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        assertTrue(maintenanceService.isMaintenanceActive());
+
+        // The resync reads the active window, then stalls before installing it
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        when(maintenanceRepository.findFirstByOrderByStartTimeDesc()).thenAnswer(invocation -> {
+            Maintenance copy = Maintenance.builder()
+                    .enabled(true)
+                    .startTime(active.getStartTime())
+                    .endTime(active.getEndTime())
+                    .build();
+            if (first.getAndSet(false)) {
+                read.countDown();
+                release.await();
+            }
+            return Optional.of(copy);
+        });
+        CompletableFuture<Void> resync = CompletableFuture.runAsync(maintenanceService::resync);
+        assertTrue(read.await(10, TimeUnit.SECONDS));
+
+        maintenanceService.disableMaintenance();
+        assertFalse(maintenanceService.isMaintenanceActive());
+
+        release.countDown();
+        resync.get(10, TimeUnit.SECONDS);
+        assertFalse(maintenanceService.isMaintenanceActive());
+    }
+}
@@ -0,0 +1,164 @@
+package com.smartcampus.service;
+
+import com.smartcampus.model.Notification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link NotificationQueue}: every notification is written exactly
+ * once, whether by a worker, by a caller facing a full queue or while the
+ * queue drains on shutdown, and a bad notification only loses itself.
+ */
+class NotificationQueueTest {
+
+    private final Set<String> written = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger duplicates = new AtomicInteger();
+    private final AtomicInteger largestBatch = new AtomicInteger();
+
+    @Test
+    void writesEverySubmittedNotificationOnceUnderContention() throws Exception {
+        NotificationQueue queue = new NotificationQueue(64, 2, 50, Duration.ofMillis(1),
+                slowWriter(2), new SimpleMeterRegistry());
+
+        ExecutorService producers = Executors.newFixedThreadPool(8);
+        for (int p = 0; p < 8; p++) {
+            int producer = p;
+            producers.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    queue.submit(notification(producer + "-" + i));
+                }
+            });
+        }
+        producers.shutdown();
+        assertTrue(producers.awaitTermination(30, TimeUnit.SECONDS));
+        queue.shutdown(Duration.ofSeconds(30));
+
+        assertEquals(4000, written.size());
+        assertEquals(0, duplicates.get());
+        assertTrue(largestBatch.get() > 1, "writes during a slow insert should be batched");
+    }
+
+    @Test
+    void shutdownDrainsQueuedNotificationsAndLaterOnesAreWrittenInline() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationQueue queue = new NotificationQueue(1000, 1, 10, Duration.ofMillis(100), batch -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            record(batch);
+        }, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 100; i++) {
+            queue.submit(notification("queued-" + i));
+        }
+        release.countDown();
+        queue.shutdown(Duration.ofSeconds(10));
+        assertEquals(0, queue.size());
+        assertEquals(100, written.size());
+
+        queue.submit(notification("late"));
+        assertTrue(written.contains("late"));
+    }
+
+    @Test
+    void submitBatchQueuesWhatFitsAndWritesTheRestOnTheCallingThread() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch release = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+        AtomicInteger writtenByCaller = new AtomicInteger();
+        NotificationQueue queue = new NotificationQueue(10, 1, 50, Duration.ofMillis(1), batch -> {
+            if (Thread.currentThread() == caller) {
+                writtenByCaller.addAndGet(batch.size());
+            } else {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            record(batch);
+        }, registry);
+
+        queue.submitBatch(IntStream.range(0, 25).mapToObj(i -> notification("fan-out-" + i)).toList());
+        // The blocked worker holds at most one batch and the queue ten more
+        assertTrue(writtenByCaller.get() >= 5, "what does not fit should be written inline");
+        assertTrue(writtenByCaller.get() < 25, "what fits should be left to the workers");
+
+        release.countDown();
+        queue.shutdown(Duration.ofSeconds(10));
+        assertEquals(25, written.size());
+        assertEquals(0, duplicates.get());
+        assertEquals(writtenByCaller.get(), registry.get("notifications.queue.caller.writes").counter().count());
+    }
+
+    @Test
+    void retriesAFailedBatchOneNotificationAtATime() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationQueue queue = new NotificationQueue(1000, 1, 50, Duration.ofMillis(100), batch -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (batch.stream().anyMatch(n -> n.getMessage().equals("bad"))) {
+                throw new IllegalStateException("invalid document");
+            }
+            record(batch);
+        }, registry);
+
+        for (int i = 0; i < 20; i++) {
+            queue.submit(notification(i == 10 ? "bad" : "good-" + i));
+        }
+        release.countDown();
+        queue.shutdown(Duration.ofSeconds(10));
+
+        assertEquals(19, written.size());
+        assertEquals(0, duplicates.get());
+        assertEquals(1.0, registry.get("notifications.queue.failed").counter().count());
+    }
+
+    private Consumer<List<Notification>> slowWriter(long millis) {
+        return batch -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            record(batch);
+        };
+    }
+
+    private void record(List<Notification> batch) {
+        largestBatch.accumulateAndGet(batch.size(), Math::max);
+        for (Notification notification : batch) {
+            if (!written.add(notification.getMessage())) {
+                duplicates.incrementAndGet();
+            }
+        }
+    }
+
+    private static Notification notification(String message) {
+        Notification notification = new Notification();
+        notification.setUserId("user");
+        notification.setMessage(message);
+        return notification;
+    }
+}
@@ -0,0 +1,122 @@
+package com.smartcampus.service;
+
+import com.smartcampus.event.BookingChangedEvent;
+import com.smartcampus.model.Booking;
+import com.smartcampus.repository.StreamingQueryRepository;
+import com.smartcampus.service.RecommendationEngine.Basis;
+import com.smartcampus.service.RecommendationEngine.Suggestion;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the co-occurrence scoring of {@link RecommendationEngine} and how it
+ * stays up to date from {@link BookingChangedEvent}s, including ones raised
+ * while the model is loading.
+ */
+class RecommendationEngineTest {
+
+    private final List<Booking> history = new ArrayList<>();
+
+    /** Runs for each booking the load reads, before it is counted */
+    private Consumer<Booking> duringLoad = booking -> {
+    };
+
+    private final RecommendationEngine engine = new RecommendationEngine(new StreamingQueryRepository(null) {
+        @Override
+        public <T> Stream<T> stream(Class<T> type, Criteria filter, Sort sort, String... fields) {
+            return history.stream().peek(duringLoad).map(type::cast);
+        }
+    }, 10);
+
+    @Test
+    void suggestsFacilitiesBookedBySimilarUsersThenOwnRegulars() {
+        book("alice", "lab");
+        book("alice", "hall");
+        book("bob", "lab");
+        book("bob", "hall");
+        book("carol", "lab");
+        book("carol", "lab");
+
+        List<Suggestion> suggestions = engine.suggestionsFor("carol");
+
+        assertEquals(List.of("hall", "lab"), suggestions.stream().map(Suggestion::facilityId).toList());
+        assertEquals(Basis.SIMILAR, suggestions.get(0).basis());
+        assertEquals("lab", suggestions.get(0).relatedFacilityId());
+        assertEquals(new Suggestion("lab", Basis.REPEAT, null, 2, 0), suggestions.get(1));
+        assertEquals(List.of("lab", "hall"), engine.popular().stream().map(Suggestion::facilityId).toList());
+        assertEquals(List.of(), engine.suggestionsFor("dave"));
+    }
+
+    @Test
+    void newPairsMarkOtherUsersStaleUntilTheNextRefresh() {
+        book("alice", "lab");
+        book("bob", "hall");
+        assertEquals(List.of("lab"), facilities(engine.suggestionsFor("alice")));
+
+        // bob now books the lab too: alice should be offered the hall, but only after a refresh
+        engine.onBookingChanged(created("bob", "lab"));
+        assertEquals(List.of("lab"), facilities(engine.suggestionsFor("alice")));
+        assertEquals(2, engine.suggestionsFor("bob").size());
+
+        engine.refreshStale();
+        assertEquals(List.of("hall", "lab"), facilities(engine.suggestionsFor("alice")));
+    }
+
+    @Test
+    void onlyCreationsChangeTheModel() {
+        book("alice", "lab");
+        String bookingId = history.get(0).getId();
+        engine.suggestionsFor("alice");
+
+        // Approving, cancelling or deleting the booking is not another booking of the lab
+        engine.onBookingChanged(new BookingChangedEvent(bookingId, "lab", null, "alice", false));
+        engine.onBookingChanged(new BookingChangedEvent(bookingId, "lab", null, "alice", false));
+
+        assertEquals(1, engine.suggestionsFor("alice").get(0).bookings());
+    }
+
+    @Test
+    void countsBookingsCreatedDuringTheLoadOnce() {
+        book("alice", "lab");
+        book("alice", "hall");
+        Booking raced = history.get(1);
+        duringLoad = booking -> {
+            if (booking == raced) {
+                // Saved before the load read it, announced while it runs
+                engine.onBookingChanged(new BookingChangedEvent(raced.getId(), "hall", null, "alice", true));
+                // Saved after the load passed it
+                engine.onBookingChanged(created("alice", "lab"));
+            }
+        };
+
+        List<Suggestion> suggestions = engine.suggestionsFor("alice");
+
+        assertEquals(new Suggestion("lab", Basis.REPEAT, null, 2, 0), suggestions.get(0));
+        assertEquals(new Suggestion("hall", Basis.REPEAT, null, 1, 0), suggestions.get(1));
+    }
+
+    private void book(String userId, String facilityId) {
+        Booking booking = new Booking();
+        booking.setId(new ObjectId().toHexString());
+        booking.setUserId(userId);
+        booking.setFacilityId(facilityId);
+        history.add(booking);
+    }
+
+    private static BookingChangedEvent created(String userId, String facilityId) {
+        return new BookingChangedEvent(new ObjectId().toHexString(), facilityId, null, userId, true);
+    }
+
+    private static List<String> facilities(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::facilityId).toList();
+    }
+}
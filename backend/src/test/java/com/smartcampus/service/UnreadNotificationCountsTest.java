@@ -0,0 +1,57 @@
+package com.smartcampus.service;
+
+import com.smartcampus.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests that {@link UnreadNotificationCounts} adjusts a count only when the
+ * count cannot already include the change.
+ */
+class UnreadNotificationCountsTest {
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final UnreadNotificationCounts unreadCounts = new UnreadNotificationCounts(notificationRepository,
+            Duration.ofMinutes(1), 100);
+
+    @Test
+    void adjustsACountTakenBeforeTheChangeBegan() {
+        when(notificationRepository.countByUserIdAndIsReadFalse("alice")).thenReturn(3L);
+        assertEquals(3, unreadCounts.get("alice"));
+
+        long change = unreadCounts.beginChange();
+        unreadCounts.adjust("alice", 2, change);
+        unreadCounts.adjust("alice", -1, unreadCounts.beginChange());
+
+        assertEquals(4, unreadCounts.get("alice"));
+        verify(notificationRepository, times(1)).countByUserIdAndIsReadFalse("alice");
+    }
+
+    @Test
+    void dropsACountTakenAfterTheChangeBeganInsteadOfCountingItTwice() {
+        long change = unreadCounts.beginChange();
+        // The insert lands, then a badge poll counts the new rows
+        when(notificationRepository.countByUserIdAndIsReadFalse("alice")).thenReturn(5L);
+        assertEquals(5, unreadCounts.get("alice"));
+
+        unreadCounts.adjust("alice", 2, change);
+
+        assertEquals(5, unreadCounts.get("alice"));
+        verify(notificationRepository, times(2)).countByUserIdAndIsReadFalse("alice");
+    }
+
+    @Test
+    void ignoresAdjustmentsForCountsNotLoaded() {
+        unreadCounts.adjust("alice", 2, unreadCounts.beginChange());
+        when(notificationRepository.countByUserIdAndIsReadFalse("alice")).thenReturn(1L);
+
+        assertEquals(1, unreadCounts.get("alice"));
+    }
+}